@@ -20,8 +20,12 @@ import com.google.inject.spi.Element;
 import com.google.inject.spi.InjectionPoint;
 import com.google.inject.spi.TypeConverterBinding;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -199,6 +203,73 @@ public interface Injector {
    */
   <T> T getInstance(Class<T> type);
 
+  /**
+   * Returns a provider of the instances for the given injection keys, in the same order. Getting
+   * the instances from it is equivalent to calling {@link #getInstance(Key)} for each key, but the
+   * bindings of the keys are only looked up when the provider is created, and all of the instances
+   * are provisioned within a single call into the injector. This is useful for code that needs the
+   * same set of objects over and over, like a request handler.
+   *
+   * <p>The lists returned by the provider are unmodifiable, and may contain nulls if the bindings
+   * of the keys allow them.
+   *
+   * @throws ConfigurationException if this injector cannot find or create the provider for any of
+   *     the keys.
+   */
+  default Provider<List<Object>> getInstancesProvider(List<? extends Key<?>> keys) {
+    List<Provider<?>> providers = new ArrayList<>(keys.size());
+    for (Key<?> key : keys) {
+      providers.add(getProvider(key));
+    }
+    return () -> {
+      Object[] instances = new Object[providers.size()];
+      for (int i = 0; i < instances.length; i++) {
+        instances[i] = providers.get(i).get();
+      }
+      return Collections.unmodifiableList(Arrays.asList(instances));
+    };
+  }
+
+  /**
+   * Returns the instances for the given injection keys, in the same order; equivalent to {@code
+   * getInstancesProvider(keys).get()}. See {@link #getInstancesProvider}.
+   *
+   * @throws ConfigurationException if this injector cannot find or create the provider for any of
+   *     the keys.
+   * @throws ProvisionException if there was a runtime failure while providing an instance.
+   */
+  default List<Object> getInstances(List<? extends Key<?>> keys) {
+    return getInstancesProvider(keys).get();
+  }
+
+  /**
+   * Returns the instance for the given injection key if it is bound, or an empty optional if it
+   * isn't or its binding provides null. Like {@link #getExistingBinding}, this doesn't create
+   * just-in-time bindings, and it never throws a {@link ConfigurationException} for a key that
+   * isn't bound. This is intended for code that probes the injector for optional bindings, where
+   * most keys are expected to be missing; prefer injecting an {@code Optional} bound with {@link
+   * com.google.inject.multibindings.OptionalBinder} when feasible.
+   *
+   * <p>Injectors remember the keys that they have found missing, so probing the same missing key
+   * again is cheap.
+   *
+   * @throws ProvisionException if there was a runtime failure while providing an instance.
+   */
+  default <T> Optional<T> tryGetInstance(Key<T> key) {
+    Binding<T> binding = getExistingBinding(key);
+    return binding == null ? Optional.empty() : Optional.ofNullable(binding.getProvider().get());
+  }
+
+  /**
+   * Returns the instance for the given injection type if it is bound, or an empty optional if it
+   * isn't or its binding provides null. See {@link #tryGetInstance(Key)}.
+   *
+   * @throws ProvisionException if there was a runtime failure while providing an instance.
+   */
+  default <T> Optional<T> tryGetInstance(Class<T> type) {
+    return tryGetInstance(Key.get(type));
+  }
+
   /**
    * Returns this injector's parent, or {@code null} if this is a top-level injector.
    *
@@ -19,6 +19,7 @@ package com.google.inject;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.inject.internal.InternalFlags;
 import com.google.inject.internal.Messages;
 import com.google.inject.spi.Message;
 import java.util.Collection;
@@ -60,5 +61,14 @@ public final class ProvisionException extends RuntimeException {
     return Messages.formatMessages("Unable to provision, see the following errors", messages);
   }
 
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    // Skipped when provisioning errors are configured to be cheap, see InternalFlags.
+    if (InternalFlags.isLazyProvisionErrorsEnabled()) {
+      return this;
+    }
+    return super.fillInStackTrace();
+  }
+
   private static final long serialVersionUID = 0;
 }
@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One instance per task. A task lasts from {@link #enter} until the returned scope is closed:
+ *
+ * <pre>
+ *   TaskScope taskScope = TaskScope.create(Thread.ofVirtual().factory());
+ *   ...
+ *   bindScope(TaskScoped.class, taskScope);
+ *   ...
+ *   try (TaskScope.CloseableScope task = taskScope.enter()) {
+ *     Future&lt;Result&gt; subtask = taskScope.fork(() -&gt; ...);
+ *     ...
+ *   }
+ * </pre>
+ *
+ * <p>Subtasks forked with {@link #fork} inherit the task that forked them, so they share its
+ * instances. The task is captured when the subtask is forked, rather than when a thread is
+ * created, so threads that outlive a task never carry it into unrelated work. Work handed to
+ * threads that already exist, such as the threads of an executor, joins the task through {@link
+ * #propagate(Callable)}. Closing the task cancels the subtasks that are still running and releases
+ * its instances, even if abandoned subtasks still refer to it; after that, subtasks fail with an
+ * {@link OutOfScopeException}.
+ *
+ * <p>Each binding has a slot in the table of instances of every task, even if several injectors
+ * share this scope. Getting an instance that already exists doesn't lock. Creating one only locks
+ * its slot, so that each binding is provisioned at most once per task while subtasks provision
+ * other bindings of the same task concurrently.
+ */
+public final class TaskScope implements Scope {
+
+  /** A sentinel for provider-given null values. */
+  private static final Object NULL = new Object();
+
+  private final ThreadLocal<Task> currentTask = new ThreadLocal<>();
+  private final AtomicInteger slotCount = new AtomicInteger();
+  private final ThreadFactory threadFactory;
+
+  private TaskScope(ThreadFactory threadFactory) {
+    this.threadFactory = threadFactory;
+  }
+
+  /** Returns a new task scope, with its own tasks, that forks subtasks on new platform threads. */
+  public static TaskScope create() {
+    return new TaskScope(Executors.defaultThreadFactory());
+  }
+
+  /**
+   * Returns a new task scope, with its own tasks, that forks subtasks on threads of the given
+   * factory, such as a factory of virtual threads.
+   */
+  public static TaskScope create(ThreadFactory threadFactory) {
+    return new TaskScope(checkNotNull(threadFactory, "threadFactory"));
+  }
+
+  @Override
+  public <T> Provider<T> scope(final Key<T> key, final Provider<T> unscoped) {
+    // Each call scopes one binding, so injectors sharing this scope get separate slots.
+    final int slot = slotCount.getAndIncrement();
+    return new Provider<T>() {
+      @Override
+      public T get() {
+        Task task = currentTask.get();
+        if (task == null) {
+          throw new OutOfScopeException("Cannot access " + key + " outside of a task.");
+        }
+        return task.slot(key, slot).get(unscoped);
+      }
+
+      @Override
+      public String toString() {
+        return String.format("%s[%s]", unscoped, TaskScope.this);
+      }
+    };
+  }
+
+  /**
+   * Starts a new task on the current thread, until the returned scope is closed. Tasks may be
+   * nested; the inner task hides the outer one until it is closed.
+   */
+  public CloseableScope enter() {
+    return new Entry(new Task(), /* closesTask= */ true);
+  }
+
+  /** Returns true if the current thread is in a task. */
+  public boolean isInTask() {
+    return currentTask.get() != null;
+  }
+
+  /**
+   * Runs the callable in the current task on a new thread of this scope's thread factory, and
+   * returns its result. The subtask shares the instances of the task, and may fork subtasks of its
+   * own. If the task is closed first, the subtask is cancelled.
+   *
+   * @throws OutOfScopeException if the current thread is not in a task, or its task was closed
+   */
+  public <T> Future<T> fork(final Callable<T> callable) {
+    checkNotNull(callable, "callable");
+    Subtask<T> subtask = new Subtask<>(currentTask(), callable);
+    subtask.task.fork(subtask);
+    threadFactory.newThread(subtask).start();
+    return subtask;
+  }
+
+  /**
+   * Returns a callable that runs in the current task, wherever it is called. This is how work
+   * submitted to an executor shares the instances of the task that submitted it.
+   *
+   * @throws OutOfScopeException if the current thread is not in a task
+   */
+  public <T> Callable<T> propagate(final Callable<T> callable) {
+    checkNotNull(callable, "callable");
+    final Task task = currentTask();
+    return () -> {
+      try (CloseableScope scope = new Entry(task, /* closesTask= */ false)) {
+        return callable.call();
+      }
+    };
+  }
+
+  /**
+   * Returns a runnable that runs in the current task, wherever it is run.
+   *
+   * @throws OutOfScopeException if the current thread is not in a task
+   */
+  public Runnable propagate(final Runnable runnable) {
+    checkNotNull(runnable, "runnable");
+    final Task task = currentTask();
+    return () -> {
+      try (CloseableScope scope = new Entry(task, /* closesTask= */ false)) {
+        runnable.run();
+      }
+    };
+  }
+
+  private Task currentTask() {
+    Task task = currentTask.get();
+    if (task == null) {
+      throw new OutOfScopeException("Not in a task.");
+    }
+    return task;
+  }
+
+  @Override
+  public String toString() {
+    return "TaskScope";
+  }
+
+  /** Closeable subclass that does not throw any exceptions from close. */
+  public interface CloseableScope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  /** Makes a task current on the thread that entered it, until closed. */
+  private final class Entry implements CloseableScope {
+    private final Task task;
+    private final boolean closesTask;
+    private final Task previous;
+    private final Thread thread;
+    private boolean closed;
+
+    Entry(Task task, boolean closesTask) {
+      this.task = task;
+      this.closesTask = closesTask;
+      this.previous = currentTask.get();
+      this.thread = Thread.currentThread();
+      currentTask.set(task);
+    }
+
+    @Override
+    public void close() {
+      checkState(
+          Thread.currentThread() == thread, "A task must be closed by the thread that entered it.");
+      if (closed) {
+        return;
+      }
+      checkState(currentTask.get() == task, "Tasks must be closed in the order they were entered.");
+      closed = true;
+      if (closesTask) {
+        task.close();
+      }
+      if (previous == null) {
+        currentTask.remove();
+      } else {
+        currentTask.set(previous);
+      }
+    }
+  }
+
+  /** A callable forked from a task, which runs in that task. */
+  private final class Subtask<T> extends FutureTask<T> {
+    final Task task;
+
+    Subtask(Task task, Callable<T> callable) {
+      super(
+          () -> {
+            try (CloseableScope scope = new Entry(task, /* closesTask= */ false)) {
+              return callable.call();
+            }
+          });
+      this.task = task;
+    }
+
+    @Override
+    protected void done() {
+      task.subtasks.remove(this);
+    }
+  }
+
+  /** The instances of a task, indexed by slot. */
+  private static final class Task {
+    /** Guards growing the table; instances are created under the lock of their slot. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** The running subtasks forked from this task. */
+    final Set<Future<?>> subtasks = ConcurrentHashMap.newKeySet();
+
+    /** Replaced when it grows, so that readers don't lock. Null once the task is closed. */
+    private volatile Slot[] slots = new Slot[0];
+
+    Slot slot(Key<?> key, int index) {
+      Slot[] snapshot = slots;
+      if (snapshot != null && index < snapshot.length && snapshot[index] != null) {
+        return snapshot[index];
+      }
+      lock.lock();
+      try {
+        snapshot = slots;
+        if (snapshot == null) {
+          throw new OutOfScopeException("Cannot access " + key + " after its task was closed.");
+        }
+        if (index >= snapshot.length) {
+          snapshot = Arrays.copyOf(snapshot, Math.max(index + 1, snapshot.length * 2));
+        } else if (snapshot[index] != null) {
+          return snapshot[index];
+        } else {
+          snapshot = snapshot.clone();
+        }
+        Slot slot = new Slot();
+        snapshot[index] = slot;
+        slots = snapshot;
+        return slot;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void fork(Future<?> subtask) {
+      lock.lock();
+      try {
+        if (slots == null) {
+          throw new OutOfScopeException("Cannot fork a subtask after its task was closed.");
+        }
+        subtasks.add(subtask);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void close() {
+      lock.lock();
+      try {
+        slots = null;
+      } finally {
+        lock.unlock();
+      }
+      for (Future<?> subtask : subtasks) {
+        subtask.cancel(/* mayInterruptIfRunning= */ true);
+      }
+    }
+  }
+
+  /** The instance of one binding in a task, which is created at most once. */
+  private static final class Slot {
+    // A lock rather than a monitor, so that virtual threads creating instances aren't pinned.
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Object value;
+
+    <T> T get(Provider<T> unscoped) {
+      Object local = value;
+      if (local == null) {
+        lock.lock();
+        try {
+          local = value;
+          if (local == null) {
+            T t = unscoped.get();
+            if (Scopes.isCircularProxy(t)) {
+              return t;
+            }
+            local = t != null ? t : NULL;
+            value = local;
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+      @SuppressWarnings("unchecked") // we only store instances of T in the slot of a Provider<T>
+      T t = local != NULL ? (T) local : null;
+      return t;
+    }
+  }
+}
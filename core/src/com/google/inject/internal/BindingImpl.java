@@ -73,7 +73,7 @@ public abstract class BindingImpl<T> implements Binding<T> {
   public Provider<T> getProvider() {
     // Read into a local so we only read the field once.
     var provider = this.provider;
-    if (provider == null) {
+    if (provider == null || isSuperseded(provider)) {
       if (injector == null) {
         throw new UnsupportedOperationException("getProvider() not supported for module bindings");
       }
@@ -86,6 +86,20 @@ public abstract class BindingImpl<T> implements Binding<T> {
     return provider;
   }
 
+  /**
+   * Returns true if the provider is a provisional one, like the provider of a singleton that hadn't
+   * been created yet, and the injector would now make a better one.
+   */
+  private static boolean isSuperseded(Provider<?> provider) {
+    return provider instanceof InternalFactory.ProvisionalProvider
+        && ((InternalFactory.ProvisionalProvider) provider).isSuperseded();
+  }
+
+  /** Returns true if {@link #getProvider} may later return a better provider than it does now. */
+  boolean hasProvisionalProvider() {
+    return getProvider() instanceof InternalFactory.ProvisionalProvider;
+  }
+
   public InternalFactory<? extends T> getInternalFactory() {
     return internalFactory;
   }
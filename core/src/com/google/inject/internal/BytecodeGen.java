@@ -72,6 +72,8 @@ public final class BytecodeGen {
 
   public static final String FASTCLASS_BY_GUICE_MARKER = "$$FastClassByGuice$$";
 
+  public static final String PROVIDER_BY_GUICE_MARKER = "$$ProviderByGuice$$";
+
   /** Builder of enhanced classes. */
   public interface EnhancerBuilder {
     /**
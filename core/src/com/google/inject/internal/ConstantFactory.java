@@ -72,6 +72,11 @@ final class ConstantFactory<T> extends InternalFactory<T> {
     return InternalFactory.makeProviderFor(instance, this);
   }
 
+  @Override
+  boolean isContextFree() {
+    return true;
+  }
+
   @Override
   MethodHandleResult makeHandle(LinkageContext context, boolean linked) {
     return makeCachable(InternalMethodHandles.constantFactoryGetHandle(instance));
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import com.google.inject.spi.ConvertedConstantBinding;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.InstanceBinding;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Finds the constructor bindings of an injector that can't be part of a dependency cycle, so that
+ * their constructions don't need to be tracked in the {@link InternalContext}.
+ *
+ * <p>A binding can't be part of a cycle if it isn't reachable from its own dependencies, and every
+ * binding reachable from it only gets instances through its declared dependencies. The analysis
+ * finds the strongly connected components of the dependency graph, where a binding that depends on
+ * {@code Provider<T>} depends on the binding of {@code T}. Bindings that may run code which gets
+ * instances some other way, such as provider instances, injections of the injector and bindings
+ * with custom scopes, provision listeners or interceptors, are treated as unknown, and so is
+ * everything that can reach them.
+ *
+ * <p>Only the bindings that exist when the injector is created are analyzed. A binding's reachable
+ * bindings never change, so bindings created just-in-time later don't invalidate the analysis;
+ * they are just tracked as usual.
+ */
+final class ConstructionCycleAnalyzer {
+
+  private final InjectorImpl injector;
+  private final Map<Binding<?>, Node> nodes = new IdentityHashMap<>();
+  private final Deque<Node> stack = new ArrayDeque<>();
+  private int nextIndex;
+
+  private ConstructionCycleAnalyzer(InjectorImpl injector) {
+    this.injector = injector;
+  }
+
+  /** Stops tracking the constructions of the injector's bindings that can't be part of a cycle. */
+  static void analyze(InjectorImpl injector) {
+    ConstructionCycleAnalyzer analyzer = new ConstructionCycleAnalyzer(injector);
+    for (Binding<?> binding : injector.getAllBindings().values()) {
+      Node node = analyzer.visit(binding);
+      if (node.known && node.acyclic && binding instanceof ConstructorBindingImpl) {
+        ((ConstructorBindingImpl<?>) binding).skipConstructionTracking();
+      }
+    }
+  }
+
+  /** A binding in the dependency graph, with the state of Tarjan's algorithm. */
+  private static final class Node {
+    final int index;
+    int lowLink;
+    boolean onStack;
+    /** True if this binding and all bindings reachable from it only use declared dependencies. */
+    boolean known;
+    /** True if this binding isn't reachable from its own dependencies. */
+    boolean acyclic = true;
+
+    Node(int index) {
+      this.index = index;
+      this.lowLink = index;
+    }
+  }
+
+  private Node visit(Binding<?> binding) {
+    Node node = nodes.get(binding);
+    if (node != null) {
+      return node;
+    }
+    node = new Node(nextIndex++);
+    nodes.put(binding, node);
+    stack.push(node);
+    node.onStack = true;
+
+    Collection<Key<?>> dependencies = getDependencies(binding);
+    node.known = dependencies != null;
+    if (dependencies != null) {
+      for (Key<?> key : dependencies) {
+        Binding<?> dependency = getBinding(key);
+        if (dependency == null) {
+          node.known = false;
+          continue;
+        }
+        Node target = nodes.get(dependency);
+        if (target == null) {
+          target = visit(dependency);
+          node.lowLink = Math.min(node.lowLink, target.lowLink);
+        } else if (target.onStack) {
+          node.lowLink = Math.min(node.lowLink, target.index);
+        }
+        if (target == node) {
+          node.acyclic = false;
+        }
+        // Targets still on the stack are in the same component, which is handled below.
+        if (!target.onStack) {
+          node.known &= target.known;
+        }
+      }
+    }
+
+    if (node.lowLink == node.index) {
+      List<Node> component = new ArrayList<>();
+      boolean known = true;
+      Node member;
+      do {
+        member = stack.pop();
+        member.onStack = false;
+        component.add(member);
+        known &= member.known;
+      } while (member != node);
+      for (Node n : component) {
+        n.known = known;
+        if (component.size() > 1) {
+          n.acyclic = false;
+        }
+      }
+    }
+    return node;
+  }
+
+  /**
+   * Returns the keys that the binding gets instances of while provisioning, or null if it may get
+   * instances that it doesn't declare.
+   */
+  @Nullable
+  private static Collection<Key<?>> getDependencies(Binding<?> binding) {
+    if (!hasBuiltInScoping((BindingImpl<?>) binding)) {
+      return null;
+    }
+    if (binding instanceof InstanceBinding || binding instanceof ConvertedConstantBinding) {
+      return ImmutableList.of();
+    }
+    if (binding instanceof LinkedBindingImpl) {
+      return ImmutableList.of(((LinkedBindingImpl<?>) binding).getLinkedKey());
+    }
+    if (binding instanceof ConstructorBindingImpl) {
+      ConstructorBindingImpl<?> constructorBinding = (ConstructorBindingImpl<?>) binding;
+      if (!constructorBinding.isInitialized()
+          || constructorBinding.getProvisionCallback() != null
+          || !constructorBinding.getMethodInterceptors().isEmpty()) {
+        return null;
+      }
+      return keys(constructorBinding.getDependencies());
+    }
+    if (binding instanceof ProviderInstanceBindingImpl) {
+      Object provider = ((ProviderInstanceBindingImpl<?>) binding).getUserSuppliedProvider();
+      // Provider methods and multibinders provide instances of their dependencies, while other
+      // providers may use the injector.
+      if (provider instanceof InternalProviderInstanceBindingImpl.Factory) {
+        InternalProviderInstanceBindingImpl.Factory<?> factory =
+            (InternalProviderInstanceBindingImpl.Factory<?>) provider;
+        if (factory.provisionCallback == null) {
+          return keys(factory.getDependencies());
+        }
+      }
+    }
+    return null;
+  }
+
+  /** Returns true if the binding is unscoped or a singleton. Other scopes may get instances. */
+  private static boolean hasBuiltInScoping(BindingImpl<?> binding) {
+    Scoping scoping = binding.getScoping();
+    return scoping.isNoScope()
+        || scoping == Scoping.SINGLETON_ANNOTATION
+        || scoping == Scoping.SINGLETON_INSTANCE
+        || scoping == Scoping.EAGER_SINGLETON
+        || scoping.getScopeInstance() == Scopes.SINGLETON;
+  }
+
+  private static Collection<Key<?>> keys(Collection<Dependency<?>> dependencies) {
+    List<Key<?>> keys = new ArrayList<>(dependencies.size());
+    for (Dependency<?> dependency : dependencies) {
+      keys.add(dependency.getKey());
+    }
+    return keys;
+  }
+
+  /**
+   * Returns the existing binding for {@code key}, or for {@code T} if {@code key} is a {@code
+   * Provider<T>}.
+   */
+  @Nullable
+  private Binding<?> getBinding(Key<?> key) {
+    while (key.getTypeLiteral().getRawType() == Provider.class) {
+      Type providerType = key.getTypeLiteral().getType();
+      if (!(providerType instanceof ParameterizedType)) {
+        return null;
+      }
+      key = key.ofType(((ParameterizedType) providerType).getActualTypeArguments()[0]);
+    }
+    return injector.getExistingBinding(key);
+  }
+}
@@ -43,6 +43,7 @@ import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.aopalliance.intercept.MethodInterceptor;
 
 final class ConstructorBindingImpl<T> extends BindingImpl<T>
@@ -161,6 +162,25 @@ final class ConstructorBindingImpl<T> extends BindingImpl<T>
     factory.provisionCallback = injector.provisionListenerStore.get(this);
   }
 
+  /**
+   * Stops tracking the constructions of this binding in the context, once {@link
+   * ConstructionCycleAnalyzer} has found that they can't be part of a cycle.
+   */
+  void skipConstructionTracking() {
+    factory.trackConstruction = false;
+  }
+
+  /** True if the constructions of this binding are tracked in the context. */
+  boolean isConstructionTracked() {
+    return factory.trackConstruction;
+  }
+
+  /** Returns the provision listeners of this binding, or null if it has none. */
+  @Nullable
+  ProvisionListenerStackCallback<T> getProvisionCallback() {
+    return factory.provisionCallback;
+  }
+
   /** True if this binding has been initialized and is ready for use. */
   boolean isInitialized() {
     return factory.constructorInjector != null;
@@ -284,6 +304,8 @@ final class ConstructorBindingImpl<T> extends BindingImpl<T>
     private final Key<?> key;
     private ConstructorInjector<T> constructorInjector;
     private ProvisionListenerStackCallback<T> provisionCallback;
+    // Only cleared during injector creation, before the binding is used.
+    private boolean trackConstruction = true;
 
     Factory(boolean failIfNotLinked, Key<?> key) {
       this.failIfNotLinked = failIfNotLinked;
@@ -303,6 +325,10 @@ final class ConstructorBindingImpl<T> extends BindingImpl<T>
         throw InternalProvisionException.jitDisabled(key);
       }
 
+      if (!trackConstruction) {
+        return localInjector.constructUntracked(context);
+      }
+
       // This may not actually be safe because it could return a super type of T (if that's all the
       // client needs), but it should be OK in practice thanks to the wonders of erasure.
       return (T) localInjector.construct(context, dependency, provisionCallback);
@@ -318,7 +344,8 @@ final class ConstructorBindingImpl<T> extends BindingImpl<T>
         return makeCachableOnLinkedSetting(
             MethodHandles.dropArguments(throwHandle, 0, InternalContext.class, Dependency.class));
       }
-      var handle = constructorInjector.getConstructHandle(context, provisionCallback);
+      var handle =
+          constructorInjector.getConstructHandle(context, provisionCallback, trackConstruction);
       if (failIfNotLinked) {
         return makeCachableOnLinkedSetting(handle);
       }
@@ -83,7 +83,7 @@ final class ConstructorInjector<T> implements ProvisionCallback<T> {
 
     // Optimization: Don't go through the callback stack if we have no listeners.
     if (provisionCallback == null) {
-      return provision(context);
+      return provision(context, /* trackConstruction= */ true);
     } else {
       // NOTE: `provision` always calls the callback, even if provision listeners
       // throw exceptions.
@@ -91,6 +91,14 @@ final class ConstructorInjector<T> implements ProvisionCallback<T> {
     }
   }
 
+  /**
+   * Constructs an instance without tracking its construction in the context. This is only safe for
+   * bindings without provision listeners, whose dependencies can't lead back to this constructor.
+   */
+  T constructUntracked(InternalContext context) throws InternalProvisionException {
+    return provision(context, /* trackConstruction= */ false);
+  }
+
   /**
    * Returns a method handle for constructing the instance with the signature {@code
    * (InternalContext, Dependency<?>) -> T}
@@ -98,6 +106,18 @@ final class ConstructorInjector<T> implements ProvisionCallback<T> {
   MethodHandle getConstructHandle(
       LinkageContext linkageContext,
       @Nullable ProvisionListenerStackCallback<T> provisionCallback) {
+    return getConstructHandle(linkageContext, provisionCallback, /* trackConstruction= */ true);
+  }
+
+  /**
+   * Returns a method handle like {@link #getConstructHandle(LinkageContext,
+   * ProvisionListenerStackCallback)}, that doesn't track the construction in the context unless
+   * {@code trackConstruction} is true. See {@link #constructUntracked}.
+   */
+  MethodHandle getConstructHandle(
+      LinkageContext linkageContext,
+      @Nullable ProvisionListenerStackCallback<T> provisionCallback,
+      boolean trackConstruction) {
 
     var handle =
         constructionProxy.getConstructHandle(
@@ -110,7 +130,10 @@ final class ConstructorInjector<T> implements ProvisionCallback<T> {
     // If there are members injectors  we call `finishConstructionAndSetReference` so that
     // cycle detection can find the newly constructed reference.
     if (membersInjector != null) {
-      handle = InternalMethodHandles.finishConstructionAndSetReference(handle, circularFactoryId);
+      if (trackConstruction) {
+        handle =
+            InternalMethodHandles.finishConstructionAndSetReference(handle, circularFactoryId);
+      }
       // Members injectors have the signature `(Object, InternalContext)->void`
       var membersHandle =
           ((MethodHandleMembersInjectorImpl<?>) membersInjector)
@@ -124,12 +147,12 @@ final class ConstructorInjector<T> implements ProvisionCallback<T> {
       // Then execute the membersHandle after constructing the object (and calling
       // finishConstructionAndSetReference)
       handle = MethodHandles.foldArguments(membersHandle, handle);
-    } else {
+    } else if (trackConstruction) {
       // Otherwise we are done!
       handle = InternalMethodHandles.finishConstruction(handle, circularFactoryId);
     }
 
-    if (membersInjector != null) {
+    if (membersInjector != null && trackConstruction) {
       // If we called finishConstructionAndSetReference, we need to clear the reference here.
       handle = InternalMethodHandles.clearReference(handle, circularFactoryId);
     }
@@ -137,8 +160,10 @@ final class ConstructorInjector<T> implements ProvisionCallback<T> {
     // Wrap the whole thing in a provision callback if needed.
     handle = MethodHandles.dropArguments(handle, 1, Dependency.class);
     handle = InternalMethodHandles.invokeThroughProvisionCallback(handle, provisionCallback);
-    // call tryStartConstruction
-    handle = InternalMethodHandles.tryStartConstruction(handle, circularFactoryId);
+    if (trackConstruction) {
+      // call tryStartConstruction
+      handle = InternalMethodHandles.tryStartConstruction(handle, circularFactoryId);
+    }
     // (InternalContext)->T
     return handle;
   }
@@ -147,11 +172,12 @@ final class ConstructorInjector<T> implements ProvisionCallback<T> {
   @Override
   public final T call(InternalContext context, Dependency<?> dependency)
       throws InternalProvisionException {
-    return provision(context);
+    return provision(context, /* trackConstruction= */ true);
   }
 
   /** Provisions a new T. */
-  private T provision(InternalContext context) throws InternalProvisionException {
+  private T provision(InternalContext context, boolean trackConstruction)
+      throws InternalProvisionException {
     MembersInjectorImpl<T> localMembersInjector = membersInjector;
     try {
       T t = null;
@@ -159,10 +185,12 @@ final class ConstructorInjector<T> implements ProvisionCallback<T> {
         Object[] parameters = SingleParameterInjector.getAll(context, parameterInjectors);
         t = constructionProxy.newInstance(parameters);
       } finally {
-        if (localMembersInjector == null) {
-          context.finishConstruction(circularFactoryId, t);
-        } else {
-          context.finishConstructionAndSetReference(circularFactoryId, t);
+        if (trackConstruction) {
+          if (localMembersInjector == null) {
+            context.finishConstruction(circularFactoryId, t);
+          } else {
+            context.finishConstructionAndSetReference(circularFactoryId, t);
+          }
         }
       }
 
@@ -176,7 +204,7 @@ final class ConstructorInjector<T> implements ProvisionCallback<T> {
       throw InternalProvisionException.errorInjectingConstructor(cause)
           .addSource(constructionProxy.getInjectionPoint());
     } finally {
-      if (localMembersInjector != null) {
+      if (localMembersInjector != null && trackConstruction) {
         context.clearCurrentReference(circularFactoryId);
       }
     }
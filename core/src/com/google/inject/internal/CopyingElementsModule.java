@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.inject.internal.GuiceInternal.GUICE_INTERNAL;
+import static com.google.inject.spi.Elements.withTrustedSource;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Binder;
+import com.google.inject.ConfigurationException;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.PrivateBinder;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.InjectionPoint;
+import com.google.inject.spi.InjectionRequest;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.MembersInjectorLookup;
+import com.google.inject.spi.PrivateElements;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderLookup;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A module that applies recorded elements, so that they can be applied to more than one injector.
+ *
+ * <p>Most elements can be applied as they are. Provider methods and the bindings of multibinders,
+ * map binders and optional binders are claimed by the first injector they are bound in, so they
+ * are copied each time the module is configured. Lookups hand their provider out to the module
+ * that recorded them, which can only be bound to one injector, so they are looked up again
+ * instead and the recorded lookups are left uninitialized.
+ */
+public final class CopyingElementsModule implements Module {
+  private final ImmutableList<Element> elements;
+
+  public CopyingElementsModule(Iterable<? extends Element> elements) {
+    this.elements = ImmutableList.copyOf(elements);
+  }
+
+  /**
+   * Checks that the objects that {@code elements} inject can be shared between injectors. Each
+   * injector would inject them again, overwriting what the injectors before it injected, so
+   * provider instances, instances and injection requests with injection points are rejected.
+   *
+   * @throws IllegalArgumentException if a bound provider instance or instance, or an instance
+   *     passed to {@code requestInjection()}, has injection points, such as the factories of {@code
+   *     FactoryModuleBuilder}
+   */
+  public static void checkInstancesAreShareable(Iterable<? extends Element> elements) {
+    for (Element element : elements) {
+      if (element instanceof PrivateElements) {
+        checkInstancesAreShareable(((PrivateElements) element).getElements());
+      } else if (element instanceof ProviderInstanceBinding) {
+        ProviderInstanceBinding<?> binding = (ProviderInstanceBinding<?>) element;
+        Object provider = binding.getUserSuppliedProvider();
+        // Copied for each injector, see applyCopy.
+        if (provider instanceof InternalProviderInstanceBindingImpl.Factory) {
+          continue;
+        }
+        checkArgument(
+            !hasInjectionPoints(provider),
+            "%s is bound to the provider instance %s at %s, which has injection points. Each"
+                + " injector would inject it again, so it can only be used in one injector. Bind"
+                + " it with a @Provides method or a provider class instead.",
+            binding.getKey(),
+            provider,
+            binding.getSource());
+      } else if (element instanceof InstanceBinding) {
+        InstanceBinding<?> binding = (InstanceBinding<?>) element;
+        checkArgument(
+            !hasInjectionPoints(binding.getInstance()),
+            "%s is bound to the instance %s at %s, which has injection points. Each injector"
+                + " would inject it again, so it can only be used in one injector. Bind it with a"
+                + " @Provides method or a class instead.",
+            binding.getKey(),
+            binding.getInstance(),
+            binding.getSource());
+      } else if (element instanceof InjectionRequest) {
+        InjectionRequest<?> request = (InjectionRequest<?>) element;
+        checkArgument(
+            !hasInjectionPoints(request.getInstance()),
+            "%s is passed to requestInjection() at %s. Each injector would inject it again, so it"
+                + " can only be used in one injector. Inject it from a @Provides method or an"
+                + " eager singleton instead.",
+            request.getInstance(),
+            request.getSource());
+      }
+    }
+  }
+
+  private static boolean hasInjectionPoints(Object instance) {
+    try {
+      return !InjectionPoint.forInstanceMethodsAndFields(instance.getClass()).isEmpty();
+    } catch (ConfigurationException e) {
+      // The injector reports the invalid injection points.
+      return false;
+    }
+  }
+
+  @Override
+  public void configure(Binder binder) {
+    apply(binder, elements, new IdentityHashMap<>());
+  }
+
+  private static void apply(Binder binder, List<Element> elements, Map<Object, Object> copies) {
+    for (Element element : elements) {
+      if (element instanceof ProviderInstanceBinding) {
+        ProviderInstanceBinding<?> binding = (ProviderInstanceBinding<?>) element;
+        Object provider = binding.getUserSuppliedProvider();
+        if (provider instanceof InternalProviderInstanceBindingImpl.Factory) {
+          applyCopy(binder, binding, copies);
+          continue;
+        }
+      } else if (element instanceof PrivateElements) {
+        applyPrivate(binder, (PrivateElements) element, copies);
+        continue;
+      } else if (element instanceof ProviderLookup) {
+        ProviderLookup<?> lookup = (ProviderLookup<?>) element;
+        binder.withSource(lookup.getSource()).getProvider(lookup.getDependency());
+        continue;
+      } else if (element instanceof MembersInjectorLookup) {
+        MembersInjectorLookup<?> lookup = (MembersInjectorLookup<?>) element;
+        binder.withSource(lookup.getSource()).getMembersInjector(lookup.getType());
+        continue;
+      }
+      element.applyTo(binder);
+    }
+  }
+
+  private static <T> void applyCopy(
+      Binder binder, ProviderInstanceBinding<T> binding, Map<Object, Object> copies) {
+    @SuppressWarnings("unchecked") // the provider of a Binding<T> provides T
+    InternalProviderInstanceBindingImpl.Factory<T> factory =
+        (InternalProviderInstanceBindingImpl.Factory<T>) binding.getUserSuppliedProvider();
+    ((BindingImpl<T>) binding)
+        .getScoping()
+        .applyTo(
+            withTrustedSource(GUICE_INTERNAL, binder, binding.getSource())
+                .bind(binding.getKey())
+                .toProvider(factory.copy(copies)));
+  }
+
+  private static void applyPrivate(
+      Binder binder, PrivateElements privateElements, Map<Object, Object> copies) {
+    PrivateBinder privateBinder = binder.withSource(privateElements.getSource()).newPrivateBinder();
+    apply(privateBinder, privateElements.getElements(), copies);
+    for (Key<?> key : privateElements.getExposedKeys()) {
+      privateBinder.withSource(privateElements.getExposedSource(key)).expose(key);
+    }
+  }
+}
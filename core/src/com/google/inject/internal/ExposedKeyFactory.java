@@ -64,6 +64,11 @@ final class ExposedKeyFactory<T> extends InternalFactory<T> implements CreationL
     }
   }
 
+  @Override
+  boolean isContextFree() {
+    return delegate != null && delegate.isContextFree();
+  }
+
   @Override
   MethodHandleResult makeHandle(LinkageContext context, boolean linked) {
     return makeCachableOnLinkedSetting(
@@ -20,6 +20,7 @@ import com.google.common.base.MoreObjects;
 import com.google.inject.Key;
 import com.google.inject.internal.InjectorImpl.JitLimitation;
 import com.google.inject.spi.Dependency;
+import javax.annotation.Nullable;
 
 /**
  * A placeholder which enables us to swap in the real factory once the injector is created. Used for
@@ -52,6 +53,17 @@ final class FactoryProxy<T> extends InternalFactory<T> implements CreationListen
     }
   }
 
+  /** Returns the key that this links to. */
+  Key<? extends T> getTargetKey() {
+    return targetKey;
+  }
+
+  /** Returns the factory of the linked binding, or null if it couldn't be found. */
+  @Nullable
+  InternalFactory<? extends T> getTargetFactory() {
+    return targetFactory;
+  }
+
   @Override
   public T get(InternalContext context, Dependency<?> dependency, boolean linked)
       throws InternalProvisionException {
@@ -62,6 +74,11 @@ final class FactoryProxy<T> extends InternalFactory<T> implements CreationListen
     }
   }
 
+  @Override
+  boolean isContextFree() {
+    return targetFactory != null && targetFactory.isContextFree();
+  }
+
   @Override
   MethodHandleResult makeHandle(LinkageContext context, boolean linked) {
     return makeCachable(
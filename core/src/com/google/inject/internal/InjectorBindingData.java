@@ -18,7 +18,9 @@ package com.google.inject.internal;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -57,21 +59,23 @@ class InjectorBindingData {
   private final Optional<InjectorBindingData> parent;
 
   // Must be a linked hashmap in order to preserve order of bindings in Modules.
-  private final Map<Key<?>, Binding<?>> explicitBindingsMutable = Maps.newLinkedHashMap();
-  private final Map<Key<?>, Binding<?>> explicitBindings =
+  // These collections are only replaced by compact(), while the injector is built and before it is
+  // used, so they are published along with the injector.
+  private Map<Key<?>, Binding<?>> explicitBindingsMutable = Maps.newLinkedHashMap();
+  private Map<Key<?>, Binding<?>> explicitBindings =
       Collections.unmodifiableMap(explicitBindingsMutable);
-  private final Map<Class<? extends Annotation>, ScopeBinding> scopes = Maps.newHashMap();
-  private final Set<ProviderLookup<?>> providerLookups = Sets.newLinkedHashSet();
-  private final Set<StaticInjectionRequest> staticInjectionRequests = Sets.newLinkedHashSet();
-  private final Set<MembersInjectorLookup<?>> membersInjectorLookups = Sets.newLinkedHashSet();
-  private final Set<InjectionRequest<?>> injectionRequests = Sets.newLinkedHashSet();
-  private final List<TypeConverterBinding> converters = Lists.newArrayList();
-  private final List<InterceptorBinding> interceptorBindings = Lists.newArrayList();
-  private final List<TypeListenerBinding> typeListenerBindings = Lists.newArrayList();
-  private final List<ProvisionListenerBinding> provisionListenerBindings = Lists.newArrayList();
-  private final List<ModuleAnnotatedMethodScannerBinding> scannerBindings = Lists.newArrayList();
+  private Map<Class<? extends Annotation>, ScopeBinding> scopes = Maps.newHashMap();
+  private Set<ProviderLookup<?>> providerLookups = Sets.newLinkedHashSet();
+  private Set<StaticInjectionRequest> staticInjectionRequests = Sets.newLinkedHashSet();
+  private Set<MembersInjectorLookup<?>> membersInjectorLookups = Sets.newLinkedHashSet();
+  private Set<InjectionRequest<?>> injectionRequests = Sets.newLinkedHashSet();
+  private List<TypeConverterBinding> converters = Lists.newArrayList();
+  private List<InterceptorBinding> interceptorBindings = Lists.newArrayList();
+  private List<TypeListenerBinding> typeListenerBindings = Lists.newArrayList();
+  private List<ProvisionListenerBinding> provisionListenerBindings = Lists.newArrayList();
+  private List<ModuleAnnotatedMethodScannerBinding> scannerBindings = Lists.newArrayList();
   // The injector's explicit bindings, indexed by the binding's type.
-  private final ListMultimap<TypeLiteral<?>, Binding<?>> indexedExplicitBindings =
+  private ListMultimap<TypeLiteral<?>, Binding<?>> indexedExplicitBindings =
       ArrayListMultimap.create();
 
   InjectorBindingData(Optional<InjectorBindingData> parent) {
@@ -266,4 +270,26 @@ class InjectorBindingData {
   public ListMultimap<TypeLiteral<?>, Binding<?>> getIndexedExplicitBindings() {
     return indexedExplicitBindings;
   }
+
+  /**
+   * Replaces the collections of this injector level with immutable copies, preserving their
+   * iteration order. Only the collections are replaced; the bindings and elements they hold are
+   * kept. This must only be called once the bindings are initialized, before the injector is used,
+   * and nothing may be added afterwards.
+   */
+  void compact() {
+    explicitBindingsMutable = ImmutableMap.copyOf(explicitBindingsMutable);
+    explicitBindings = explicitBindingsMutable;
+    scopes = ImmutableMap.copyOf(scopes);
+    providerLookups = ImmutableSet.copyOf(providerLookups);
+    staticInjectionRequests = ImmutableSet.copyOf(staticInjectionRequests);
+    membersInjectorLookups = ImmutableSet.copyOf(membersInjectorLookups);
+    injectionRequests = ImmutableSet.copyOf(injectionRequests);
+    converters = ImmutableList.copyOf(converters);
+    interceptorBindings = ImmutableList.copyOf(interceptorBindings);
+    typeListenerBindings = ImmutableList.copyOf(typeListenerBindings);
+    provisionListenerBindings = ImmutableList.copyOf(provisionListenerBindings);
+    scannerBindings = ImmutableList.copyOf(scannerBindings);
+    indexedExplicitBindings = ImmutableListMultimap.copyOf(indexedExplicitBindings);
+  }
 }
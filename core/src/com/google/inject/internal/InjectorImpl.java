@@ -18,15 +18,20 @@ package com.google.inject.internal;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.inject.internal.Annotations.findScopeAnnotation;
+import static java.lang.invoke.MethodType.methodType;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.errorprone.annotations.Keep;
 import com.google.inject.Binder;
 import com.google.inject.Binding;
 import com.google.inject.ConfigurationException;
@@ -52,13 +57,18 @@ import com.google.inject.spi.ProviderBinding;
 import com.google.inject.spi.TypeConverterBinding;
 import com.google.inject.util.Providers;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
@@ -71,6 +81,9 @@ import javax.annotation.Nullable;
 final class InjectorImpl implements Injector, Lookups {
   public static final TypeLiteral<String> STRING_TYPE = TypeLiteral.get(String.class);
 
+  /** The most unbound keys that {@link #tryGetInstance} remembers. */
+  @VisibleForTesting static final int MAX_UNBOUND_KEYS = 10_000;
+
   /** Options that control how the injector behaves. */
   static class InjectorOptions {
     final Stage stage;
@@ -125,6 +138,15 @@ final class InjectorImpl implements Injector, Lookups {
   /** The set of types passed to {@link #getMembersInjector} and {@link #injectMembers}. */
   final Set<TypeLiteral<?>> userRequestedMembersInjectorTypes = Sets.newConcurrentHashSet();
 
+  /**
+   * Keys that {@link #tryGetInstance} found unbound, with the {@link #getJitBindingsVersion} at the
+   * time. Explicit bindings never change, so a key stays unbound until a just-in-time binding is
+   * added to this injector or one of its ancestors. Bounded, because callers may probe arbitrarily
+   * many keys; an evicted key is simply looked up again. Built on the first miss, so that injectors
+   * nobody probes, such as most child and private injectors, don't pay for it.
+   */
+  private volatile Cache<Key<?>, Integer> unboundKeys;
+
   InjectorImpl(
       InjectorImpl parent,
       InjectorBindingData bindingData,
@@ -404,12 +426,50 @@ final class InjectorImpl implements Injector, Lookups {
 
         @Override
         MethodHandleResult makeHandle(LinkageContext context, boolean linked) {
+          if (((BindingImpl<T>) providedBinding).hasProvisionalProvider()) {
+            // Bind to a callsite that will patch itself once a better provider is available, like
+            // the instance provider of a singleton once it is created.
+            return makeCachable(
+                new ProviderCallSite((BindingImpl<T>) providedBinding).dynamicInvoker());
+          }
           return makeCachable(
               InternalMethodHandles.constantFactoryGetHandle(providedBinding.getProvider()));
         }
       };
     }
 
+    /**
+     * A callsite that gets the provider from a binding whose provider is provisional, until the
+     * binding returns one that isn't. Then it patches itself to return that provider as a constant.
+     */
+    static final class ProviderCallSite extends MutableCallSite {
+      static final MethodHandle GET_PROVIDER_MH =
+          InternalMethodHandles.findVirtualOrDie(
+              ProviderCallSite.class, "getProvider", methodType(Object.class));
+
+      private final BindingImpl<?> binding;
+
+      ProviderCallSite(BindingImpl<?> binding) {
+        super(methodType(Object.class, InternalContext.class, Dependency.class));
+        this.binding = binding;
+        setTarget(
+            MethodHandles.dropArguments(
+                GET_PROVIDER_MH.bindTo(this), 0, InternalContext.class, Dependency.class));
+      }
+
+      @Keep
+      Object getProvider() {
+        Provider<?> provider = binding.getProvider();
+        if (!(provider instanceof InternalFactory.ProvisionalProvider)) {
+          setTarget(InternalMethodHandles.constantFactoryGetHandle(provider));
+          // Publish the new target to other threads; until they see it they still get the same
+          // provider from the binding.
+          MutableCallSite.syncAll(new MutableCallSite[] {this});
+        }
+        return provider;
+      }
+    }
+
     @Override
     public Key<? extends T> getProvidedKey() {
       return providedBinding.getKey();
@@ -1193,6 +1253,30 @@ final class InjectorImpl implements Injector, Lookups {
     return provider;
   }
 
+  @Override
+  public Provider<List<Object>> getInstancesProvider(List<? extends Key<?>> keys) {
+    Errors errors = new Errors();
+    List<InternalFactory<?>> factories = new ArrayList<>(keys.size());
+    List<Dependency<?>> dependencies = new ArrayList<>(keys.size());
+    for (Key<?> key : keys) {
+      checkNotNull(key, "key");
+      Errors keyErrors = new Errors(key);
+      try {
+        factories.add(getBindingOrThrow(key, keyErrors, JitLimitation.NO_JIT).getInternalFactory());
+        dependencies.add(Dependency.get(key));
+      } catch (ErrorsException e) {
+        errors.merge(keyErrors.merge(e.getErrors()));
+      }
+    }
+    if (errors.hasErrors()) {
+      throw new ConfigurationException(errors.getMessages());
+    }
+    if (InternalFlags.getUseMethodHandlesOption()) {
+      return InternalMethodHandles.makeInstancesProvider(this, factories, dependencies);
+    }
+    return new InternalFactory.InstancesProvider(this, factories, dependencies);
+  }
+
   @Override
   public <T> T getInstance(Key<T> key) {
     return getProvider(key).get();
@@ -1203,6 +1287,58 @@ final class InjectorImpl implements Injector, Lookups {
     return getProvider(type).get();
   }
 
+  @Override
+  public <T> Optional<T> tryGetInstance(Key<T> key) {
+    checkNotNull(key, "key");
+    // Read the version before looking for the binding, so that a binding added concurrently
+    // invalidates what we record below.
+    int version = getJitBindingsVersion();
+    Cache<Key<?>, Integer> cache = unboundKeys;
+    Integer unboundVersion = cache != null ? cache.getIfPresent(key) : null;
+    if (unboundVersion != null) {
+      if (unboundVersion == version) {
+        return Optional.empty();
+      }
+      cache.invalidate(key);
+    }
+    BindingImpl<T> binding = getExistingBinding(key);
+    if (binding == null) {
+      if (cache == null) {
+        // Racing threads may each build a cache and only one is kept; the keys recorded in the
+        // others are simply looked up again.
+        cache = CacheBuilder.newBuilder().maximumSize(MAX_UNBOUND_KEYS).build();
+        unboundKeys = cache;
+      }
+      cache.put(key, version);
+      return Optional.empty();
+    }
+    return Optional.ofNullable(binding.getProvider().get());
+  }
+
+  /** Returns how many unbound keys {@link #tryGetInstance} currently remembers. */
+  @VisibleForTesting
+  long unboundKeyCount() {
+    Cache<Key<?>, Integer> cache = unboundKeys;
+    return cache != null ? cache.size() : 0;
+  }
+
+  @Override
+  public <T> Optional<T> tryGetInstance(Class<T> type) {
+    return tryGetInstance(Key.get(checkNotNull(type, "type")));
+  }
+
+  /**
+   * Returns the sum of the just-in-time binding versions of this injector and its ancestors, which
+   * changes whenever a key that isn't bound explicitly may become bound.
+   */
+  private int getJitBindingsVersion() {
+    int version = 0;
+    for (InjectorImpl injector = this; injector != null; injector = injector.parent) {
+      version += injector.jitBindingData.getJitBindingsVersion();
+    }
+    return version;
+  }
+
   /**
    * Holds Object[] as a mutable wrapper, rather than InternalContext, since array operations are
    * faster than ThreadLocal.set() / .get() operations.
@@ -35,6 +35,9 @@ final class InjectorJitBindingData {
    */
   private final Object lock;
 
+  /** Incremented whenever a just-in-time binding is added. Written while holding {@link #lock}. */
+  private volatile int jitBindingsVersion;
+
   InjectorJitBindingData(Optional<InjectorJitBindingData> parent) {
     this.parent = parent;
     this.lock = parent.isPresent() ? parent.get().lock() : this;
@@ -53,6 +56,15 @@ final class InjectorJitBindingData {
 
   <T> void putJitBinding(Key<T> key, BindingImpl<T> binding) {
     jitBindings.put(key, binding);
+    jitBindingsVersion++;
+  }
+
+  /**
+   * Returns a number that changes whenever a just-in-time binding is added to this injector, which
+   * can be read without holding the {@link #lock}.
+   */
+  int getJitBindingsVersion() {
+    return jitBindingsVersion;
   }
 
   void removeJitBinding(Key<?> key) {
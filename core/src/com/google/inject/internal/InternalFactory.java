@@ -22,6 +22,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import com.google.inject.Provider;
 import com.google.inject.spi.Dependency;
 import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import javax.annotation.Nullable;
 
 /**
@@ -37,6 +40,13 @@ abstract class InternalFactory<T> {
    */
   private volatile HandleCache handleCache = HandleCache.EMPTY;
 
+  /**
+   * The constructor of the generated provider class for this factory, see {@link
+   * InternalMethodHandles#makeGeneratedProvider}. Accessed in a double checked manner and updated
+   * under the `this` lock.
+   */
+  volatile MethodHandle generatedProviderConstructor;
+
   /**
    * Creates an object to be injected.
    *
@@ -53,6 +63,15 @@ abstract class InternalFactory<T> {
     return makeDefaultProvider(this, injector, dependency);
   }
 
+  /**
+   * Returns true if this factory now provides the same instance without using the context, both
+   * from {@link #get} and from its handle, so that it may be called with a {@code null} context.
+   * Once this returns true it must always return true.
+   */
+  boolean isContextFree() {
+    return false;
+  }
+
   /**
    * Returns the method handle for the object to be injected.
    *
@@ -186,6 +205,45 @@ abstract class InternalFactory<T> {
     }
   }
 
+  /** Provides the instances of several factories within a single context. */
+  static final class InstancesProvider implements Provider<List<Object>> {
+    private final InjectorImpl injector;
+    private final InternalFactory<?>[] factories;
+    private final Dependency<?>[] dependencies;
+
+    InstancesProvider(
+        InjectorImpl injector,
+        List<InternalFactory<?>> factories,
+        List<Dependency<?>> dependencies) {
+      this.injector = injector;
+      this.factories = factories.toArray(new InternalFactory<?>[0]);
+      this.dependencies = dependencies.toArray(new Dependency<?>[0]);
+    }
+
+    @Override
+    public List<Object> get() {
+      Object[] instances = new Object[factories.length];
+      InternalContext currentContext = injector.enterContext();
+      try {
+        for (int i = 0; i < factories.length; i++) {
+          try {
+            instances[i] = factories[i].get(currentContext, dependencies[i], false);
+          } catch (InternalProvisionException e) {
+            throw e.addSource(dependencies[i]).toProvisionException();
+          }
+        }
+      } finally {
+        currentContext.close();
+      }
+      return Collections.unmodifiableList(Arrays.asList(instances));
+    }
+
+    @Override
+    public String toString() {
+      return Arrays.toString(factories);
+    }
+  }
+
   static class NullProvider<T> implements Provider<T> {
     private final Object source;
     private final InternalFactory<T> factory;
@@ -213,6 +271,16 @@ abstract class InternalFactory<T> {
     }
   }
 
+  /**
+   * A provider that a factory hands out until it can make a better one, like the provider of a
+   * singleton that hasn't been created yet. Holders of such a provider should make a new one with
+   * {@link #makeProvider} once it {@link #isSuperseded is superseded}.
+   */
+  interface ProvisionalProvider {
+    /** Returns true if the factory would now make a better provider. */
+    boolean isSuperseded();
+  }
+
   static class InstanceProvider<T> implements Provider<T> {
     private final T instance;
     private final InternalFactory<T> factory;
@@ -23,9 +23,11 @@ import static java.lang.invoke.MethodType.methodType;
 
 import com.google.errorprone.annotations.Keep;
 import com.google.errorprone.annotations.concurrent.LazyInit;
+import com.google.inject.Key;
 import com.google.inject.Provider;
 import com.google.inject.Scope;
 import com.google.inject.spi.Dependency;
+import com.google.inject.spi.MethodHandleScope;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MutableCallSite;
@@ -36,12 +38,28 @@ import java.lang.invoke.MutableCallSite;
  * @author crazybob@google.com (Bob Lee)
  */
 class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
-  /** Creates a factory around a scoped provider. */
+  /**
+   * Creates a factory around a scoped provider.
+   *
+   * @param key the key of the scoped binding
+   * @param scopeInstance the scope that created the provider
+   * @param creator the unscoped factory, used to link scopes that support method handles
+   * @param provider the scoped provider
+   * @param source the source of the binding
+   */
   static <T> InternalFactoryToScopedProviderAdapter<T> create(
-      Scope scopeInstance, Provider<? extends T> provider, Object source) {
+      Key<T> key,
+      Scope scopeInstance,
+      InternalFactory<? extends T> creator,
+      Provider<? extends T> provider,
+      Object source) {
     if (scopeInstance instanceof SingletonScope) {
       return new ForSingletonScope<>(provider, source);
     }
+    if (scopeInstance instanceof MethodHandleScope) {
+      return new ForMethodHandleScope<>(
+          provider, source, (MethodHandleScope) scopeInstance, key, creator);
+    }
     return new InternalFactoryToScopedProviderAdapter<>(provider, source);
   }
 
@@ -85,31 +103,105 @@ class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
     // (InternalContext, Dependency) -> Object
     invokeProvider =
         MethodHandles.dropArguments(invokeProvider, 0, InternalContext.class, Dependency.class);
+    return makeCachable(adaptScopedHandle(invokeProvider));
+  }
+
+  /**
+   * Adapts a handle that returns a scoped instance to the factory protocol, adding the null check,
+   * the exception handling and the call to {@code setDependency}.
+   */
+  MethodHandle adaptScopedHandle(MethodHandle scopedHandle) {
     // null check the result using the dependency.
-    // ()->Object
-    invokeProvider = InternalMethodHandles.nullCheckResult(invokeProvider, source);
+    // (InternalContext, Dependency) -> Object
+    scopedHandle = InternalMethodHandles.nullCheckResult(scopedHandle, source);
     // Catch any RuntimeException as an InternalProvisionException.
-    // ()->Object
-    invokeProvider =
+    // (InternalContext, Dependency) -> Object
+    scopedHandle =
         InternalMethodHandles.catchRuntimeExceptionInProviderAndRethrowWithSource(
-            invokeProvider, source);
+            scopedHandle, source);
 
     // We need to call 'setDependency' so it is available to scope implementations and scope
     // delegate providers. See comment in `get` method for more details.
-    invokeProvider =
-        MethodHandles.foldArguments(invokeProvider, INTERNAL_CONTEXT_SET_DEPENDENCY_HANDLE);
-    return makeCachable(invokeProvider);
+    return MethodHandles.foldArguments(scopedHandle, INTERNAL_CONTEXT_SET_DEPENDENCY_HANDLE);
   }
 
   private static final MethodHandle INTERNAL_CONTEXT_SET_DEPENDENCY_HANDLE =
       InternalMethodHandles.findVirtualOrDie(
           InternalContext.class, "setDependency", methodType(void.class, Dependency.class));
 
+  private static final MethodHandle INTERNAL_CONTEXT_GET_DEPENDENCY_HANDLE =
+      InternalMethodHandles.findVirtualOrDie(
+          InternalContext.class, "getDependency", methodType(Dependency.class));
+
   @Override
   public String toString() {
     return provider.toString();
   }
 
+  /**
+   * A factory for scopes that implement {@link MethodHandleScope}.
+   *
+   * <p>When linked, the scope is applied around the handle of the unscoped factory rather than
+   * around a provider, which avoids the two opaque {@code Provider.get()} calls of the default
+   * adapter and lets the JIT inline the scope's logic.
+   */
+  static final class ForMethodHandleScope<T> extends InternalFactoryToScopedProviderAdapter<T> {
+    private final MethodHandleScope scope;
+    private final Key<T> key;
+    private final InternalFactory<? extends T> creator;
+
+    ForMethodHandleScope(
+        Provider<? extends T> provider,
+        Object source,
+        MethodHandleScope scope,
+        Key<T> key,
+        InternalFactory<? extends T> creator) {
+      super(provider, source);
+      this.scope = scope;
+      this.key = key;
+      this.creator = creator;
+    }
+
+    @Override
+    MethodHandleResult makeHandle(LinkageContext context, boolean linked) {
+      // Like the unscoped provider, always pretend that we are a linked binding.
+      // (InternalContext, Dependency) -> Object
+      var unscoped = creator.getHandle(context, /* linked= */ true);
+      // Read the dependency from the context, where it is set before the scope is invoked.
+      // (InternalContext) -> Object
+      unscoped =
+          MethodHandles.permuteArguments(
+              MethodHandles.filterArguments(unscoped, 1, INTERNAL_CONTEXT_GET_DEPENDENCY_HANDLE),
+              methodType(Object.class, InternalContext.class),
+              0,
+              0);
+
+      MethodHandle scoped = scope.scope(key, unscoped.asType(MethodHandleScope.HANDLE_TYPE));
+      if (scoped == null) {
+        return super.makeHandle(context, linked);
+      }
+      checkState(
+          scoped.type().equals(MethodHandleScope.HANDLE_TYPE),
+          "%s returned a handle of type %s for %s, expected %s",
+          scope,
+          scoped.type(),
+          key,
+          MethodHandleScope.HANDLE_TYPE);
+
+      // Satisfy the signature for the factory protocol.
+      // (InternalContext, Dependency) -> Object
+      scoped =
+          MethodHandles.dropArguments(
+              scoped.asType(methodType(Object.class, InternalContext.class)),
+              1,
+              Dependency.class);
+      // Failures of the unscoped factory propagate directly, so attribute them to this binding.
+      scoped =
+          InternalMethodHandles.catchInternalProvisionExceptionAndRethrowWithSource(scoped, source);
+      return makeCachable(adaptScopedHandle(scoped));
+    }
+  }
+
   /**
    * A factory that wraps a provider that has been scoped by the singleton scope.
    *
@@ -151,6 +243,11 @@ class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
       return t;
     }
 
+    @Override
+    boolean isContextFree() {
+      return value != UNINITIALIZED_VALUE;
+    }
+
     @Override
     MethodHandleResult makeHandle(LinkageContext context, boolean linked) {
       // If it is somehow already initialized, we can return a constant handle.
@@ -161,7 +258,7 @@ class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
       // Otherwise we bind to a callsite that will patch itself once it is initialized.
       var result = super.makeHandle(context, linked);
       checkState(result.cachability == MethodHandleResult.Cachability.ALWAYS);
-      return makeCachable(new SingletonCallSite(result.methodHandle, source).dynamicInvoker());
+      return makeCachable(new SingletonCallSite(result.methodHandle, this).dynamicInvoker());
     }
 
     private static MethodHandle getHandleForConstant(Object source, Object value) {
@@ -185,33 +282,68 @@ class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
               SingletonCallSite.class,
               "boostrapCallSite",
               methodType(Object.class, Object.class, InternalContext.class, Dependency.class));
+      static final MethodHandle IS_INITIALIZED_MH =
+          findVirtualOrDie(SingletonCallSite.class, "isInitialized", methodType(boolean.class));
+      static final MethodHandle USE_INITIALIZED_VALUE_MH =
+          findVirtualOrDie(
+              SingletonCallSite.class,
+              "useInitializedValue",
+              methodType(Object.class, InternalContext.class, Dependency.class));
 
-      private final Object source;
+      private final ForSingletonScope<?> factory;
 
-      SingletonCallSite(MethodHandle actualGetHandle, Object source) {
+      SingletonCallSite(MethodHandle actualGetHandle, ForSingletonScope<?> factory) {
         super(actualGetHandle.type());
-        this.source = source;
+        this.factory = factory;
         // Invoke the 'actual' handle and then pass the result to the `boostrapCallSite` method.
         // This will allow us to eventually 'fold' the result into the callsite.
         // (InternalContext, InternalContext) -> Object
         var invokeBootstrap =
             MethodHandles.foldArguments(BOOTSTRAP_CALL_MH.bindTo(this), actualGetHandle);
-        setTarget(invokeBootstrap);
+        // If the singleton was already created some other way, use it without the context. This
+        // keeps the factory's `isContextFree` promise for handles as well.
+        setTarget(
+            MethodHandles.guardWithTest(
+                IS_INITIALIZED_MH.bindTo(this),
+                USE_INITIALIZED_VALUE_MH.bindTo(this),
+                invokeBootstrap));
+      }
+
+      @Keep
+      boolean isInitialized() {
+        return factory.value != UNINITIALIZED_VALUE;
+      }
+
+      @Keep
+      Object useInitializedValue(InternalContext context, Dependency<?> dependency)
+          throws InternalProvisionException {
+        Object value = factory.value;
+        setConstant(value);
+        if (value == null && !dependency.isNullable()) {
+          InternalProvisionException.onNullInjectedIntoNonNullableDependency(
+              factory.source, dependency);
+        }
+        return value;
       }
 
       @Keep
       Object boostrapCallSite(Object result, InternalContext context, Dependency<?> dependency) {
         // Don't cache circular, proxies.
         if (!context.areCircularProxiesEnabled() || !BytecodeGen.isCircularProxy(result)) {
-          setTarget(getHandleForConstant(source, result));
-          // This ensures that other threads will see the new target.  This isn't strictly necessary
-          // since the underlying provider is both ThreadSafe and idempotent, but it should improve
-          // performance by giving the JIT and easy optimization opportunity.
-          MutableCallSite.syncAll(new MutableCallSite[] {this});
+          factory.value = result;
+          setConstant(result);
         }
         // otherwise we shouldn't cache the result.
         return result;
       }
+
+      private void setConstant(Object value) {
+        setTarget(getHandleForConstant(factory.source, value));
+        // This ensures that other threads will see the new target.  This isn't strictly necessary
+        // since the underlying provider is both ThreadSafe and idempotent, but it should improve
+        // performance by giving the JIT and easy optimization opportunity.
+        MutableCallSite.syncAll(new MutableCallSite[] {this});
+      }
     }
 
     private T getAndCache(InjectorImpl injector, Dependency<?> dependency)
@@ -229,46 +361,47 @@ class InternalFactoryToScopedProviderAdapter<T> extends InternalFactory<T> {
         T typedValue = (T) value;
         return InternalFactory.makeProviderForNullable(typedValue, this, dependency, source);
       }
-      if (dependency.isNullable()) {
-        return new Provider<T>() {
-          @Override
-          public T get() {
-            Object value = ForSingletonScope.this.value;
-            if (value != UNINITIALIZED_VALUE) {
-              // safe because we only store values of T or UNINITIALIZED_VALUE
-              @SuppressWarnings("unchecked")
-              T typedValue = (T) value;
-              return typedValue;
-            }
-            try {
-              return getAndCache(injector, dependency);
-            } catch (InternalProvisionException e) {
-              throw e.addSource(dependency).toProvisionException();
-            }
-          }
-        };
+      return new UninitializedSingletonProvider(injector, dependency);
+    }
+
+    /**
+     * Provides the singleton before it is initialized. Once it is, {@link #makeProvider} returns a
+     * provider of the instance instead, which holders of this provider can switch to.
+     */
+    private final class UninitializedSingletonProvider
+        implements Provider<T>, InternalFactory.ProvisionalProvider {
+      private final InjectorImpl injector;
+      private final Dependency<?> dependency;
+
+      UninitializedSingletonProvider(InjectorImpl injector, Dependency<?> dependency) {
+        this.injector = injector;
+        this.dependency = dependency;
       }
-      return new Provider<T>() {
-        @Override
-        public T get() {
-          try {
-            Object value = ForSingletonScope.this.value;
-            if (value != UNINITIALIZED_VALUE) {
-              if (value == null) {
-                InternalProvisionException.onNullInjectedIntoNonNullableDependency(
-                    source, dependency);
-              }
-              // safe because we only store values of T or UNINITIALIZED_VALUE
-              @SuppressWarnings("unchecked")
-              T typedValue = (T) value;
-              return typedValue;
+
+      @Override
+      public T get() {
+        try {
+          Object value = ForSingletonScope.this.value;
+          if (value != UNINITIALIZED_VALUE) {
+            if (value == null && !dependency.isNullable()) {
+              InternalProvisionException.onNullInjectedIntoNonNullableDependency(
+                  source, dependency);
             }
-            return getAndCache(injector, dependency);
-          } catch (InternalProvisionException e) {
-            throw e.addSource(dependency).toProvisionException();
+            // safe because we only store values of T or UNINITIALIZED_VALUE
+            @SuppressWarnings("unchecked")
+            T typedValue = (T) value;
+            return typedValue;
           }
+          return getAndCache(injector, dependency);
+        } catch (InternalProvisionException e) {
+          throw e.addSource(dependency).toProvisionException();
         }
-      };
+      }
+
+      @Override
+      public boolean isSuperseded() {
+        return ForSingletonScope.this.value != UNINITIALIZED_VALUE;
+      }
     }
   }
 }
@@ -19,6 +19,7 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Arrays;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /** Contains flags for Guice. */
 public final class InternalFlags {
@@ -47,12 +48,145 @@ public final class InternalFlags {
   private static final UseMethodHandlesOption USE_METHOD_HANDLES =
       getSystemOption("guice_use_method_handles", UseMethodHandlesOption.NO);
 
+  private static final GeneratedProvidersOption GENERATED_PROVIDERS =
+      getSystemOption("guice_generated_providers", GeneratedProvidersOption.DISABLED);
+
+  private static final ParallelEnhancersOption PARALLEL_ENHANCERS =
+      getSystemOption("guice_parallel_enhancers", ParallelEnhancersOption.DISABLED);
+
+  private static final KeyInterningOption KEY_INTERNING =
+      getSystemOption("guice_key_interning", KeyInterningOption.DISABLED);
+
+  private static final BindingDataCompactionOption BINDING_DATA_COMPACTION =
+      getSystemOption("guice_compact_binding_data", BindingDataCompactionOption.DISABLED);
+
+  private static final CycleAnalysisOption CYCLE_ANALYSIS =
+      getSystemOption("guice_cycle_analysis", CycleAnalysisOption.DISABLED);
+
+  private static final EagerHandleLinkingOption EAGER_HANDLE_LINKING =
+      getSystemOption("guice_link_handles_eagerly", EagerHandleLinkingOption.DISABLED);
+
+  private static final LazyProvisionErrorsOption LAZY_PROVISION_ERRORS =
+      getSystemOption("guice_lazy_provision_errors", LazyProvisionErrorsOption.DISABLED);
+
+  private static final String ENHANCER_CACHE_DIR = getSystemProperty("guice_enhancer_cache_dir");
+
   /** The options for using `MethodHandles`. */
   public enum UseMethodHandlesOption {
     NO,
     YES,
   }
 
+  /**
+   * Options for generating provider classes when method handles are enabled.
+   *
+   * <p>Providers normally invoke their method handle from a field, which the JIT cannot
+   * constant-fold. When enabled, a small hidden class is generated per binding that links its
+   * handle through a constant call site, so that {@code Provider.get()} can be fully inlined. This
+   * trades some class generation overhead when providers are first requested for faster
+   * provisioning.
+   */
+  public enum GeneratedProvidersOption {
+    /** Providers invoke their method handles indirectly. (Default) */
+    DISABLED,
+    /** A hidden provider class is generated per binding. */
+    ENABLED,
+  }
+
+  /**
+   * Options for generating enhanced classes in parallel during injector creation.
+   *
+   * <p>When enabled, the enhancers for all intercepted constructor bindings of an injector are
+   * generated concurrently before the bindings are initialized. Interceptor matchers are still
+   * evaluated on the thread creating the injector.
+   */
+  public enum ParallelEnhancersOption {
+    /** Enhancers are generated one at a time as bindings are initialized. (Default) */
+    DISABLED,
+    /** Enhancers are generated concurrently using the common fork-join pool. */
+    ENABLED,
+  }
+
+  /**
+   * Options for interning keys and type literals.
+   *
+   * <p>Large injectors create many equal {@code Key} and {@code TypeLiteral} instances, one for
+   * every dependency and binding that mentions them. When enabled, canonical keys are shared
+   * through a weak JVM-wide pool, so duplicates become garbage right after injector creation and
+   * most equality checks on hot maps succeed on identity.
+   */
+  public enum KeyInterningOption {
+    /** Every binding and dependency keeps its own key. (Default) */
+    DISABLED,
+    /** Canonical keys and their type literals are interned. */
+    ENABLED,
+  }
+
+  /**
+   * Options for compacting the binding data of injectors created in {@code Stage.PRODUCTION}.
+   *
+   * <p>Once a production injector is built, the collections that index its explicit bindings,
+   * scopes, lookups, requests and listeners are never modified again. When enabled, they are
+   * replaced with immutable copies, which have less overhead per entry than the hash-based
+   * collections used while building. The bindings and elements themselves, including their sources
+   * and injection points, are kept as they are, since the SPI returns them. The SPI is unaffected.
+   */
+  public enum BindingDataCompactionOption {
+    /** Injectors keep the mutable collections used while building them. (Default) */
+    DISABLED,
+    /** The binding data of production injectors is compacted once they are built. */
+    ENABLED,
+  }
+
+  /**
+   * Options for analyzing the dependency graph for cycles during injector creation.
+   *
+   * <p>Guice tracks every constructor injection in the current context, so that it can detect
+   * circular dependencies and proxy them. When enabled, constructor bindings whose dependencies are
+   * all known and can't lead back to them skip this tracking. Cycles through code that gets
+   * instances without declaring them as dependencies, such as a constructor that calls a static
+   * reference to the injector, are no longer detected for those bindings.
+   */
+  public enum CycleAnalysisOption {
+    /** Every constructor injection is tracked. (Default) */
+    DISABLED,
+    /** Constructor bindings that can't be part of a cycle aren't tracked. */
+    ENABLED,
+  }
+
+  /**
+   * Options for linking the method handles of an injector's bindings when it is created.
+   *
+   * <p>With method handles, the handle of a binding composes the handles of its dependencies. These
+   * handles are normally linked the first time a binding is provisioned. When enabled, the handles
+   * of all explicit bindings are linked once the eager singletons are loaded, along with their
+   * generated provider classes if those are enabled, which moves this cost from the first requests
+   * to injector creation. The handles are the same as when they are linked lazily; no code is
+   * generated for the binding graph. Has no effect unless method handles are enabled.
+   */
+  public enum EagerHandleLinkingOption {
+    /** Handles are linked the first time they are used. (Default) */
+    DISABLED,
+    /** Handles of explicit bindings are linked when the injector is created. */
+    ENABLED,
+  }
+
+  /**
+   * Options for the cost of provisioning errors.
+   *
+   * <p>Some applications probe for optional dependencies by catching {@code ProvisionException},
+   * which is expensive since every failure captures two stack traces and formats its messages.
+   * When enabled, the messages of provisioning errors are only formatted when they are requested,
+   * and neither Guice's internal exception nor {@code ProvisionException}s capture stack traces.
+   * The exception that caused an error, if any, keeps its own.
+   */
+  public enum LazyProvisionErrorsOption {
+    /** Provisioning errors are formatted and capture stack traces when they happen. (Default) */
+    DISABLED,
+    /** Provisioning errors are formatted lazily and don't capture stack traces. */
+    ENABLED,
+  }
+
   /** The options for Guice stack trace collection. */
   public enum IncludeStackTraceOption {
     /** No stack trace collection */
@@ -176,6 +310,44 @@ public final class InternalFlags {
         && isBytecodeGenEnabled();
   }
 
+  public static boolean isParallelEnhancersEnabled() {
+    return PARALLEL_ENHANCERS == ParallelEnhancersOption.ENABLED && isBytecodeGenEnabled();
+  }
+
+  public static boolean isKeyInterningEnabled() {
+    return KEY_INTERNING == KeyInterningOption.ENABLED;
+  }
+
+  public static boolean isBindingDataCompactionEnabled() {
+    return BINDING_DATA_COMPACTION == BindingDataCompactionOption.ENABLED;
+  }
+
+  public static boolean isCycleAnalysisEnabled() {
+    return CYCLE_ANALYSIS == CycleAnalysisOption.ENABLED;
+  }
+
+  public static boolean isEagerHandleLinkingEnabled() {
+    return EAGER_HANDLE_LINKING == EagerHandleLinkingOption.ENABLED
+        && getUseMethodHandlesOption();
+  }
+
+  public static boolean isLazyProvisionErrorsEnabled() {
+    return LAZY_PROVISION_ERRORS == LazyProvisionErrorsOption.ENABLED;
+  }
+
+  /**
+   * Returns the directory where generated enhancer bytecode is cached between runs, or {@code null}
+   * if enhancers should always be generated.
+   */
+  @Nullable
+  public static String getEnhancerCacheDir() {
+    return ENHANCER_CACHE_DIR;
+  }
+
+  public static boolean isGeneratedProvidersEnabled() {
+    return GENERATED_PROVIDERS == GeneratedProvidersOption.ENABLED && getUseMethodHandlesOption();
+  }
+
   /**
    * Gets the system option indicated by the specified key; runs as a privileged action.
    *
@@ -223,5 +395,28 @@ public final class InternalFlags {
     }
   }
 
+  /**
+   * Gets the system property indicated by the specified key; runs as a privileged action.
+   *
+   * @param name of the system property
+   * @return value of the property, null if not set or if the security manager disallows access
+   */
+  @Nullable
+  private static String getSystemProperty(final String name) {
+    try {
+      String value =
+          AccessController.doPrivileged(
+              new PrivilegedAction<String>() {
+                @Override
+                public String run() {
+                  return System.getProperty(name);
+                }
+              });
+      return (value != null && value.length() > 0) ? value : null;
+    } catch (SecurityException e) {
+      return null;
+    }
+  }
+
   private InternalFlags() {}
 }
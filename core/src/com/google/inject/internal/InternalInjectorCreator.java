@@ -17,6 +17,8 @@
 package com.google.inject.internal;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.inject.Binding;
 import com.google.inject.Injector;
 import com.google.inject.Key;
@@ -30,12 +32,14 @@ import com.google.inject.internal.util.ContinuousStopwatch;
 import com.google.inject.spi.Dependency;
 import com.google.inject.spi.Element;
 import com.google.inject.spi.InjectionPoint;
+import com.google.inject.spi.InterceptorBinding;
 import com.google.inject.spi.TypeConverterBinding;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -108,6 +112,16 @@ public final class InternalInjectorCreator {
       stopwatch.resetAndLog("Injector construction");
 
       initializeStatically();
+
+      // Nothing is added to the binding data once it is initialized. Compact it before any user
+      // code runs with the injector, so other threads only ever see the compacted collections.
+      if (shellBuilder.getStage() == Stage.PRODUCTION
+          && InternalFlags.isBindingDataCompactionEnabled()) {
+        for (InjectorShell shell : shells) {
+          shell.getInjector().getBindingData().compact();
+        }
+        stopwatch.resetAndLog("Binding data compaction");
+      }
     }
 
     injectDynamically();
@@ -123,6 +137,11 @@ public final class InternalInjectorCreator {
 
   /** Initialize and validate everything. */
   private void initializeStatically() {
+    if (InternalFlags.isParallelEnhancersEnabled()) {
+      prepareEnhancers();
+      stopwatch.resetAndLog("Enhancer preparation");
+    }
+
     processedBindingData.initializeBindings();
     stopwatch.resetAndLog("Binding initialization");
 
@@ -160,6 +179,37 @@ public final class InternalInjectorCreator {
     }
 
     errors.throwCreationExceptionIfErrorsExist();
+
+    if (InternalFlags.isCycleAnalysisEnabled()) {
+      for (InjectorShell shell : shells) {
+        ConstructionCycleAnalyzer.analyze(shell.getInjector());
+      }
+      stopwatch.resetAndLog("Cycle analysis");
+    }
+  }
+
+  /** Generates the enhancers for all constructor bindings concurrently, ahead of initialization. */
+  private void prepareEnhancers() {
+    for (InjectorShell shell : shells) {
+      InjectorImpl injector = shell.getInjector();
+      ImmutableList<InterceptorBinding> interceptorBindings =
+          injector.getBindingData().getInterceptorBindings();
+      if (interceptorBindings.isEmpty()) {
+        continue;
+      }
+      List<InjectionPoint> constructors = Lists.newArrayList();
+      for (Binding<?> binding : injector.getAllBindings().values()) {
+        if (binding instanceof ConstructorBindingImpl) {
+          InjectionPoint constructor =
+              ((ConstructorBindingImpl<?>) binding).getInternalConstructor();
+          if (constructor != null) {
+            constructors.add(constructor);
+          }
+        }
+      }
+      ProxyFactory.prepareEnhancers(
+          constructors, Lists.transform(interceptorBindings, MethodAspect::fromBinding));
+    }
   }
 
   /** Returns the injector being constructed. This is not necessarily the root injector. */
@@ -187,6 +237,23 @@ public final class InternalInjectorCreator {
       stopwatch.resetAndLog("Preloading singletons");
     }
     errors.throwCreationExceptionIfErrorsExist();
+
+    if (shellBuilder.getStage() != Stage.TOOL && InternalFlags.isEagerHandleLinkingEnabled()) {
+      for (InjectorShell shell : shells) {
+        linkHandles(shell.getInjector());
+      }
+      stopwatch.resetAndLog("Handle linking");
+    }
+  }
+
+  /**
+   * Links the method handles of the explicit bindings of the injector. This runs after the eager
+   * singletons are loaded so that their handles can link them as constants.
+   */
+  private static void linkHandles(InjectorImpl injector) {
+    for (Binding<?> binding : injector.getBindingData().getExplicitBindingsThisLevel().values()) {
+      InternalMethodHandles.linkEagerly(((BindingImpl<?>) binding).getInternalFactory());
+    }
   }
 
   /**
@@ -351,5 +418,29 @@ public final class InternalInjectorCreator {
       throw new UnsupportedOperationException(
           "Injector.getInstance(Class<T>) is not supported in Stage.TOOL");
     }
+
+    @Override
+    public Provider<List<Object>> getInstancesProvider(List<? extends Key<?>> keys) {
+      throw new UnsupportedOperationException(
+          "Injector.getInstancesProvider(List<Key<?>>) is not supported in Stage.TOOL");
+    }
+
+    @Override
+    public List<Object> getInstances(List<? extends Key<?>> keys) {
+      throw new UnsupportedOperationException(
+          "Injector.getInstances(List<Key<?>>) is not supported in Stage.TOOL");
+    }
+
+    @Override
+    public <T> Optional<T> tryGetInstance(Key<T> key) {
+      throw new UnsupportedOperationException(
+          "Injector.tryGetInstance(Key<T>) is not supported in Stage.TOOL");
+    }
+
+    @Override
+    public <T> Optional<T> tryGetInstance(Class<T> type) {
+      throw new UnsupportedOperationException(
+          "Injector.tryGetInstance(Class<T>) is not supported in Stage.TOOL");
+    }
   }
 }
@@ -24,6 +24,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.Keep;
 import com.google.inject.Provider;
 import com.google.inject.internal.ProvisionListenerStackCallback.ProvisionCallback;
+import com.google.inject.internal.aop.ClassBuilding;
 import com.google.inject.spi.Dependency;
 import com.google.inject.spi.InjectionPoint;
 import java.lang.invoke.MethodHandle;
@@ -36,11 +37,14 @@ import java.lang.reflect.InaccessibleObjectException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import javax.annotation.Nullable;
 
 /** Utility methods for working with method handles and our internal guice protocols. */
@@ -369,6 +373,48 @@ public final class InternalMethodHandles {
     }
   }
 
+  /**
+   * Returns a handle with the {@link #FACTORY_TYPE} signature that calls {@code handle} until
+   * {@code canReuse} accepts one of its results, and from then on returns that result.
+   *
+   * <p>This is useful for factories of values that are built from singletons, which can't change
+   * once every singleton has been created.
+   */
+  static MethodHandle reuseAcceptedResult(
+      MethodHandle handle, BiPredicate<InternalContext, Object> canReuse) {
+    return new ReusableResultCallSite(handle, canReuse).dynamicInvoker();
+  }
+
+  /**
+   * Like {@link InitializableCallSite}, but replaces itself with a constant once the result of the
+   * delegate is accepted.
+   */
+  private static final class ReusableResultCallSite extends MutableCallSite {
+    static final MethodHandle BOOTSTRAP_CALL_MH =
+        findVirtualOrDie(
+            ReusableResultCallSite.class,
+            "bootstrapCall",
+            methodType(Object.class, Object.class, InternalContext.class, Dependency.class));
+
+    private final BiPredicate<InternalContext, Object> canReuse;
+
+    ReusableResultCallSite(MethodHandle handle, BiPredicate<InternalContext, Object> canReuse) {
+      super(FACTORY_TYPE);
+      this.canReuse = canReuse;
+      // Pass the result of each call to `bootstrapCall` until it is accepted.
+      setTarget(MethodHandles.foldArguments(BOOTSTRAP_CALL_MH.bindTo(this), handle));
+    }
+
+    @Keep
+    Object bootstrapCall(Object result, InternalContext context, Dependency<?> dependency) {
+      if (canReuse.test(context, result)) {
+        setTarget(constantFactoryGetHandle(result));
+        MutableCallSite.syncAll(new MutableCallSite[] {this});
+      }
+      return result;
+    }
+  }
+
   /**
    * Returns a handle that checks the result of the delegate and throws an
    * InternalProvisionException if the result is null using the dependency and source information
@@ -830,9 +876,126 @@ public final class InternalMethodHandles {
    */
   static <T> Provider<T> makeProvider(
       InternalFactory<T> factory, InjectorImpl injector, Dependency<?> dependency) {
+    if (InternalFlags.isGeneratedProvidersEnabled() && ClassBuilding.canBuildHandleProvider()) {
+      return makeGeneratedProvider(factory, injector, dependency);
+    }
     return new MethodHandleProvider<>(injector, factory, dependency);
   }
 
+  /**
+   * Generates a provider instance that delegates to the given factory through a generated class.
+   *
+   * <p>The class is generated once per factory and links the {@link #providerGetHandle} lazily on
+   * the first call to {@code get()}. Unlike {@link MethodHandleProvider} the handle is a constant
+   * from the perspective of the JIT, so a monomorphic {@code Provider.get()} call site can inline
+   * the whole provisioning logic.
+   */
+  static <T> Provider<T> makeGeneratedProvider(
+      InternalFactory<T> factory, InjectorImpl injector, Dependency<?> dependency) {
+    var constructor = getGeneratedProviderConstructor(factory);
+    try {
+      @SuppressWarnings("unchecked") // safety is provided by the Factory implementation.
+      var typed =
+          (Provider<T>)
+              (Object)
+                  constructor.invokeExact((Object) injector, (Object) dependency, (Object) factory);
+      return typed;
+    } catch (Throwable t) {
+      throw sneakyThrow(t);
+    }
+  }
+
+  /** Returns the constructor of the generated provider class for the factory, building it once. */
+  private static MethodHandle getGeneratedProviderConstructor(InternalFactory<?> factory) {
+    var constructor = factory.generatedProviderConstructor;
+    if (constructor == null) {
+      // Class generation is not reentrant, so it is safe to hold the lock. Synchronize on the
+      // factory for consistency with the other lazily constructed handles.
+      synchronized (factory) {
+        constructor = factory.generatedProviderConstructor;
+        if (constructor == null) {
+          constructor = ClassBuilding.buildHandleProvider(() -> providerGetHandle(factory));
+          factory.generatedProviderConstructor = constructor;
+        }
+      }
+    }
+    return constructor;
+  }
+
+  /**
+   * Links the handle that providers of the given factory use, and builds its generated provider
+   * class if those are enabled, so that neither happens when a provider is first used.
+   *
+   * <p>Linking the handle links the handles of all of the factory's dependencies, which are cached
+   * in their own factories.
+   */
+  static void linkEagerly(InternalFactory<?> factory) {
+    var unused = factory.getHandle(new LinkageContext(), /* linked= */ false);
+    if (InternalFlags.isGeneratedProvidersEnabled() && ClassBuilding.canBuildHandleProvider()) {
+      getGeneratedProviderConstructor(factory);
+    }
+  }
+
+  /**
+   * Returns a handle with the signature {@code (InjectorImpl, Dependency) -> Object} that
+   * provisions from the given factory.
+   *
+   * <p>This is equivalent to {@link MethodHandleProvider#get}:
+   *
+   * <pre>{@code
+   * InternalContext context = injector.enterContext();
+   * try {
+   *   return factory.getHandle(...).invokeExact(context, dependency);
+   * } catch (InternalProvisionException ipe) {
+   *   throw ipe.addSource(dependency).toProvisionException();
+   * } finally {
+   *   context.close();
+   * }
+   * }</pre>
+   */
+  static MethodHandle providerGetHandle(InternalFactory<?> factory) {
+    // (InternalContext, Dependency) -> Object
+    var handle = factory.getHandle(new LinkageContext(), /* linked= */ false);
+    handle =
+        MethodHandles.catchException(
+            handle, InternalProvisionException.class, RETHROW_AS_PROVISION_EXCEPTION_HANDLE);
+    handle = MethodHandles.tryFinally(handle, CLOSE_CONTEXT_HANDLE);
+    // (InjectorImpl, Dependency) -> Object
+    return MethodHandles.filterArguments(handle, 0, ENTER_CONTEXT_HANDLE);
+  }
+
+  private static final MethodHandle ENTER_CONTEXT_HANDLE =
+      findVirtualOrDie(InjectorImpl.class, "enterContext", methodType(InternalContext.class));
+
+  private static final MethodHandle RETHROW_AS_PROVISION_EXCEPTION_HANDLE =
+      findStaticOrDie(
+          InternalMethodHandles.class,
+          "rethrowAsProvisionException",
+          methodType(
+              Object.class,
+              InternalProvisionException.class,
+              InternalContext.class,
+              Dependency.class));
+
+  @Keep
+  private static Object rethrowAsProvisionException(
+      InternalProvisionException e, InternalContext ignored, Dependency<?> dependency) {
+    throw e.addSource(dependency).toProvisionException();
+  }
+
+  private static final MethodHandle CLOSE_CONTEXT_HANDLE =
+      findStaticOrDie(
+          InternalMethodHandles.class,
+          "finallyCloseContext",
+          methodType(Object.class, Throwable.class, Object.class, InternalContext.class));
+
+  @Keep
+  private static Object finallyCloseContext(
+      Throwable ignored, Object result, InternalContext context) {
+    context.close();
+    return result;
+  }
+
   /**
    * Returns a {@link ProviderToInternalFactoryAdapter} subtype to support scoping.
    *
@@ -945,6 +1108,86 @@ public final class InternalMethodHandles {
     }
   }
 
+  /**
+   * Returns a provider of the instances of the given factories, which links them into a single
+   * method handle on first use.
+   */
+  static Provider<List<Object>> makeInstancesProvider(
+      InjectorImpl injector,
+      List<InternalFactory<?>> factories,
+      List<Dependency<?>> dependencies) {
+    return new MethodHandleInstancesProvider(
+        injector, ImmutableList.copyOf(factories), ImmutableList.copyOf(dependencies));
+  }
+
+  /** A provider of the instances of several factories, through a lazily constructed handle. */
+  static final class MethodHandleInstancesProvider implements Provider<List<Object>> {
+    private final InjectorImpl injector;
+    private final ImmutableList<InternalFactory<?>> factories;
+    private final ImmutableList<Dependency<?>> dependencies;
+    // Uses the double-checked-locking pattern.
+    private volatile MethodHandle handle;
+
+    MethodHandleInstancesProvider(
+        InjectorImpl injector,
+        ImmutableList<InternalFactory<?>> factories,
+        ImmutableList<Dependency<?>> dependencies) {
+      this.injector = injector;
+      this.factories = factories;
+      this.dependencies = dependencies;
+    }
+
+    @Override
+    public List<Object> get() {
+      InternalContext currentContext = injector.enterContext();
+      Object[] instances;
+      try {
+        instances = (Object[]) getHandle().invokeExact(currentContext);
+      } catch (InternalProvisionException e) {
+        // The source of the failing dependency has already been added.
+        throw e.toProvisionException();
+      } catch (Throwable t) {
+        throw sneakyThrow(t);
+      } finally {
+        currentContext.close();
+      }
+      return Collections.unmodifiableList(Arrays.asList(instances));
+    }
+
+    @Override
+    public String toString() {
+      return factories.toString();
+    }
+
+    private MethodHandle getHandle() {
+      var local = this.handle;
+      if (local == null) {
+        // synchronize on a private object instead of `this` since users might be using the
+        // provider itself as a lock.
+        synchronized (factories) {
+          local = this.handle;
+          if (local == null) {
+            var elementHandles = new ArrayList<MethodHandle>(factories.size());
+            for (int i = 0; i < factories.size(); i++) {
+              Dependency<?> dependency = dependencies.get(i);
+              // (InternalContext) -> Object
+              var elementHandle =
+                  MethodHandles.insertArguments(
+                      factories.get(i).getHandle(new LinkageContext(), /* linked= */ false),
+                      1,
+                      dependency);
+              elementHandles.add(
+                  catchInternalProvisionExceptionAndRethrowWithSource(elementHandle, dependency));
+            }
+            local = buildObjectArrayFactory(elementHandles);
+            this.handle = local;
+          }
+        }
+      }
+      return local;
+    }
+  }
+
   // The `throws` clause tricks Java type inference into deciding that E must be some subtype of
   // RuntimeException but because the cast is unchecked it doesn't check.  So the compiler cannot
   // tell that this might be a checked exception.
@@ -9,6 +9,7 @@ import com.google.inject.spi.Dependency;
 import com.google.inject.spi.HasDependencies;
 import com.google.inject.spi.InjectionPoint;
 import java.lang.invoke.MethodHandle;
+import java.util.Map;
 
 /**
  * A {@link ProviderInstanceBindingImpl} for implementing 'native' guice extensions.
@@ -179,5 +180,13 @@ final class InternalProviderInstanceBindingImpl<T> extends ProviderInstanceBindi
 
     /** Creates a method handle that constructs the object to be injected. */
     protected abstract MethodHandle doGetHandle(LinkageContext context);
+
+    /**
+     * Returns a new factory like this one that isn't bound to an injector, so that a recorded
+     * binding to this factory can be applied to another injector. Factories that share state, such
+     * as those of a multibinder, should share it in their copies too: {@code copies} maps that
+     * state to its copy, for all the factories copied for one injector.
+     */
+    abstract Factory<T> copy(Map<Object, Object> copies);
   }
 }
@@ -85,7 +85,7 @@ public final class InternalProvisionException extends Exception {
 
   public static InternalProvisionException create(
       ErrorId errorId, String format, Object... arguments) {
-    return new InternalProvisionException(Messages.create(errorId, format, arguments));
+    return new InternalProvisionException(createMessage(errorId, null, format, arguments));
   }
 
   public static InternalProvisionException errorInUserCode(
@@ -97,10 +97,25 @@ public final class InternalProvisionException extends Exception {
       return new InternalProvisionException(messages);
     } else {
       return new InternalProvisionException(
-          Messages.create(errorId, cause, messageFormat, arguments));
+          createMessage(errorId, cause, messageFormat, arguments));
     }
   }
 
+  /**
+   * Creates a message for a provisioning error, which is only formatted when it is first requested
+   * if lazy provision errors are enabled.
+   */
+  private static Message createMessage(
+      ErrorId errorId, Throwable cause, String messageFormat, Object... arguments) {
+    if (InternalFlags.isLazyProvisionErrorsEnabled()) {
+      return new Message(
+          GuiceInternal.GUICE_INTERNAL,
+          errorId,
+          new LazyErrorDetail(errorId, messageFormat, arguments, ImmutableList.of(), cause));
+    }
+    return Messages.create(errorId, cause, messageFormat, arguments);
+  }
+
   public static InternalProvisionException subtypeNotProvided(
       Class<? extends jakarta.inject.Provider<?>> providerType, Class<?> type) {
     return create(
@@ -205,6 +220,12 @@ public final class InternalProvisionException extends Exception {
   }
 
   private InternalProvisionException(Iterable<Message> errors) {
+    // This exception never escapes Guice, so its stack trace is only useful when debugging Guice.
+    super(
+        null,
+        null,
+        /* enableSuppression= */ true,
+        /* writableStackTrace= */ !InternalFlags.isLazyProvisionErrorsEnabled());
     this.errors = ImmutableList.copyOf(errors);
     checkArgument(!this.errors.isEmpty(), "Can't create a provision exception with no errors");
   }
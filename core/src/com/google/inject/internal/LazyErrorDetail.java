@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.inject.spi.ErrorDetail;
+import java.util.Formatter;
+import java.util.List;
+
+/**
+ * Like {@link GenericErrorDetail}, but the message is only formatted when it is first requested.
+ *
+ * <p>Provisioning errors are often caught and discarded without being printed, and formatting
+ * their arguments is a significant part of their cost. When serialized this is replaced with a
+ * {@link GenericErrorDetail}, since the arguments may not be serializable.
+ */
+final class LazyErrorDetail extends InternalErrorDetail<LazyErrorDetail> {
+  private final String messageFormat;
+  private final Object[] arguments;
+  // Formatting is idempotent, so racing threads may each format the message.
+  private volatile String message;
+
+  LazyErrorDetail(
+      ErrorId errorId,
+      String messageFormat,
+      Object[] arguments,
+      List<Object> sources,
+      Throwable cause) {
+    super(errorId, "", sources, cause);
+    this.messageFormat = messageFormat;
+    this.arguments = arguments;
+  }
+
+  private LazyErrorDetail(LazyErrorDetail original, List<Object> sources) {
+    this(
+        original.errorId,
+        original.messageFormat,
+        original.arguments,
+        sources,
+        original.getCause());
+    this.message = original.message;
+  }
+
+  @Override
+  public String getMessage() {
+    String local = message;
+    if (local == null) {
+      // Messages.format converts the arguments in place, so format a copy.
+      local = Messages.format(messageFormat, arguments.clone());
+      message = local;
+    }
+    return local;
+  }
+
+  @Override
+  public void formatDetail(List<ErrorDetail<?>> mergeableErrors, Formatter formatter) {
+    Preconditions.checkArgument(mergeableErrors.isEmpty(), "Unexpected mergeable errors");
+    for (Object source : Lists.reverse(getSources())) {
+      formatter.format("  ");
+      new SourceFormatter(source, formatter, /* omitPreposition= */ false).format();
+    }
+  }
+
+  @Override
+  public LazyErrorDetail withSources(List<Object> newSources) {
+    return new LazyErrorDetail(this, newSources);
+  }
+
+  private Object writeReplace() {
+    return new GenericErrorDetail(errorId, getMessage(), getSources(), getCause());
+  }
+}
@@ -80,6 +80,9 @@ class MembersInjectorImpl<T> implements MembersInjector<T> {
   @Nullable protected final ImmutableList<InjectionListener<? super T>> injectionListeners;
   @Nullable protected final ImmutableList<MethodAspect> addedAspects;
 
+  // Set once every member is injected without using the context, so that it isn't entered.
+  private volatile boolean contextFree;
+
   private MembersInjectorImpl(
       InjectorImpl injector,
       TypeLiteral<T> typeLiteral,
@@ -104,11 +107,35 @@ class MembersInjectorImpl<T> implements MembersInjector<T> {
     if (instance == null) {
       return;
     }
+    if (contextFree) {
+      try {
+        injectMembers(instance, /* context= */ null);
+      } catch (InternalProvisionException ipe) {
+        throw ipe.addSource(typeLiteral).toProvisionException();
+      }
+      return;
+    }
     try (InternalContext context = injector.enterContext()) {
       injectMembers(instance, context);
     } catch (InternalProvisionException ipe) {
       throw ipe.addSource(typeLiteral).toProvisionException();
     }
+    // Injection may have created the singletons that members depend on.
+    contextFree = areMembersContextFree();
+  }
+
+  /** Returns true if injecting the members doesn't use the context. */
+  private boolean areMembersContextFree() {
+    ImmutableList<SingleMemberInjector> localMembersInjectors = memberInjectors;
+    if (localMembersInjectors != null) {
+      // optimization: use manual for/each to save allocating an iterator here
+      for (int i = 0, size = localMembersInjectors.size(); i < size; i++) {
+        if (!localMembersInjectors.get(i).isContextFree()) {
+          return false;
+        }
+      }
+    }
+    return true;
   }
 
   // Exposed for use in the constructor injector.
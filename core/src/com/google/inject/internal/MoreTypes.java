@@ -21,6 +21,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.inject.ConfigurationException;
 import com.google.inject.Key;
 import com.google.inject.TypeLiteral;
@@ -47,6 +49,10 @@ public class MoreTypes {
 
   private MoreTypes() {}
 
+  // Weak, so that interned keys don't keep their classes (and class loaders) alive.
+  private static final Interner<Key<?>> KEYS = Interners.newWeakInterner();
+  private static final Interner<TypeLiteral<?>> TYPE_LITERALS = Interners.newWeakInterner();
+
   private static final ImmutableMap<TypeLiteral<?>, TypeLiteral<?>> PRIMITIVE_TO_WRAPPER =
       new ImmutableMap.Builder<TypeLiteral<?>, TypeLiteral<?>>()
           .put(TypeLiteral.get(boolean.class), TypeLiteral.get(Boolean.class))
@@ -65,15 +71,35 @@ public class MoreTypes {
    * anonymous keys, so ensure we don't hold a ref to the containing module (or class) forever.
    */
   public static <T> Key<T> canonicalizeKey(Key<T> key) {
-    // If we know this isn't a subclass, return as-is.
+    // If we know this isn't a subclass, use it as-is.
     // Otherwise, recreate the key to avoid the subclass
-    if (key.getClass() == Key.class) {
+    if (key.getClass() != Key.class) {
+      key = key.ofType(key.getTypeLiteral());
+    }
+    return InternalFlags.isKeyInterningEnabled() ? intern(key) : key;
+  }
+
+  /** Returns the canonical instance of an equal key, which is {@code key} if it's the first. */
+  @SuppressWarnings("unchecked") // the interned key is equal, so it has the same type
+  static <T> Key<T> intern(Key<T> key) {
+    try {
+      return (Key<T>) KEYS.intern(key);
+    } catch (RuntimeException e) {
+      // comparing annotation instances can fail, for example when a generated annotation meets
+      // an inaccessible one, in which case the key just isn't shared
       return key;
-    } else {
-      return key.ofType(key.getTypeLiteral());
     }
   }
 
+  /**
+   * Returns the canonical instance of an equal type literal, which is {@code typeLiteral} if it's
+   * the first.
+   */
+  @SuppressWarnings("unchecked") // the interned type literal is equal, so it has the same type
+  static <T> TypeLiteral<T> intern(TypeLiteral<T> typeLiteral) {
+    return (TypeLiteral<T>) TYPE_LITERALS.intern(typeLiteral);
+  }
+
   /**
    * Returns an type that's appropriate for use in a key.
    *
@@ -102,7 +128,7 @@ public class MoreTypes {
       TypeLiteral<T> guiceProviderType =
           (TypeLiteral<T>)
               TypeLiteral.get(Types.providerOf(getSharedTypeArguments(parameterizedType)[0]));
-      return guiceProviderType;
+      return InternalFlags.isKeyInterningEnabled() ? intern(guiceProviderType) : guiceProviderType;
     }
 
     @SuppressWarnings("unchecked")
@@ -111,16 +137,16 @@ public class MoreTypes {
       return wrappedPrimitives;
     }
 
-    // If we know this isn't a subclass, return as-is.
-    if (typeLiteral.getClass() == TypeLiteral.class) {
-      return typeLiteral;
+    // If we know this isn't a subclass, use it as-is.
+    if (typeLiteral.getClass() != TypeLiteral.class) {
+      // recreate the TypeLiteral to avoid anonymous TypeLiterals from holding refs to their
+      // surrounding classes.
+      @SuppressWarnings("unchecked")
+      TypeLiteral<T> recreated = (TypeLiteral<T>) TypeLiteral.get(typeLiteral.getType());
+      typeLiteral = recreated;
     }
 
-    // recreate the TypeLiteral to avoid anonymous TypeLiterals from holding refs to their
-    // surrounding classes.
-    @SuppressWarnings("unchecked")
-    TypeLiteral<T> recreated = (TypeLiteral<T>) TypeLiteral.get(typeLiteral.getType());
-    return recreated;
+    return InternalFlags.isKeyInterningEnabled() ? intern(typeLiteral) : typeLiteral;
   }
 
   /** Returns true if {@code type} is free from type variables. */
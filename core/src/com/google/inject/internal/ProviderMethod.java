@@ -44,6 +44,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
 
@@ -85,6 +86,9 @@ public abstract class ProviderMethod<T> extends InternalProviderInstanceBindingI
       // methods as private and still hit this case.
       MethodHandle target = InternalMethodHandles.unreflect(method);
       if (target != null) {
+        if (!Modifier.isStatic(modifiers)) {
+          target = target.bindTo(instance);
+        }
         return new MethodHandleProviderMethod<T>(
             key, method, instance, dependencies, scopeAnnotation, annotation, target);
       }
@@ -189,6 +193,18 @@ public abstract class ProviderMethod<T> extends InternalProviderInstanceBindingI
     }
   }
 
+  @Override
+  final ProviderMethod<T> copy(Map<Object, Object> copies) {
+    return copy(key, dependencies, scopeAnnotation, annotation);
+  }
+
+  /** Returns a new provider method that calls the same method in the same way. */
+  abstract ProviderMethod<T> copy(
+      Key<T> key,
+      ImmutableSet<Dependency<?>> dependencies,
+      Class<? extends Annotation> scopeAnnotation,
+      Annotation annotation);
+
   @Override
   void initialize(InjectorImpl injector, Errors errors) throws ErrorsException {
     parameterInjectors = injector.getParametersInjectors(dependencies.asList(), errors);
@@ -335,6 +351,16 @@ public abstract class ProviderMethod<T> extends InternalProviderInstanceBindingI
       this.fastMethod = fastMethod;
     }
 
+    @Override
+    ProviderMethod<T> copy(
+        Key<T> key,
+        ImmutableSet<Dependency<?>> dependencies,
+        Class<? extends Annotation> scopeAnnotation,
+        Annotation annotation) {
+      return new FastClassProviderMethod<T>(
+          key, method, instance, dependencies, scopeAnnotation, annotation, fastMethod);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public T doProvision(Object[] parameters) throws InvocationTargetException {
@@ -377,6 +403,16 @@ public abstract class ProviderMethod<T> extends InternalProviderInstanceBindingI
       super(key, method, instance, dependencies, scopeAnnotation, annotation);
     }
 
+    @Override
+    ProviderMethod<T> copy(
+        Key<T> key,
+        ImmutableSet<Dependency<?>> dependencies,
+        Class<? extends Annotation> scopeAnnotation,
+        Annotation annotation) {
+      return new ReflectionProviderMethod<T>(
+          key, method, instance, dependencies, scopeAnnotation, annotation);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     T doProvision(Object[] parameters) throws IllegalAccessException, InvocationTargetException {
@@ -427,12 +463,19 @@ public abstract class ProviderMethod<T> extends InternalProviderInstanceBindingI
         Annotation annotation,
         MethodHandle providerMethod) {
       super(key, method, instance, dependencies, scopeAnnotation, annotation);
-      if (!Modifier.isStatic(method.getModifiers())) {
-        providerMethod = providerMethod.bindTo(instance);
-      }
       this.providerMethod = providerMethod;
     }
 
+    @Override
+    ProviderMethod<T> copy(
+        Key<T> key,
+        ImmutableSet<Dependency<?>> dependencies,
+        Class<? extends Annotation> scopeAnnotation,
+        Annotation annotation) {
+      return new MethodHandleProviderMethod<T>(
+          key, method, instance, dependencies, scopeAnnotation, annotation, providerMethod);
+    }
+
     @Override
     MethodHandle doProvisionHandle(MethodHandle[] parameters) {
       // Cast the parameters to the correct concrete type.
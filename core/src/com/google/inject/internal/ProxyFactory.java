@@ -31,11 +31,14 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import org.aopalliance.intercept.MethodInterceptor;
 
 /**
@@ -61,12 +64,7 @@ final class ProxyFactory<T> implements ConstructionProxyFactory<T> {
     Class<?> hostClass = injectionPoint.getMember().getDeclaringClass();
 
     // Find applicable aspects. Bow out if none are applicable to this class.
-    List<MethodAspect> applicableAspects = Lists.newArrayList();
-    for (MethodAspect methodAspect : methodAspects) {
-      if (methodAspect.matches(hostClass)) {
-        applicableAspects.add(methodAspect);
-      }
-    }
+    List<MethodAspect> applicableAspects = applicableAspects(hostClass, methodAspects);
 
     if (applicableAspects.isEmpty()) {
       enhancer = null;
@@ -78,30 +76,9 @@ final class ProxyFactory<T> implements ConstructionProxyFactory<T> {
     BytecodeGen.EnhancerBuilder enhancerBuilder = BytecodeGen.enhancerBuilder(hostClass);
 
     Method[] methods = enhancerBuilder.getEnhanceableMethods();
-    int numMethods = methods.length;
 
     Multimap<Method, MethodInterceptor> matchedInterceptors = ArrayListMultimap.create();
-    BitSet matchedMethodIndices = new BitSet();
-
-    // Iterate over aspects and add interceptors for the methods they apply to
-    for (MethodAspect methodAspect : applicableAspects) {
-      for (int methodIndex = 0; methodIndex < numMethods; methodIndex++) {
-        Method method = methods[methodIndex];
-        if (methodAspect.matches(method)) {
-          if (method.isSynthetic()) {
-            logger.log(
-                Level.WARNING,
-                "Method [{0}] is synthetic and is being intercepted by {1}."
-                    + " This could indicate a bug.  The method may be intercepted twice,"
-                    + " or may not be intercepted at all.",
-                new Object[] {method, methodAspect.interceptors()});
-          }
-
-          matchedInterceptors.putAll(method, methodAspect.interceptors());
-          matchedMethodIndices.set(methodIndex);
-        }
-      }
-    }
+    BitSet matchedMethodIndices = matchMethods(methods, applicableAspects, matchedInterceptors);
 
     if (matchedMethodIndices.isEmpty()) {
       enhancer = null;
@@ -138,6 +115,93 @@ final class ProxyFactory<T> implements ConstructionProxyFactory<T> {
     interceptors = interceptorsMapBuilder.buildOrThrow();
   }
 
+  private static List<MethodAspect> applicableAspects(
+      Class<?> hostClass, Iterable<MethodAspect> methodAspects) {
+    List<MethodAspect> applicableAspects = Lists.newArrayList();
+    for (MethodAspect methodAspect : methodAspects) {
+      if (methodAspect.matches(hostClass)) {
+        applicableAspects.add(methodAspect);
+      }
+    }
+    return applicableAspects;
+  }
+
+  /**
+   * Returns the indices of the methods matched by the given aspects. Matched interceptors are added
+   * to {@code matchedInterceptors}, unless it is {@code null}.
+   */
+  private static BitSet matchMethods(
+      Method[] methods,
+      List<MethodAspect> applicableAspects,
+      @Nullable Multimap<Method, MethodInterceptor> matchedInterceptors) {
+    int numMethods = methods.length;
+    BitSet matchedMethodIndices = new BitSet();
+
+    // Iterate over aspects and add interceptors for the methods they apply to
+    for (MethodAspect methodAspect : applicableAspects) {
+      for (int methodIndex = 0; methodIndex < numMethods; methodIndex++) {
+        Method method = methods[methodIndex];
+        if (methodAspect.matches(method)) {
+          if (matchedInterceptors != null) {
+            if (method.isSynthetic()) {
+              logger.log(
+                  Level.WARNING,
+                  "Method [{0}] is synthetic and is being intercepted by {1}."
+                      + " This could indicate a bug.  The method may be intercepted twice,"
+                      + " or may not be intercepted at all.",
+                  new Object[] {method, methodAspect.interceptors()});
+            }
+            matchedInterceptors.putAll(method, methodAspect.interceptors());
+          }
+          matchedMethodIndices.set(methodIndex);
+        }
+      }
+    }
+    return matchedMethodIndices;
+  }
+
+  /**
+   * Generates the enhancers for the given constructors concurrently, so that later {@link
+   * ProxyFactory} instances find them already built.
+   *
+   * <p>Aspects are matched on the calling thread, since matchers are user code that may not be
+   * thread-safe. Only the bytecode generation and class definition are done in parallel. This is
+   * purely an optimization, any failures are ignored here and will be reported again when the
+   * binding is initialized.
+   */
+  static void prepareEnhancers(
+      Iterable<InjectionPoint> constructors, Iterable<MethodAspect> methodAspects) {
+    Map<Class<?>, BitSet> enhancersToBuild = new LinkedHashMap<>();
+    for (InjectionPoint constructor : constructors) {
+      Class<?> hostClass = constructor.getMember().getDeclaringClass();
+      if (enhancersToBuild.containsKey(hostClass)) {
+        continue;
+      }
+      try {
+        List<MethodAspect> applicableAspects = applicableAspects(hostClass, methodAspects);
+        if (!applicableAspects.isEmpty()) {
+          Method[] methods = BytecodeGen.enhancerBuilder(hostClass).getEnhanceableMethods();
+          BitSet matchedMethodIndices = matchMethods(methods, applicableAspects, null);
+          if (!matchedMethodIndices.isEmpty()) {
+            enhancersToBuild.put(hostClass, matchedMethodIndices);
+          }
+        }
+      } catch (RuntimeException | LinkageError e) {
+        logger.log(Level.FINE, "Cannot prepare enhancer for " + hostClass, e);
+      }
+    }
+
+    enhancersToBuild.entrySet().parallelStream()
+        .forEach(
+            entry -> {
+              try {
+                BytecodeGen.enhancerBuilder(entry.getKey()).buildEnhancer(entry.getValue());
+              } catch (RuntimeException | LinkageError e) {
+                logger.log(Level.FINE, "Cannot prepare enhancer for " + entry.getKey(), e);
+              }
+            });
+  }
+
   /** Returns the interceptors that apply to the constructed type. */
   public ImmutableMap<Method, List<MethodInterceptor>> getInterceptors() {
     return interceptors;
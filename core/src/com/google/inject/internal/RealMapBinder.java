@@ -410,6 +410,18 @@ public final class RealMapBinder<K, V> implements Module {
       this.initializationState = InitializationState.UNINITIALIZED;
     }
 
+    /**
+     * Returns an uninitialized selection of the same bindings, which the factories copied with
+     * {@code copies} share. The entry set binder isn't copied, since the selection only uses it
+     * to find its bindings in the injector.
+     */
+    @SuppressWarnings("unchecked") // each selection is copied to a selection of the same type
+    private BindingSelection<K, V> copy(Map<Object, Object> copies) {
+      return (BindingSelection<K, V>)
+          copies.computeIfAbsent(
+              this, k -> new BindingSelection<>(keyType, valueType, mapKey, entrySetBinder));
+    }
+
     /**
      * Will initialize internal data structures.
      *
@@ -712,6 +724,11 @@ public final class RealMapBinder<K, V> implements Module {
       super(bindingSelection);
     }
 
+    @Override
+    RealProviderMapProvider<K, V> copy(Map<Object, Object> copies) {
+      return new RealProviderMapProvider<>(bindingSelection.copy(copies));
+    }
+
     @Override
     public Set<Dependency<?>> getDependencies() {
       return dependencies;
@@ -770,6 +787,11 @@ public final class RealMapBinder<K, V> implements Module {
       super(bindingSelection);
     }
 
+    @Override
+    ExtensionRealMapProvider<K, V> copy(Map<Object, Object> copies) {
+      return new ExtensionRealMapProvider<>(bindingSelection.copy(copies));
+    }
+
     @Override
     protected void doInitialize(InjectorImpl injector, Errors errors) throws ErrorsException {
       @SuppressWarnings("unchecked")
@@ -1097,6 +1119,11 @@ public final class RealMapBinder<K, V> implements Module {
         super(mapKey);
       }
 
+      @Override
+      RealProviderMultimapProvider<K, V> copy(Map<Object, Object> copies) {
+        return new RealProviderMultimapProvider<>(mapKey);
+      }
+
       @Override
       public Set<Dependency<?>> getDependencies() {
         return dependencies;
@@ -1169,6 +1196,11 @@ public final class RealMapBinder<K, V> implements Module {
         super(mapKey);
       }
 
+      @Override
+      RealMultimapProvider<K, V> copy(Map<Object, Object> copies) {
+        return new RealMultimapProvider<>(mapKey);
+      }
+
       @Override
       public Set<Dependency<?>> getDependencies() {
         return dependencies;
@@ -1295,6 +1327,11 @@ public final class RealMapBinder<K, V> implements Module {
       this.valueKey = valueKey;
     }
 
+    @Override
+    ProviderMapEntry<K, V> copy(Map<Object, Object> copies) {
+      return new ProviderMapEntry<>(key, valueKey);
+    }
+
     @Override
     public Set<Dependency<?>> getDependencies() {
       // The dependencies are Key<Provider<V>>
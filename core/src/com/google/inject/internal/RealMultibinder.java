@@ -16,10 +16,12 @@ import com.google.errorprone.annotations.Keep;
 import com.google.inject.AbstractModule;
 import com.google.inject.Binder;
 import com.google.inject.Binding;
+import com.google.inject.ConfigurationException;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
 import com.google.inject.Provider;
+import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.internal.InternalProviderInstanceBindingImpl.InitializationTiming;
@@ -27,6 +29,7 @@ import com.google.inject.multibindings.MultibinderBinding;
 import com.google.inject.multibindings.MultibindingsTargetVisitor;
 import com.google.inject.spi.BindingTargetVisitor;
 import com.google.inject.spi.Dependency;
+import com.google.inject.spi.InstanceBinding;
 import com.google.inject.spi.Message;
 import com.google.inject.spi.ProviderInstanceBinding;
 import com.google.inject.spi.ProviderWithExtensionVisitor;
@@ -37,6 +40,7 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -231,10 +235,24 @@ public final class RealMultibinder<T> implements Module {
     SingleParameterInjector<T>[] injectors;
     boolean permitDuplicates;
 
+    /**
+     * True if every element is a singleton or an instance, so that once the set has been
+     * provisioned it can be provided again without provisioning or hashing its elements.
+     */
+    boolean elementsAreSingletons;
+
+    /** The set, once it has been provisioned if {@link #elementsAreSingletons}. */
+    private volatile ImmutableSet<T> provisionedSet;
+
     RealMultibinderProvider(BindingSelection<T> bindingSelection) {
       super(bindingSelection);
     }
 
+    @Override
+    RealMultibinderProvider<T> copy(Map<Object, Object> copies) {
+      return new RealMultibinderProvider<>(bindingSelection.copy(copies));
+    }
+
     @Override
     public ImmutableSet<Dependency<?>> getDependencies() {
       return bindingSelection.getDependencies();
@@ -245,6 +263,26 @@ public final class RealMultibinder<T> implements Module {
       bindings = bindingSelection.getBindings();
       injectors = bindingSelection.getParameterInjectors();
       permitDuplicates = bindingSelection.permitsDuplicates();
+      elementsAreSingletons = true;
+      for (Binding<T> binding : bindings) {
+        if (!isSingleton(binding)) {
+          elementsAreSingletons = false;
+          break;
+        }
+      }
+    }
+
+    /** Returns true if the binding always provides the same instance. */
+    private static boolean isSingleton(Binding<?> binding) {
+      if (binding instanceof InstanceBinding) {
+        return true;
+      }
+      try {
+        return Scopes.isSingleton(binding);
+      } catch (ConfigurationException e) {
+        // The target of a linked binding couldn't be found, which has already been reported.
+        return false;
+      }
     }
 
     @Override
@@ -255,6 +293,10 @@ public final class RealMultibinder<T> implements Module {
         // if localInjectors == null, then we have no bindings so return the empty set.
         return ImmutableSet.of();
       }
+      ImmutableSet<T> provisioned = provisionedSet;
+      if (provisioned != null) {
+        return provisioned;
+      }
 
       // If duplicates aren't permitted, we need to capture the original values in order to show a
       // meaningful error message to users (if duplicates were encountered).
@@ -286,9 +328,31 @@ public final class RealMultibinder<T> implements Module {
       if (!permitDuplicates && set.size() < values.length) {
         throw newDuplicateValuesException(values);
       }
+      if (canReuse(context, set)) {
+        provisionedSet = set;
+      }
       return set;
     }
 
+    /**
+     * Returns true if the provisioned set can be provided again, since all of its elements are
+     * singletons that have been created. A circular proxy stands in for a singleton that is still
+     * being created.
+     */
+    private boolean canReuse(InternalContext context, Set<?> set) {
+      if (!elementsAreSingletons) {
+        return false;
+      }
+      if (context.areCircularProxiesEnabled()) {
+        for (Object element : set) {
+          if (BytecodeGen.isCircularProxy(element)) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
     @Override
     protected MethodHandle doGetHandle(LinkageContext context) {
       if (injectors == null) {
@@ -304,6 +368,15 @@ public final class RealMultibinder<T> implements Module {
                 MethodHandles.insertArguments(
                     NULL_CHECK_RESULT_HANDLE, 1, bindings.get(i).getSource())));
       }
+      MethodHandle handle = makeSetHandle(elementHandles);
+      if (elementsAreSingletons) {
+        return InternalMethodHandles.reuseAcceptedResult(
+            handle, (internalContext, set) -> canReuse(internalContext, (Set<?>) set));
+      }
+      return handle;
+    }
+
+    private MethodHandle makeSetHandle(List<MethodHandle> elementHandles) {
       // At size one permitDuplicates is irrelevant and we can bind to the SingletonImmutableSet
       // class directly.
       if (permitDuplicates || elementHandles.size() == 1) {
@@ -476,6 +549,11 @@ public final class RealMultibinder<T> implements Module {
       super(bindingSelection);
     }
 
+    @Override
+    RealMultibinderCollectionOfProvidersProvider<T> copy(Map<Object, Object> copies) {
+      return new RealMultibinderCollectionOfProvidersProvider<>(bindingSelection.copy(copies));
+    }
+
     @Override
     public ImmutableSet<Dependency<?>> getDependencies() {
       return bindingSelection.getProviderDependencies();
@@ -541,6 +619,16 @@ public final class RealMultibinder<T> implements Module {
       this.elementType = key.getTypeLiteral();
     }
 
+    /**
+     * Returns an uninitialized selection of the same bindings, which the factories copied with
+     * {@code copies} share.
+     */
+    @SuppressWarnings("unchecked") // each selection is copied to a selection of the same type
+    BindingSelection<T> copy(Map<Object, Object> copies) {
+      return (BindingSelection<T>)
+          copies.computeIfAbsent(this, k -> new BindingSelection<T>(setKey.ofType(elementType)));
+    }
+
     void initialize(InjectorImpl injector, Errors errors) throws ErrorsException {
       // This will be called multiple times, once by each Factory. We only want
       // to do the work to initialize everything once, so guard this code with
@@ -28,10 +28,12 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.inject.Binder;
 import com.google.inject.Binding;
+import com.google.inject.ConfigurationException;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
 import com.google.inject.Provider;
+import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.internal.InternalProviderInstanceBindingImpl.InitializationTiming;
@@ -40,6 +42,7 @@ import com.google.inject.multibindings.OptionalBinderBinding;
 import com.google.inject.spi.BindingTargetVisitor;
 import com.google.inject.spi.Dependency;
 import com.google.inject.spi.Element;
+import com.google.inject.spi.InstanceBinding;
 import com.google.inject.spi.ProviderInstanceBinding;
 import com.google.inject.spi.ProviderWithExtensionVisitor;
 import com.google.inject.util.Types;
@@ -49,6 +52,7 @@ import java.lang.annotation.Retention;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Type;
+import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nullable;
 import jakarta.inject.Qualifier;
@@ -240,8 +244,8 @@ public final class RealOptionalBinder<T> implements Module {
 
     private final Key<java.util.Optional<T>> optionalKey;
 
-    private Dependency<?> targetDependency;
-    private InternalFactory<? extends T> target;
+    // Assigned once the target has been provisioned, if the optional can be reused.
+    private volatile java.util.Optional<T> provisioned;
 
     JavaOptionalProvider(
         BindingSelection<T> bindingSelection, Key<java.util.Optional<T>> optionalKey) {
@@ -250,38 +254,36 @@ public final class RealOptionalBinder<T> implements Module {
     }
 
     @Override
-    void doInitialize() {
-      if (bindingSelection.getBinding() != null) {
-        target = bindingSelection.getBinding().getInternalFactory();
-        targetDependency = bindingSelection.getDependency();
-      }
+    JavaOptionalProvider<T> copy(Map<Object, Object> copies) {
+      return new JavaOptionalProvider<>(bindingSelection.copy(copies), optionalKey);
     }
 
+    @Override
+    void doInitialize() {}
+
     @Override
     protected java.util.Optional<T> doProvision(
         InternalContext context, Dependency<?> currentDependency)
         throws InternalProvisionException {
-      InternalFactory<? extends T> local = target;
-      if (local == null) {
+      if (bindingSelection.getBinding() == null) {
         return java.util.Optional.empty();
       }
-      Dependency<?> localDependency = targetDependency;
-      T result;
-
-      try {
-        // See comments in RealOptionalKeyProvider, about how localDependency may be more specific
-        // than what we actually need.
-        result = local.get(context, localDependency, false);
-      } catch (InternalProvisionException ipe) {
-        throw ipe.addSource(localDependency);
+      java.util.Optional<T> local = provisioned;
+      if (local != null) {
+        return local;
+      }
+      T result = bindingSelection.provisionTarget(context);
+      local = java.util.Optional.ofNullable(result);
+      if (bindingSelection.canReuse(context, result)) {
+        provisioned = local;
       }
-      return java.util.Optional.ofNullable(result);
+      return local;
     }
 
     @Override
     protected Provider<java.util.Optional<T>> doMakeProvider(
         InjectorImpl injector, Dependency<?> dependency) {
-      if (target == null) {
+      if (bindingSelection.getBinding() == null) {
         return InternalFactory.makeProviderFor(java.util.Optional.empty(), this);
       }
       return InternalFactory.makeDefaultProvider(this, injector, dependency);
@@ -289,19 +291,24 @@ public final class RealOptionalBinder<T> implements Module {
 
     @Override
     protected MethodHandle doGetHandle(LinkageContext context) {
-      if (target == null) {
+      if (bindingSelection.getBinding() == null) {
         return InternalMethodHandles.constantFactoryGetHandle(java.util.Optional.empty());
       }
       var handle =
-          MethodHandles.insertArguments(
-              target.getHandle(context, /* linked= */ false), 1, targetDependency);
-      handle =
-          InternalMethodHandles.catchInternalProvisionExceptionAndRethrowWithSource(
-              handle, targetDependency);
-      return MethodHandles.dropArguments(
-          castReturnToObject(MethodHandles.filterReturnValue(handle, OPTIONAL_OF_NULLABLE_MH)),
-          1,
-          Dependency.class);
+          MethodHandles.dropArguments(
+              castReturnToObject(
+                  MethodHandles.filterReturnValue(
+                      bindingSelection.getTargetHandle(context), OPTIONAL_OF_NULLABLE_MH)),
+              1,
+              Dependency.class);
+      if (bindingSelection.isTargetSingleton()) {
+        return InternalMethodHandles.reuseAcceptedResult(
+            handle,
+            (internalContext, optional) ->
+                bindingSelection.canReuse(
+                    internalContext, ((java.util.Optional<?>) optional).orElse(null)));
+      }
+      return handle;
     }
 
     private static final MethodHandle OPTIONAL_OF_NULLABLE_MH =
@@ -365,6 +372,11 @@ public final class RealOptionalBinder<T> implements Module {
       super(bindingSelection);
     }
 
+    @Override
+    JavaOptionalProviderProvider<T> copy(Map<Object, Object> copies) {
+      return new JavaOptionalProviderProvider<>(bindingSelection.copy(copies));
+    }
+
     @Override
     void doInitialize() {
       if (bindingSelection.getBinding() == null) {
@@ -408,6 +420,11 @@ public final class RealOptionalBinder<T> implements Module {
       super(bindingSelection);
     }
 
+    @Override
+    RealDirectTypeProvider<T> copy(Map<Object, Object> copies) {
+      return new RealDirectTypeProvider<>(bindingSelection.copy(copies));
+    }
+
     @Override
     void doInitialize() {
       BindingImpl<T> targetBinding = bindingSelection.getBinding();
@@ -453,6 +470,11 @@ public final class RealOptionalBinder<T> implements Module {
       super(bindingSelection);
     }
 
+    @Override
+    RealOptionalProviderProvider<T> copy(Map<Object, Object> copies) {
+      return new RealOptionalProviderProvider<>(bindingSelection.copy(copies));
+    }
+
     @Override
     void doInitialize() {
       if (bindingSelection.getBinding() == null) {
@@ -491,10 +513,8 @@ public final class RealOptionalBinder<T> implements Module {
 
     private final Key<Optional<T>> optionalKey;
 
-    // These are assigned to non-null values during initialization if and only if we have a binding
-    // to delegate to.
-    private Dependency<?> targetDependency;
-    private InternalFactory<? extends T> delegate;
+    // Assigned once the target has been provisioned, if the optional can be reused.
+    private volatile Optional<T> provisioned;
 
     RealOptionalKeyProvider(BindingSelection<T> bindingSelection, Key<Optional<T>> optionalKey) {
       super(bindingSelection);
@@ -502,38 +522,35 @@ public final class RealOptionalBinder<T> implements Module {
     }
 
     @Override
-    void doInitialize() {
-      if (bindingSelection.getBinding() != null) {
-        delegate = bindingSelection.getBinding().getInternalFactory();
-        targetDependency = bindingSelection.getDependency();
-      }
+    RealOptionalKeyProvider<T> copy(Map<Object, Object> copies) {
+      return new RealOptionalKeyProvider<>(bindingSelection.copy(copies), optionalKey);
     }
 
+    @Override
+    void doInitialize() {}
+
     @Override
     protected Optional<T> doProvision(InternalContext context, Dependency<?> currentDependency)
         throws InternalProvisionException {
-      InternalFactory<? extends T> local = delegate;
-      if (local == null) {
+      if (bindingSelection.getBinding() == null) {
         return Optional.absent();
       }
-      Dependency<?> localDependency = targetDependency;
-      T result;
-      try {
-        // currentDependency is Optional<? super T>, so we really just need to set the target
-        // dependency to ? super T, but we are currently setting it to T.  We could hypothetically
-        // make it easier for our delegate to generate proxies by modifying the dependency, but that
-        // would also require us to rewrite the key on each call.  So for now we don't do it.
-        result = local.get(context, localDependency, false);
-      } catch (InternalProvisionException ipe) {
-        throw ipe.addSource(localDependency);
+      Optional<T> local = provisioned;
+      if (local != null) {
+        return local;
+      }
+      T result = bindingSelection.provisionTarget(context);
+      local = Optional.fromNullable(result);
+      if (bindingSelection.canReuse(context, result)) {
+        provisioned = local;
       }
-      return Optional.fromNullable(result);
+      return local;
     }
 
     @Override
     protected Provider<Optional<T>> doMakeProvider(
         InjectorImpl injector, Dependency<?> dependency) {
-      if (delegate == null) {
+      if (bindingSelection.getBinding() == null) {
         return InternalFactory.makeProviderFor(Optional.absent(), this);
       }
       return InternalFactory.makeDefaultProvider(this, injector, dependency);
@@ -541,19 +558,23 @@ public final class RealOptionalBinder<T> implements Module {
 
     @Override
     protected MethodHandle doGetHandle(LinkageContext context) {
-      if (delegate == null) {
+      if (bindingSelection.getBinding() == null) {
         return InternalMethodHandles.constantFactoryGetHandle(Optional.absent());
       }
       var handle =
-          MethodHandles.insertArguments(
-              delegate.getHandle(context, /* linked= */ false), 1, targetDependency);
-      handle =
-          InternalMethodHandles.catchInternalProvisionExceptionAndRethrowWithSource(
-              handle, targetDependency);
-      return MethodHandles.dropArguments(
-          castReturnToObject(MethodHandles.filterReturnValue(handle, OPTIONAL_FROM_NULLABLE_MH)),
-          1,
-          Dependency.class);
+          MethodHandles.dropArguments(
+              castReturnToObject(
+                  MethodHandles.filterReturnValue(
+                      bindingSelection.getTargetHandle(context), OPTIONAL_FROM_NULLABLE_MH)),
+              1,
+              Dependency.class);
+      if (bindingSelection.isTargetSingleton()) {
+        return InternalMethodHandles.reuseAcceptedResult(
+            handle,
+            (internalContext, optional) ->
+                bindingSelection.canReuse(internalContext, ((Optional<?>) optional).orNull()));
+      }
+      return handle;
     }
 
     private static final MethodHandle OPTIONAL_FROM_NULLABLE_MH =
@@ -620,6 +641,18 @@ public final class RealOptionalBinder<T> implements Module {
     @Nullable private BindingImpl<T> defaultBinding;
     @Nullable private BindingImpl<T> binding;
 
+    /**
+     * The factory that provides {@link #binding}. If that binding is an unscoped link to another
+     * key, this is the factory of the linked binding so that provisioning skips the link.
+     */
+    private InternalFactory<? extends T> targetFactory;
+
+    /** The key that {@link #binding} links to, if {@link #targetFactory} skips that link. */
+    @Nullable private Key<? extends T> linkedKey;
+
+    /** True if {@link #binding} always provides the same instance. */
+    private boolean targetIsSingleton;
+
     enum InitializationState {
       UNINITIALIZED,
       INITIALIZING,
@@ -647,6 +680,15 @@ public final class RealOptionalBinder<T> implements Module {
       this.key = key;
     }
 
+    /**
+     * Returns an uninitialized selection of the same bindings, which the factories copied with
+     * {@code copies} share.
+     */
+    @SuppressWarnings("unchecked") // each selection is copied to a selection of the same type
+    BindingSelection<T> copy(Map<Object, Object> copies) {
+      return (BindingSelection<T>) copies.computeIfAbsent(this, k -> new BindingSelection<T>(key));
+    }
+
     void checkNotInitialized() {
       checkConfiguration(state == InitializationState.UNINITIALIZED, "already initialized");
     }
@@ -687,6 +729,7 @@ public final class RealOptionalBinder<T> implements Module {
         // If we are delegating to a binding that is delayed initialize, we need to initialize it
         // now.  This fixes ordering across multibinders which may depend on each other.
         injector.initializeBindingIfDelayed(binding, errors);
+        resolveTarget();
       } else {
         dependencies = ImmutableSet.of();
         providerDependencies = ImmutableSet.of();
@@ -705,6 +748,83 @@ public final class RealOptionalBinder<T> implements Module {
       }
     }
 
+    @SuppressWarnings("unchecked") // the linked binding provides a subtype of T
+    private void resolveTarget() {
+      targetFactory = binding.getInternalFactory();
+      linkedKey = null;
+      // Unscoped links have no factory of their own, they use a FactoryProxy to the linked key.
+      if (targetFactory instanceof FactoryProxy) {
+        FactoryProxy<? extends T> proxy = (FactoryProxy<? extends T>) targetFactory;
+        if (proxy.getTargetFactory() != null) {
+          targetFactory = proxy.getTargetFactory();
+          linkedKey = proxy.getTargetKey();
+        }
+      }
+      targetIsSingleton = binding instanceof InstanceBinding;
+      if (!targetIsSingleton) {
+        try {
+          targetIsSingleton = Scopes.isSingleton(binding);
+        } catch (ConfigurationException e) {
+          // The target of a linked binding couldn't be found, which has already been reported.
+        }
+      }
+    }
+
+    /**
+     * Provisions the selected binding for an optional. Calls to this method must be guarded by
+     * checking if {@link #getBinding()} returns {@code null}.
+     */
+    T provisionTarget(InternalContext context) throws InternalProvisionException {
+      Dependency<?> dependency = getDependency();
+      try {
+        // The dependency is on T, even though the optional may be injected as Optional<? super T>.
+        // We could hypothetically make it easier for the target to generate proxies by modifying
+        // the dependency, but that would also require us to rewrite the key on each call.
+        if (linkedKey == null) {
+          return targetFactory.get(context, dependency, false);
+        }
+        try {
+          return targetFactory.get(context, dependency, true);
+        } catch (InternalProvisionException ipe) {
+          throw ipe.addSource(linkedKey);
+        }
+      } catch (InternalProvisionException ipe) {
+        throw ipe.addSource(dependency);
+      }
+    }
+
+    /**
+     * Returns a handle with the signature {@code (InternalContext) -> Object} that provisions the
+     * selected binding like {@link #provisionTarget}.
+     */
+    MethodHandle getTargetHandle(LinkageContext context) {
+      Dependency<?> dependency = getDependency();
+      MethodHandle handle = targetFactory.getHandle(context, /* linked= */ linkedKey != null);
+      if (linkedKey != null) {
+        handle =
+            InternalMethodHandles.catchInternalProvisionExceptionAndRethrowWithSource(
+                handle, linkedKey);
+      }
+      handle = MethodHandles.insertArguments(handle, 1, dependency);
+      return InternalMethodHandles.catchInternalProvisionExceptionAndRethrowWithSource(
+          handle, dependency);
+    }
+
+    /** Returns true if the selected binding always provides the same instance. */
+    boolean isTargetSingleton() {
+      return targetIsSingleton;
+    }
+
+    /**
+     * Returns true if an optional of {@code value} can be provided again, since the selected
+     * binding is a singleton that has been created. A circular proxy stands in for a singleton that
+     * is still being created.
+     */
+    boolean canReuse(InternalContext context, @Nullable Object value) {
+      return targetIsSingleton
+          && !(context.areCircularProxiesEnabled() && BytecodeGen.isCircularProxy(value));
+    }
+
     Key<T> getKeyForDefaultBinding() {
       if (defaultBindingKey == null) {
         defaultBindingKey = key.withAnnotation(new DefaultImpl(getBindingName()));
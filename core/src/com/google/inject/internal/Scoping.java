@@ -298,7 +298,7 @@ public abstract class Scoping {
     // SingletonScope as well.
     Provider<T> scoped =
         scope.scope(key, ProviderToInternalFactoryAdapter.create(injector, creator));
-    return InternalFactoryToScopedProviderAdapter.create(scope, scoped, source);
+    return InternalFactoryToScopedProviderAdapter.create(key, scope, creator, scoped, source);
   }
 
   /**
@@ -65,6 +65,11 @@ final class SingleFieldInjector implements SingleMemberInjector {
     }
   }
 
+  @Override
+  public boolean isContextFree() {
+    return factory.isContextFree();
+  }
+
   @Override
   public MethodHandle getInjectHandle(LinkageContext linkageContext) {
     // unreflect should always succeed due to the setAccessible call in the constructor.
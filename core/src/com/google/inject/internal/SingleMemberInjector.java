@@ -31,5 +31,11 @@ interface SingleMemberInjector {
    */
   MethodHandle getInjectHandle(LinkageContext linkageContext);
 
+  /**
+   * Returns true if injecting the member doesn't use the context, see {@link
+   * InternalFactory#isContextFree}.
+   */
+  boolean isContextFree();
+
   InjectionPoint getInjectionPoint();
 }
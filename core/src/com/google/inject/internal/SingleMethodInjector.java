@@ -219,6 +219,11 @@ final class SingleMethodInjector implements SingleMemberInjector {
     }
   }
 
+  @Override
+  public boolean isContextFree() {
+    return SingleParameterInjector.areContextFree(parameterInjectors);
+  }
+
   @Override
   public MethodHandle getInjectHandle(LinkageContext linkageContext) {
     MethodHandle[] parameterInjectors =
@@ -89,6 +89,18 @@ final class SingleParameterInjector<T> {
     return parameters;
   }
 
+  /** Returns true if injecting all parameters doesn't use the context. */
+  static boolean areContextFree(SingleParameterInjector<?>[] parameterInjectors) {
+    if (parameterInjectors != null) {
+      for (SingleParameterInjector<?> injector : parameterInjectors) {
+        if (!injector.factory.isContextFree()) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   /** Returns an array of handles for all parameters. */
   static MethodHandle[] getAllHandles(
       LinkageContext context, SingleParameterInjector<?>[] parameterInjectors) {
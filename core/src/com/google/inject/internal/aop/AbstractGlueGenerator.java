@@ -34,6 +34,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.ToIntFunction;
+import javax.annotation.Nullable;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -95,15 +96,28 @@ abstract class AbstractGlueGenerator {
   private static final AtomicInteger COUNTER = new AtomicInteger();
 
   protected AbstractGlueGenerator(Class<?> hostClass, String marker) {
+    this(hostClass, marker, null);
+  }
+
+  /**
+   * When an id is given it is used to name the glue instead of a unique counter, so the same glue
+   * always gets the same name. This is necessary when the generated bytecode is cached.
+   */
+  protected AbstractGlueGenerator(Class<?> hostClass, String marker, @Nullable String id) {
     this.hostClass = hostClass;
     this.hostName = Type.getInternalName(hostClass);
-    this.proxyName = proxyName(hostName, marker, hashCode());
+    this.proxyName =
+        id != null ? proxyName(hostName, marker, id) : proxyName(hostName, marker, hashCode());
   }
 
   /** Generates a unique name based on the original class name and marker. */
   private static String proxyName(String hostName, String marker, int hash) {
     long id = ((hash & 0x000FFFFF) | (COUNTER.getAndIncrement() << 20));
-    String proxyName = hostName + marker + Long.toHexString(id);
+    return proxyName(hostName, marker, Long.toHexString(id));
+  }
+
+  private static String proxyName(String hostName, String marker, String id) {
+    String proxyName = hostName + marker + id;
     if (proxyName.startsWith("java/") && !ClassDefining.hasPackageAccess()) {
       proxyName = '$' + proxyName; // can't define java.* glue in same package
     }
@@ -23,8 +23,10 @@ import static java.lang.reflect.Modifier.PROTECTED;
 import static java.lang.reflect.Modifier.PUBLIC;
 import static java.lang.reflect.Modifier.STATIC;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.TypeLiteral;
 import com.google.inject.internal.BytecodeGen;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
@@ -39,6 +41,7 @@ import java.util.TreeMap;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Entry-point for building enhanced classes and 'fast-class' invocation.
@@ -74,6 +77,29 @@ public final class ClassBuilding {
     return canAccess(member, hasPackageAccess());
   }
 
+  /** Returns true if providers with dynamically linked handles can be generated. */
+  public static boolean canBuildHandleProvider() {
+    return ClassDefining.canDefineHidden();
+  }
+
+  /**
+   * Builds a provider class whose {@code get()} method invokes the handle from the given linker
+   * through a constant call site. The linker is only called on the first invocation, and must
+   * return a handle that accepts two {@link Object} arguments and returns an {@link Object}.
+   *
+   * <p>Returns a handle to the constructor of the provider, which accepts the two arguments to pass
+   * to the linked handle along with an object that describes the provider in {@code toString()}.
+   */
+  public static MethodHandle buildHandleProvider(Supplier<MethodHandle> linker) {
+    return HandleProvider.define(linker);
+  }
+
+  /** Returns the number of enhancers generated so far, to check that they are reused. */
+  @VisibleForTesting
+  public static int generatedEnhancerCount() {
+    return EnhancerBuilderImpl.generatedEnhancerCount();
+  }
+
   /** Builder of enhancers that provide method interception via bytecode generation. */
   public static BytecodeGen.EnhancerBuilder buildEnhancerBuilder(Class<?> hostClass) {
     Map<String, Object> methodPartitions = new HashMap<>();
@@ -39,11 +39,35 @@ public final class ClassDefining {
     static final boolean IS_UNSAFE = INSTANCE instanceof UnsafeClassDefiner;
   }
 
+  // initialization-on-demand...
+  private static class HiddenClassDefinerHolder {
+    static final ClassDefiner INSTANCE =
+        UnsafeClassDefiner.tryPrivileged(
+            () -> HiddenClassDefiner.HAS_ERROR ? null : new HiddenClassDefiner(),
+            "Cannot bind MethodHandles.Lookup.defineHiddenClass");
+  }
+
   /** Defines a new class relative to the host. */
   public static Class<?> define(Class<?> hostClass, byte[] bytecode) throws Exception {
     return ClassDefinerHolder.INSTANCE.define(hostClass, bytecode);
   }
 
+  /**
+   * Returns true if classes can be defined as hidden nest-mates, which can be unloaded as soon as
+   * they are no longer referenced (regardless of the custom class loading option.)
+   */
+  public static boolean canDefineHidden() {
+    return HiddenClassDefinerHolder.INSTANCE != null;
+  }
+
+  /** Defines a new hidden class as a nest-mate of the host. */
+  public static Class<?> defineHidden(Class<?> hostClass, byte[] bytecode) throws Exception {
+    if (HiddenClassDefinerHolder.INSTANCE == null) {
+      throw new UnsupportedOperationException("Cannot define hidden class");
+    }
+    return HiddenClassDefinerHolder.INSTANCE.define(hostClass, bytecode);
+  }
+
   /** Returns true if the current class definer allows access to package-private members. */
   public static boolean hasPackageAccess() {
     return ClassDefinerHolder.IS_UNSAFE;
@@ -62,6 +62,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Handle;
 import org.objectweb.asm.MethodVisitor;
@@ -163,9 +164,15 @@ final class Enhancer extends AbstractGlueGenerator {
 
   private final String checkcastToProxy;
 
-  Enhancer(Class<?> hostClass, Map<Method, Method> bridgeDelegates) {
-    super(hostClass, ENHANCER_BY_GUICE_MARKER);
+  /** Key of the generated bytecode in the {@link GlueCache}, null if caching is disabled. */
+  @Nullable private final String cacheKey;
+
+  Enhancer(Class<?> hostClass, Map<Method, Method> bridgeDelegates, @Nullable String cacheKey) {
+    // cached glue is named after its full key, so the name embedded in the bytecode is always the
+    // same; each host class only generates glue once per key, so the name is still unique
+    super(hostClass, ENHANCER_BY_GUICE_MARKER, cacheKey);
     this.bridgeDelegates = bridgeDelegates;
+    this.cacheKey = cacheKey;
 
     // with defineAnonymousClass we can't downcast to the proxy and must use host instead
     this.checkcastToProxy = ClassDefining.canDowncastToProxy(hostClass) ? proxyName : hostName;
@@ -173,6 +180,18 @@ final class Enhancer extends AbstractGlueGenerator {
 
   @Override
   protected byte[] generateGlue(Collection<Executable> members) {
+    if (cacheKey == null) {
+      return generateEnhancer(members);
+    }
+    byte[] bytecode = GlueCache.load(cacheKey);
+    if (bytecode == null) {
+      bytecode = generateEnhancer(members);
+      GlueCache.store(cacheKey, bytecode);
+    }
+    return bytecode;
+  }
+
+  private byte[] generateEnhancer(Collection<Executable> members) {
     ClassWriter cw = new ClassWriter(COMPUTE_MAXS);
 
     // target Java8 because that's all we need for the generated trampoline code
@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -53,6 +54,9 @@ final class EnhancerBuilderImpl implements BytecodeGen.EnhancerBuilder {
             }
           };
 
+  /** The number of enhancers generated so far. */
+  private static final AtomicInteger GENERATED_ENHANCERS = new AtomicInteger();
+
   private final Class<?> hostClass;
 
   private final Method[] enhanceableMethods;
@@ -69,6 +73,10 @@ final class EnhancerBuilderImpl implements BytecodeGen.EnhancerBuilder {
     this.bridgeDelegates = ImmutableMap.copyOf(bridgeDelegates);
   }
 
+  static int generatedEnhancerCount() {
+    return GENERATED_ENHANCERS.get();
+  }
+
   @Override
   public Method[] getEnhanceableMethods() {
     return enhanceableMethods;
@@ -90,6 +98,7 @@ final class EnhancerBuilderImpl implements BytecodeGen.EnhancerBuilder {
 
   private Function<String, BiFunction<Object, Object[], Object>> doBuildEnhancer(
       BitSet methodIndices) {
+    GENERATED_ENHANCERS.incrementAndGet();
     NavigableMap<String, Executable> glueMap = new TreeMap<>();
 
     visitMembers(
@@ -104,6 +113,11 @@ final class EnhancerBuilderImpl implements BytecodeGen.EnhancerBuilder {
       glueMap.put(signature(method), method);
     }
 
-    return new Enhancer(hostClass, bridgeDelegates).glue(glueMap);
+    String cacheKey =
+        GlueCache.isEnabled()
+            ? GlueCache.cacheKey(hostClass, glueMap.values(), bridgeDelegates)
+            : null;
+
+    return new Enhancer(hostClass, bridgeDelegates, cacheKey).glue(glueMap);
   }
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal.aop;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.Hashing;
+import com.google.inject.internal.InternalFlags;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * On-disk cache of generated glue bytecode, enabled by setting {@code guice_enhancer_cache_dir}.
+ *
+ * <p>Generated glue only depends on the signatures of the members it wraps, never on their code,
+ * so the cache key is a hash of the host class name, the selected members (which reflect the
+ * method partitioning and bridge analysis) and the class defining mode. A warm restart can then
+ * define the cached bytecode directly without running ASM.
+ *
+ * <p>Each entry records the version of Guice that generated it and a hash of its bytecode, so
+ * entries from other versions and corrupt entries are ignored. Failures to read or write the cache
+ * are logged and otherwise ignored.
+ */
+final class GlueCache {
+  private GlueCache() {}
+
+  private static final Logger logger = Logger.getLogger(GlueCache.class.getName());
+
+  /** Bump this whenever the structure of generated glue or of the cache entries changes. */
+  private static final int FORMAT_VERSION = 2;
+
+  private static final int MAGIC = 0x47554345; // "GUCE"
+
+  private static final int HASH_LENGTH = 32; // SHA-256
+
+  @Nullable private static final Path CACHE_DIR = cacheDir();
+
+  @Nullable
+  private static Path cacheDir() {
+    String dir = InternalFlags.getEnhancerCacheDir();
+    try {
+      return dir != null ? Paths.get(dir) : null;
+    } catch (RuntimeException e) {
+      logger.log(Level.WARNING, "Invalid guice_enhancer_cache_dir: " + dir, e);
+      return null;
+    }
+  }
+
+  /** Returns true if generated glue should be cached. */
+  static boolean isEnabled() {
+    return CACHE_DIR != null;
+  }
+
+  /** Returns the key that identifies glue generated for the given members of the host class. */
+  static String cacheKey(
+      Class<?> hostClass, Collection<Executable> members, Map<Method, Method> bridgeDelegates) {
+    StringBuilder fingerprint = new StringBuilder();
+    fingerprint
+        .append(FORMAT_VERSION)
+        .append(';')
+        .append(guiceVersion())
+        .append(';')
+        .append(hostClass.getName())
+        .append(';')
+        .append(ClassDefining.canLoadProxyByName(hostClass))
+        .append(';')
+        .append(ClassDefining.canDowncastToProxy(hostClass))
+        .append('\n');
+    // members are already in a stable order, sorted by signature
+    for (Executable member : members) {
+      fingerprint.append(member.toGenericString()).append('\n');
+    }
+    TreeSet<String> bridges = new TreeSet<>();
+    for (Map.Entry<Method, Method> entry : bridgeDelegates.entrySet()) {
+      bridges.add(entry.getKey().toGenericString() + " -> " + entry.getValue().toGenericString());
+    }
+    for (String bridge : bridges) {
+      fingerprint.append(bridge).append('\n');
+    }
+    return Hashing.sha256().hashString(fingerprint, UTF_8).toString();
+  }
+
+  /** Returns the cached bytecode for the given key, or {@code null} if it's not in the cache. */
+  @Nullable
+  static byte[] load(String cacheKey) {
+    return load(CACHE_DIR, cacheKey);
+  }
+
+  /** Stores the bytecode under the given key, replacing any existing entry atomically. */
+  static void store(String cacheKey, byte[] bytecode) {
+    store(CACHE_DIR, cacheKey, bytecode);
+  }
+
+  @Nullable
+  static byte[] load(Path cacheDir, String cacheKey) {
+    Path file = cacheDir.resolve(cacheKey + ".glue");
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    try (DataInputStream data =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (data.readInt() != MAGIC
+          || data.readInt() != FORMAT_VERSION
+          || !data.readUTF().equals(guiceVersion())) {
+        logger.log(Level.FINE, "Ignoring cached glue from another version of Guice {0}", file);
+        return null;
+      }
+      byte[] hash = new byte[HASH_LENGTH];
+      data.readFully(hash);
+      int length = data.readInt();
+      if (length < 0 || length > Files.size(file)) {
+        logger.log(Level.FINE, "Ignoring corrupt cached glue {0}", file);
+        return null;
+      }
+      byte[] bytecode = new byte[length];
+      data.readFully(bytecode);
+      if (data.read() != -1 || !Arrays.equals(hash, hash(bytecode))) {
+        logger.log(Level.FINE, "Ignoring corrupt cached glue {0}", file);
+        return null;
+      }
+      return bytecode;
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.FINE, "Cannot read cached glue " + file, e);
+      return null;
+    }
+  }
+
+  static void store(Path cacheDir, String cacheKey, byte[] bytecode) {
+    Path file = cacheDir.resolve(cacheKey + ".glue");
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(bytecode.length + 64);
+      DataOutputStream data = new DataOutputStream(bytes);
+      data.writeInt(MAGIC);
+      data.writeInt(FORMAT_VERSION);
+      data.writeUTF(guiceVersion());
+      data.write(hash(bytecode));
+      data.writeInt(bytecode.length);
+      data.write(bytecode);
+      data.flush();
+
+      Files.createDirectories(cacheDir);
+      // write to a temporary file first, so concurrent readers never see a partial entry
+      Path temp = Files.createTempFile(cacheDir, cacheKey, ".tmp");
+      try {
+        Files.write(temp, bytes.toByteArray());
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.FINE, "Cannot cache glue " + file, e);
+    }
+  }
+
+  private static byte[] hash(byte[] bytecode) {
+    return Hashing.sha256().hashBytes(bytecode).asBytes();
+  }
+
+  private static String guiceVersion() {
+    String version = GlueCache.class.getPackage().getImplementationVersion();
+    return version != null ? version : "";
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal.aop;
+
+import static com.google.inject.internal.BytecodeGen.PROVIDER_BY_GUICE_MARKER;
+import static java.lang.invoke.MethodType.methodType;
+import static java.lang.reflect.Modifier.FINAL;
+import static java.lang.reflect.Modifier.PRIVATE;
+import static java.lang.reflect.Modifier.PUBLIC;
+import static java.lang.reflect.Modifier.STATIC;
+import static org.objectweb.asm.ClassWriter.COMPUTE_MAXS;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.H_INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+import com.google.errorprone.annotations.Keep;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+/**
+ * Generates provider classes that invoke a method handle through a constant call site.
+ *
+ * <p>Invoking a method handle held in a field isn't constant-foldable by the JIT, so each provider
+ * class is spun for a single handle. The handle is linked lazily by an {@code invokedynamic}
+ * instruction on the first call to {@code get()}, after which it is just as visible to the JIT as
+ * a {@code static final} constant and can be inlined into the caller.
+ *
+ * <p>Provider classes are defined as hidden nest-mates of this class, so they can be unloaded as
+ * soon as they are no longer referenced. They have the following pseudo-Java structure:
+ *
+ * <pre>
+ * public final class HandleProvider$$ProviderByGuice
+ *   implements com.google.inject.Provider
+ * {
+ *   public static Supplier GUICE$LINKER; // supplies the handle on first invocation
+ *
+ *   private final Object arg0;
+ *   private final Object arg1;
+ *   private final Object description;
+ *
+ *   public HandleProvider$$ProviderByGuice(Object arg0, Object arg1, Object description) {
+ *     ...
+ *   }
+ *
+ *   public Object get() {
+ *     return invokedynamic(arg0, arg1); // bootstrapped using GUICE$LINKER
+ *   }
+ *
+ *   public String toString() {
+ *     return description.toString();
+ *   }
+ * }
+ * </pre>
+ */
+final class HandleProvider {
+  private HandleProvider() {}
+
+  private static final String HOST_NAME = Type.getInternalName(HandleProvider.class);
+
+  private static final String[] PROVIDER_API = {"com/google/inject/Provider"};
+
+  private static final String LINKER_NAME = "GUICE$LINKER";
+
+  private static final String LINKER_DESCRIPTOR = Type.getDescriptor(Supplier.class);
+
+  private static final MethodType CONSTRUCTOR_TYPE =
+      methodType(void.class, Object.class, Object.class, Object.class);
+
+  private static final String OBJECT_DESCRIPTOR = "Ljava/lang/Object;";
+
+  /** The signature of the dynamically linked handle. */
+  private static final MethodType HANDLE_TYPE =
+      methodType(Object.class, Object.class, Object.class);
+
+  private static final Handle BOOTSTRAP_HANDLE =
+      new Handle(
+          H_INVOKESTATIC,
+          HOST_NAME,
+          "bootstrap",
+          methodType(CallSite.class, MethodHandles.Lookup.class, String.class, MethodType.class)
+              .toMethodDescriptorString(),
+          false);
+
+  private static final AtomicInteger COUNTER = new AtomicInteger();
+
+  /**
+   * Defines a new provider class that links to the handle from the given supplier.
+   *
+   * <p>Returns a {@code (Object, Object, Object) -> Object} handle to the constructor, which
+   * accepts both arguments to be passed to the linked handle along with an object describing the
+   * provider.
+   */
+  static MethodHandle define(Supplier<MethodHandle> linker) {
+    String proxyName = HOST_NAME + PROVIDER_BY_GUICE_MARKER + COUNTER.getAndIncrement();
+    try {
+      byte[] bytecode = generate(proxyName);
+      Class<?> providerClass = ClassDefining.defineHidden(HandleProvider.class, bytecode);
+      providerClass.getField(LINKER_NAME).set(null, linker);
+      // don't embed the constructor as a constant handle, that would stop the class from unloading
+      MethodHandle constructor =
+          MethodHandles.lookup().findConstructor(providerClass, CONSTRUCTOR_TYPE);
+      return constructor.asType(constructor.type().changeReturnType(Object.class));
+    } catch (Throwable e) {
+      throw new GlueException("Problem generating " + proxyName, e);
+    }
+  }
+
+  private static byte[] generate(String proxyName) {
+    ClassWriter cw = new ClassWriter(COMPUTE_MAXS);
+    MethodVisitor mv;
+
+    // target Java8 because that's all we need for the generated provider
+    cw.visit(V1_8, PUBLIC | FINAL | ACC_SUPER, proxyName, null, "java/lang/Object", PROVIDER_API);
+    cw.visitSource("<generated>", null);
+
+    cw.visitField(PUBLIC | STATIC, LINKER_NAME, LINKER_DESCRIPTOR, null, null).visitEnd();
+
+    cw.visitField(PRIVATE | FINAL, "arg0", OBJECT_DESCRIPTOR, null, null).visitEnd();
+    cw.visitField(PRIVATE | FINAL, "arg1", OBJECT_DESCRIPTOR, null, null).visitEnd();
+    cw.visitField(PRIVATE | FINAL, "description", OBJECT_DESCRIPTOR, null, null).visitEnd();
+
+    String constructorDescriptor = CONSTRUCTOR_TYPE.toMethodDescriptorString();
+    mv = cw.visitMethod(PUBLIC, "<init>", constructorDescriptor, null, null);
+    mv.visitCode();
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitVarInsn(ALOAD, 1);
+    mv.visitFieldInsn(PUTFIELD, proxyName, "arg0", OBJECT_DESCRIPTOR);
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitVarInsn(ALOAD, 2);
+    mv.visitFieldInsn(PUTFIELD, proxyName, "arg1", OBJECT_DESCRIPTOR);
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitVarInsn(ALOAD, 3);
+    mv.visitFieldInsn(PUTFIELD, proxyName, "description", OBJECT_DESCRIPTOR);
+    mv.visitInsn(RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+
+    // the first invocation links the call site, after that the handle is a constant
+    mv = cw.visitMethod(PUBLIC, "get", "()Ljava/lang/Object;", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitFieldInsn(GETFIELD, proxyName, "arg0", OBJECT_DESCRIPTOR);
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitFieldInsn(GETFIELD, proxyName, "arg1", OBJECT_DESCRIPTOR);
+    mv.visitInvokeDynamicInsn("get", HANDLE_TYPE.toMethodDescriptorString(), BOOTSTRAP_HANDLE);
+    mv.visitInsn(ARETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+
+    mv = cw.visitMethod(PUBLIC, "toString", "()Ljava/lang/String;", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitFieldInsn(GETFIELD, proxyName, "description", OBJECT_DESCRIPTOR);
+    mv.visitMethodInsn(
+        INVOKESTATIC,
+        "java/lang/String",
+        "valueOf",
+        "(Ljava/lang/Object;)Ljava/lang/String;",
+        false);
+    mv.visitInsn(ARETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+
+    cw.visitEnd();
+    return cw.toByteArray();
+  }
+
+  /** Links the provider's call site to the handle supplied by its linker. */
+  @Keep
+  static CallSite bootstrap(MethodHandles.Lookup lookup, String name, MethodType type)
+      throws Throwable {
+    MethodHandle linkerGetter =
+        lookup.findStaticGetter(lookup.lookupClass(), LINKER_NAME, Supplier.class);
+    Supplier<?> linker = (Supplier<?>) linkerGetter.invokeExact();
+    return new ConstantCallSite(((MethodHandle) linker.get()).asType(type));
+  }
+}
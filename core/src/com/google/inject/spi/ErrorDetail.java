@@ -109,9 +109,11 @@ public abstract class ErrorDetail<SelfT extends ErrorDetail<SelfT>> implements S
     return cause;
   }
 
+  // Uses the getters, so that subclasses that compute their message still compare equal to details
+  // with the same message.
   @Override
   public int hashCode() {
-    return Objects.hashCode(message, cause, sources);
+    return Objects.hashCode(getMessage(), getCause(), getSources());
   }
 
   @Override
@@ -120,7 +122,9 @@ public abstract class ErrorDetail<SelfT extends ErrorDetail<SelfT>> implements S
       return false;
     }
     ErrorDetail<?> e = (ErrorDetail<?>) o;
-    return message.equals(e.message) && Objects.equal(cause, e.cause) && sources.equals(e.sources);
+    return getMessage().equals(e.getMessage())
+        && Objects.equal(getCause(), e.getCause())
+        && getSources().equals(e.getSources());
   }
 
   /** Returns a new instance of the same {@link ErrorDetail} with updated sources. */
@@ -31,7 +31,9 @@ import com.google.inject.internal.Annotations;
 import com.google.inject.internal.DeclaredMembers;
 import com.google.inject.internal.Errors;
 import com.google.inject.internal.ErrorsException;
+import com.google.inject.internal.InternalFlags;
 import com.google.inject.internal.KotlinSupport;
+import com.google.inject.internal.MoreTypes;
 import com.google.inject.internal.Nullability;
 import com.google.inject.internal.util.Classes;
 import java.lang.annotation.Annotation;
@@ -163,6 +165,9 @@ public final class InjectionPoint {
 
   // This metohd is necessary to create a Dependency<T> with proper generic type information
   private <T> Dependency<T> newDependency(Key<T> key, boolean allowsNull, int parameterIndex) {
+    if (InternalFlags.isKeyInterningEnabled()) {
+      key = MoreTypes.canonicalizeKey(key);
+    }
     return new Dependency<T>(this, key, allowsNull, parameterIndex);
   }
 
@@ -294,52 +299,98 @@ public final class InjectionPoint {
    */
   public static InjectionPoint forConstructorOf(TypeLiteral<?> type, boolean atInjectRequired) {
     Class<?> rawType = getRawType(type.getType());
+    InjectableConstructor injectableConstructor = INJECTABLE_CONSTRUCTORS.get(rawType);
     Errors errors = new Errors(rawType);
+    errors.merge(injectableConstructor.errors);
 
-    List<Constructor<?>> atInjectConstructors =
-        Arrays.stream(rawType.getDeclaredConstructors())
-            .filter(InjectionPoint::isInjectableConstructor)
-            .collect(Collectors.toList());
-
-    Constructor<?> injectableConstructor = null;
-    atInjectConstructors.stream()
-        .filter(constructor -> constructor.isAnnotationPresent(Inject.class))
-        .filter(constructor -> constructor.getAnnotation(Inject.class).optional())
-        .forEach(errors::optionalConstructor);
-
-    if (atInjectConstructors.size() > 1) {
-      errors.tooManyConstructors(rawType);
-    } else {
-      injectableConstructor = Iterables.getOnlyElement(atInjectConstructors, null);
-      if (injectableConstructor != null) {
-        checkForMisplacedBindingAnnotations(injectableConstructor, errors);
-      }
-    }
-    if (atInjectRequired && injectableConstructor == null) {
+    if (atInjectRequired && !injectableConstructor.annotated) {
       errors.atInjectRequired(type);
     }
     errors.throwConfigurationExceptionIfErrorsExist();
 
-    if (injectableConstructor != null) {
-      return new InjectionPoint(type, injectableConstructor);
+    if (injectableConstructor.constructor == null) {
+      errors.missingConstructor(type);
+      throw new ConfigurationException(errors.getMessages());
     }
 
-    // If no annotated constructor is found, look for a no-arg constructor instead.
-    try {
-      Constructor<?> noArgConstructor = rawType.getDeclaredConstructor();
+    if (type.getType() == rawType) {
+      return injectableConstructor.forRawType(type);
+    }
+    return new InjectionPoint(type, injectableConstructor.constructor);
+  }
 
-      // Disallow private constructors on non-private classes (unless they have @Inject)
-      if (Modifier.isPrivate(noArgConstructor.getModifiers())
-          && !Modifier.isPrivate(rawType.getModifiers())) {
-        errors.missingConstructor(type);
-        throw new ConfigurationException(errors.getMessages());
+  /**
+   * The injectable constructors of classes, cached for the lifetime of each class so that
+   * injectors don't repeat the reflection.
+   */
+  private static final ClassValue<InjectableConstructor> INJECTABLE_CONSTRUCTORS =
+      new ClassValue<InjectableConstructor>() {
+        @Override
+        protected InjectableConstructor computeValue(Class<?> rawType) {
+          return new InjectableConstructor(rawType);
+        }
+      };
+
+  /** The injectable constructor of a class, before resolving it against a particular type. */
+  private static final class InjectableConstructor {
+    /** The constructor to inject, or null if the class doesn't have a usable one. */
+    final Constructor<?> constructor;
+    /** True if the constructor is annotated with {@code @Inject}. */
+    final boolean annotated;
+    /** Errors that don't depend on the resolved type. */
+    final ImmutableList<Message> errors;
+    /** The injection point for the class itself, created on first use. */
+    private volatile InjectionPoint rawInjectionPoint;
+
+    InjectableConstructor(Class<?> rawType) {
+      Errors errors = new Errors(rawType);
+
+      List<Constructor<?>> atInjectConstructors =
+          Arrays.stream(rawType.getDeclaredConstructors())
+              .filter(InjectionPoint::isInjectableConstructor)
+              .collect(Collectors.toList());
+
+      Constructor<?> injectableConstructor = null;
+      atInjectConstructors.stream()
+          .filter(constructor -> constructor.isAnnotationPresent(Inject.class))
+          .filter(constructor -> constructor.getAnnotation(Inject.class).optional())
+          .forEach(errors::optionalConstructor);
+
+      if (atInjectConstructors.size() > 1) {
+        errors.tooManyConstructors(rawType);
+      } else {
+        injectableConstructor = Iterables.getOnlyElement(atInjectConstructors, null);
+        if (injectableConstructor != null) {
+          checkForMisplacedBindingAnnotations(injectableConstructor, errors);
+        }
+      }
+      this.annotated = injectableConstructor != null;
+      this.errors = ImmutableList.copyOf(errors.getMessages());
+
+      if (injectableConstructor == null && !errors.hasErrors()) {
+        // If no annotated constructor is found, look for a no-arg constructor instead.
+        try {
+          Constructor<?> noArgConstructor = rawType.getDeclaredConstructor();
+          // Disallow private constructors on non-private classes (unless they have @Inject)
+          if (!Modifier.isPrivate(noArgConstructor.getModifiers())
+              || Modifier.isPrivate(rawType.getModifiers())) {
+            injectableConstructor = noArgConstructor;
+          }
+        } catch (NoSuchMethodException e) {
+          // reported as a missing constructor
+        }
       }
+      this.constructor = injectableConstructor;
+    }
 
-      checkForMisplacedBindingAnnotations(noArgConstructor, errors);
-      return new InjectionPoint(type, noArgConstructor);
-    } catch (NoSuchMethodException e) {
-      errors.missingConstructor(type);
-      throw new ConfigurationException(errors.getMessages());
+    InjectionPoint forRawType(TypeLiteral<?> type) {
+      InjectionPoint injectionPoint = rawInjectionPoint;
+      if (injectionPoint == null) {
+        // racing threads create equal injection points, any of them can be kept
+        injectionPoint = new InjectionPoint(type, constructor);
+        rawInjectionPoint = injectionPoint;
+      }
+      return injectionPoint;
     }
   }
 
@@ -497,7 +548,7 @@ public final class InjectionPoint {
       optional = ((Inject) atInject).optional();
     }
 
-    abstract InjectionPoint toInjectionPoint();
+    abstract InjectionPoint toInjectionPoint(TypeLiteral<?> declaringType);
   }
 
   static class InjectableField extends InjectableMember {
@@ -509,7 +560,7 @@ public final class InjectionPoint {
     }
 
     @Override
-    InjectionPoint toInjectionPoint() {
+    InjectionPoint toInjectionPoint(TypeLiteral<?> declaringType) {
       return new InjectionPoint(declaringType, field, optional);
     }
   }
@@ -529,7 +580,7 @@ public final class InjectionPoint {
     }
 
     @Override
-    InjectionPoint toInjectionPoint() {
+    InjectionPoint toInjectionPoint(TypeLiteral<?> declaringType) {
       return new InjectionPoint(declaringType, method, optional);
     }
 
@@ -701,87 +752,165 @@ public final class InjectionPoint {
    */
   private static Set<InjectionPoint> getInjectionPoints(
       final TypeLiteral<?> type, boolean statics, Errors errors) {
-    InjectableMembers injectableMembers = new InjectableMembers();
-    OverrideIndex overrideIndex = null;
-
-    List<TypeLiteral<?>> hierarchy = hierarchyFor(type);
-    int topIndex = hierarchy.size() - 1;
-    for (int i = topIndex; i >= 0; i--) {
-      if (overrideIndex != null && i < topIndex) {
-        // Knowing the position within the hierarchy helps us make optimizations.
-        if (i == 0) {
-          overrideIndex.position = Position.BOTTOM;
-        } else {
-          overrideIndex.position = Position.MIDDLE;
+    Class<?> rawType = type.getRawType();
+    InjectableMemberList members = (statics ? STATIC_MEMBERS : INSTANCE_MEMBERS).get(rawType);
+    ResolvedInjectionPoints resolved =
+        type.getType() == rawType ? members.forRawType(rawType) : members.resolve(type);
+    errors.merge(resolved.errors);
+    return resolved.injectionPoints;
+  }
+
+  /**
+   * The injectable members of classes, cached for the lifetime of each class so that injectors
+   * don't repeat the hierarchy walk and override detection.
+   */
+  private static final ClassValue<InjectableMemberList> INSTANCE_MEMBERS =
+      new ClassValue<InjectableMemberList>() {
+        @Override
+        protected InjectableMemberList computeValue(Class<?> rawType) {
+          return new InjectableMemberList(rawType, false);
         }
-      }
+      };
 
-      TypeLiteral<?> current = hierarchy.get(i);
+  private static final ClassValue<InjectableMemberList> STATIC_MEMBERS =
+      new ClassValue<InjectableMemberList>() {
+        @Override
+        protected InjectableMemberList computeValue(Class<?> rawType) {
+          return new InjectableMemberList(rawType, true);
+        }
+      };
+
+  /** The injectable members of a class, before resolving them against a particular type. */
+  private static final class InjectableMemberList {
+    /** The members to inject, in order. */
+    final ImmutableList<InjectableMember> members;
+    /** Errors that don't depend on the resolved type. */
+    final ImmutableList<Message> errors;
+    /** The injection points for the class itself, resolved on first use. */
+    private volatile ResolvedInjectionPoints rawInjectionPoints;
+
+    InjectableMemberList(Class<?> rawType, boolean statics) {
+      Errors errors = new Errors();
+      InjectableMembers injectableMembers = new InjectableMembers();
+      OverrideIndex overrideIndex = null;
+
+      List<TypeLiteral<?>> hierarchy = hierarchyFor(TypeLiteral.get(rawType));
+      int topIndex = hierarchy.size() - 1;
+      for (int i = topIndex; i >= 0; i--) {
+        if (overrideIndex != null && i < topIndex) {
+          // Knowing the position within the hierarchy helps us make optimizations.
+          if (i == 0) {
+            overrideIndex.position = Position.BOTTOM;
+          } else {
+            overrideIndex.position = Position.MIDDLE;
+          }
+        }
 
-      for (InjectableField injectableField : getDeclaredInjectableFields(current, statics)) {
-        Field field = injectableField.field;
-        if (injectableField.specInject && Modifier.isFinal(field.getModifiers())) {
-          errors.cannotInjectFinalField(field);
+        TypeLiteral<?> current = hierarchy.get(i);
+
+        for (InjectableField injectableField : getDeclaredInjectableFields(current, statics)) {
+          Field field = injectableField.field;
+          if (injectableField.specInject && Modifier.isFinal(field.getModifiers())) {
+            errors.cannotInjectFinalField(field);
+          }
+          injectableMembers.add(injectableField);
         }
-        injectableMembers.add(injectableField);
-      }
 
-      for (InjectableMethod injectableMethod :
-          getDeclaredInjectableMethods(current, overrideIndex, statics)) {
-        Method method = injectableMethod.method;
-        if (checkForMisplacedBindingAnnotations(method, errors)
-            || !isValidMethod(injectableMethod, errors)) {
-          if (overrideIndex != null) {
-            boolean removed = overrideIndex.removeIfOverriddenBy(method, false, injectableMethod);
-            if (removed) {
-              logger.log(
-                  Level.WARNING,
-                  "Method: {0} is not a valid injectable method ("
-                      + "because it either has misplaced binding annotations "
-                      + "or specifies type parameters) but is overriding a method that is "
-                      + "valid. Because it is not valid, the method will not be injected. "
-                      + "To fix this, make the method a valid injectable method.",
-                  method);
+        for (InjectableMethod injectableMethod :
+            getDeclaredInjectableMethods(current, overrideIndex, statics)) {
+          Method method = injectableMethod.method;
+          if (checkForMisplacedBindingAnnotations(method, errors)
+              || !isValidMethod(injectableMethod, errors)) {
+            if (overrideIndex != null) {
+              boolean removed = overrideIndex.removeIfOverriddenBy(method, false, injectableMethod);
+              if (removed) {
+                logger.log(
+                    Level.WARNING,
+                    "Method: {0} is not a valid injectable method ("
+                        + "because it either has misplaced binding annotations "
+                        + "or specifies type parameters) but is overriding a method that is "
+                        + "valid. Because it is not valid, the method will not be injected. "
+                        + "To fix this, make the method a valid injectable method.",
+                    method);
+              }
             }
+            continue;
           }
-          continue;
-        }
-        if (statics) {
-          injectableMembers.add(injectableMethod);
-        } else {
-          if (overrideIndex == null) {
-            /*
-             * Creating the override index lazily means that the first type in the hierarchy
-             * with injectable methods (not necessarily the top most type) will be treated as
-             * the TOP position and will enjoy the same optimizations (no checks for overridden
-             * methods, etc.).
-             */
-            overrideIndex = new OverrideIndex(injectableMembers);
+          if (statics) {
+            injectableMembers.add(injectableMethod);
           } else {
-            // Forcibly remove the overridden method, otherwise we'll inject
-            // it twice.
-            overrideIndex.removeIfOverriddenBy(method, true, injectableMethod);
+            if (overrideIndex == null) {
+              /*
+               * Creating the override index lazily means that the first type in the hierarchy
+               * with injectable methods (not necessarily the top most type) will be treated as
+               * the TOP position and will enjoy the same optimizations (no checks for overridden
+               * methods, etc.).
+               */
+              overrideIndex = new OverrideIndex(injectableMembers);
+            } else {
+              // Forcibly remove the overridden method, otherwise we'll inject
+              // it twice.
+              overrideIndex.removeIfOverriddenBy(method, true, injectableMethod);
+            }
+            overrideIndex.add(injectableMethod);
           }
-          overrideIndex.add(injectableMethod);
         }
       }
+
+      ImmutableList.Builder<InjectableMember> members = ImmutableList.builder();
+      for (InjectableMember im = injectableMembers.head; im != null; im = im.next) {
+        members.add(im);
+      }
+      this.members = members.build();
+      this.errors = ImmutableList.copyOf(errors.getMessages());
     }
 
-    if (injectableMembers.isEmpty()) {
-      return Collections.emptySet();
+    ResolvedInjectionPoints forRawType(Class<?> rawType) {
+      ResolvedInjectionPoints resolved = rawInjectionPoints;
+      if (resolved == null) {
+        // Resolve against a canonical type literal rather than the caller's, which may be an
+        // anonymous subclass that would otherwise be kept, with its class loader, as long as the
+        // class. Racing threads resolve equal injection points, any of them can be kept.
+        resolved = resolve(TypeLiteral.get(rawType));
+        rawInjectionPoints = resolved;
+      }
+      return resolved;
     }
 
-    ImmutableSet.Builder<InjectionPoint> builder = ImmutableSet.builder();
-    for (InjectableMember im = injectableMembers.head; im != null; im = im.next) {
-      try {
-        builder.add(im.toInjectionPoint());
-      } catch (ConfigurationException ignorable) {
-        if (!im.optional) {
-          errors.merge(ignorable.getErrorMessages());
+    ResolvedInjectionPoints resolve(TypeLiteral<?> type) {
+      if (members.isEmpty()) {
+        return new ResolvedInjectionPoints(Collections.emptySet(), errors);
+      }
+
+      Map<Class<?>, TypeLiteral<?>> declaringTypes = new HashMap<>();
+      for (TypeLiteral<?> declaringType : hierarchyFor(type)) {
+        declaringTypes.put(declaringType.getRawType(), declaringType);
+      }
+
+      Errors errors = new Errors().merge(this.errors);
+      ImmutableSet.Builder<InjectionPoint> builder = ImmutableSet.builder();
+      for (InjectableMember im : members) {
+        try {
+          builder.add(im.toInjectionPoint(declaringTypes.get(im.declaringType.getRawType())));
+        } catch (ConfigurationException ignorable) {
+          if (!im.optional) {
+            errors.merge(ignorable.getErrorMessages());
+          }
         }
       }
+      return new ResolvedInjectionPoints(builder.build(), errors.getMessages());
+    }
+  }
+
+  /** Injection points resolved against a particular type. */
+  private static final class ResolvedInjectionPoints {
+    final Set<InjectionPoint> injectionPoints;
+    final ImmutableList<Message> errors;
+
+    ResolvedInjectionPoints(Set<InjectionPoint> injectionPoints, List<Message> errors) {
+      this.injectionPoints = injectionPoints;
+      this.errors = ImmutableList.copyOf(errors);
     }
-    return builder.build();
   }
 
   private static final Comparator<InjectableField> INJECTABLE_FIELD_COMPARATOR =
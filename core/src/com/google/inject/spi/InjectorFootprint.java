@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.spi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An estimate of the memory retained by the configuration of an injector, broken down by category.
+ * This is useful to size processes that hold many long-lived injectors.
+ *
+ * <p>Sizes are computed from the shallow layout of the objects reachable through the SPI, assuming
+ * a 64-bit JVM with compressed object pointers. Objects reachable from several categories are only
+ * counted in the first one, in declaration order. Instances provided by the injector, and the
+ * internal factories behind each binding, are not included. Parent injectors are not included
+ * either; call {@link #of} with the parent to measure it.
+ */
+public final class InjectorFootprint {
+
+  /** The categories of retained objects. */
+  public enum Category {
+    /** Explicit bindings, their keys and the map entries indexing them. */
+    EXPLICIT_BINDINGS,
+    /** Just-in-time bindings, their keys and the map entries indexing them. */
+    JIT_BINDINGS,
+    /** Injection points, their reflective members, and the dependencies and keys they declare. */
+    INJECTION_POINTS,
+    /** Element sources, the module source chains and the declaring sources they refer to. */
+    SOURCES,
+    /**
+     * Elements other than bindings that are kept for the SPI, such as scope bindings, lookups,
+     * injection requests, and listener or interceptor bindings.
+     */
+    OTHER_ELEMENTS,
+  }
+
+  private static final int OBJECT_HEADER_BYTES = 12;
+  private static final int REFERENCE_BYTES = 4;
+  private static final int OBJECT_ALIGNMENT = 8;
+
+  /** Approximate cost of a hash map entry, including its share of the table. */
+  private static final int MAP_ENTRY_BYTES = 48;
+
+  private static final ClassValue<Long> SHALLOW_SIZES =
+      new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+          return shallowSizeOf(type);
+        }
+      };
+
+  private final EnumMap<Category, Long> retainedBytes = new EnumMap<>(Category.class);
+  private final EnumMap<Category, Integer> objectCounts = new EnumMap<>(Category.class);
+
+  private InjectorFootprint() {
+    for (Category category : Category.values()) {
+      retainedBytes.put(category, 0L);
+      objectCounts.put(category, 0);
+    }
+  }
+
+  /** Estimates the footprint of the given injector, excluding its parent. */
+  public static InjectorFootprint of(Injector injector) {
+    checkNotNull(injector, "injector");
+    return new Estimator().estimate(injector);
+  }
+
+  /** Returns the estimated number of bytes retained by objects in the given category. */
+  public long getRetainedBytes(Category category) {
+    return retainedBytes.get(category);
+  }
+
+  /** Returns the number of distinct objects counted in the given category. */
+  public int getObjectCount(Category category) {
+    return objectCounts.get(category);
+  }
+
+  /** Returns the estimated number of bytes retained across all categories. */
+  public long getTotalRetainedBytes() {
+    long total = 0;
+    for (long bytes : retainedBytes.values()) {
+      total += bytes;
+    }
+    return total;
+  }
+
+  @Override
+  public String toString() {
+    MoreObjects.ToStringHelper helper =
+        MoreObjects.toStringHelper(InjectorFootprint.class)
+            .add("totalRetainedBytes", getTotalRetainedBytes());
+    for (Category category : Category.values()) {
+      helper.add(category.name(), retainedBytes.get(category) + "B/" + objectCounts.get(category));
+    }
+    return helper.toString();
+  }
+
+  /** Walks the injector, counting every object once. */
+  private static final class Estimator {
+    private final InjectorFootprint footprint = new InjectorFootprint();
+    private final Set<Object> seen = Sets.newIdentityHashSet();
+    private final List<Object> sources = Lists.newArrayList();
+    private final List<Dependency<?>> dependencies = Lists.newArrayList();
+
+    InjectorFootprint estimate(Injector injector) {
+      Map<Key<?>, Binding<?>> explicitBindings = injector.getBindings();
+      for (Binding<?> binding : explicitBindings.values()) {
+        countBinding(Category.EXPLICIT_BINDINGS, binding);
+      }
+      for (Binding<?> binding : injector.getAllBindings().values()) {
+        if (explicitBindings.get(binding.getKey()) != binding) {
+          countBinding(Category.JIT_BINDINGS, binding);
+        }
+      }
+
+      for (Dependency<?> dependency : dependencies) {
+        countDependency(dependency);
+      }
+
+      List<Element> otherElements = Lists.newArrayList();
+      for (Element element : injector.getElements()) {
+        if (!(element instanceof Binding)) {
+          otherElements.add(element);
+          sources.add(element.getSource());
+        }
+      }
+
+      for (Object source : sources) {
+        countSource(source);
+      }
+
+      for (Element element : otherElements) {
+        count(Category.OTHER_ELEMENTS, element);
+      }
+      return footprint;
+    }
+
+    private void countBinding(Category category, Binding<?> binding) {
+      if (count(category, binding)) {
+        add(category, MAP_ENTRY_BYTES);
+        countKey(category, binding.getKey());
+        sources.add(binding.getSource());
+        if (binding instanceof HasDependencies) {
+          dependencies.addAll(((HasDependencies) binding).getDependencies());
+        }
+      }
+    }
+
+    private void countKey(Category category, Key<?> key) {
+      if (count(category, key)) {
+        count(category, key.getTypeLiteral());
+        if (key.getAnnotation() != null) {
+          count(category, key.getAnnotation());
+        }
+      }
+    }
+
+    private void countDependency(Dependency<?> dependency) {
+      if (count(Category.INJECTION_POINTS, dependency)) {
+        countKey(Category.INJECTION_POINTS, dependency.getKey());
+        InjectionPoint injectionPoint = dependency.getInjectionPoint();
+        if (injectionPoint != null && count(Category.INJECTION_POINTS, injectionPoint)) {
+          count(Category.INJECTION_POINTS, injectionPoint.getMember());
+        }
+      }
+    }
+
+    private void countSource(Object source) {
+      if (source == null || !count(Category.SOURCES, source)) {
+        return;
+      }
+      if (source instanceof ElementSource) {
+        ElementSource elementSource = (ElementSource) source;
+        countSource(elementSource.getOriginalElementSource());
+        count(Category.SOURCES, elementSource.getDeclaringSource());
+        ModuleSource moduleSource = elementSource.moduleSource;
+        while (moduleSource != null && count(Category.SOURCES, moduleSource)) {
+          moduleSource = moduleSource.getParent();
+        }
+      }
+    }
+
+    /** Counts the object if it hasn't been seen yet, returning true if it was counted. */
+    private boolean count(Category category, Object object) {
+      if (object == null || !seen.add(object)) {
+        return false;
+      }
+      footprint.objectCounts.merge(category, 1, Integer::sum);
+      add(category, SHALLOW_SIZES.get(object.getClass()));
+      return true;
+    }
+
+    private void add(Category category, long bytes) {
+      footprint.retainedBytes.merge(category, bytes, Long::sum);
+    }
+  }
+
+  private static long shallowSizeOf(Class<?> type) {
+    long size = OBJECT_HEADER_BYTES;
+    try {
+      for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+        for (Field field : c.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers())) {
+            size += fieldSizeOf(field.getType());
+          }
+        }
+      }
+    } catch (SecurityException | LinkageError e) {
+      // the layout can't be inspected, so just count the header
+    }
+    return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+  }
+
+  private static int fieldSizeOf(Class<?> type) {
+    if (type == long.class || type == double.class) {
+      return 8;
+    } else if (type == int.class || type == float.class) {
+      return 4;
+    } else if (type == short.class || type == char.class) {
+      return 2;
+    } else if (type == byte.class || type == boolean.class) {
+      return 1;
+    } else {
+      return REFERENCE_BYTES;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.spi;
+
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scope;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Scope} that can also be applied to method handles, so that Guice can link scoped
+ * bindings directly instead of calling through the {@link Provider} returned by {@link
+ * #scope(Key, Provider)}.
+ *
+ * <p>This is only used when Guice provisions through method handles. Otherwise, and whenever this
+ * returns {@code null}, the scope is applied using {@link #scope(Key, Provider)}. Both must share
+ * the same state, since the two forms may be used for the same binding.
+ */
+public interface MethodHandleScope extends Scope {
+
+  /** The type of both the unscoped handle and the scoped handle: {@code (Object)->Object}. */
+  MethodType HANDLE_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * Scopes a method handle. The returned handle returns objects from this scope. If an object does
+   * not exist in this scope, the handle can invoke the given unscoped handle to create one.
+   *
+   * <p>Both handles have the type {@link #HANDLE_TYPE}. The single argument is an opaque
+   * provisioning context, which must be passed to the unscoped handle unchanged and must not be
+   * retained. The unscoped handle may throw any exception, which should propagate to the caller.
+   *
+   * @param key binding key
+   * @param unscoped creates an instance when one doesn't already exist in this scope
+   * @return a handle which only invokes the given unscoped handle when an instance of the requested
+   *     object doesn't already exist in this scope, or {@code null} to apply the scope using {@link
+   *     #scope(Key, Provider)} instead
+   */
+  @Nullable
+  MethodHandle scope(Key<?> key, MethodHandle unscoped);
+}
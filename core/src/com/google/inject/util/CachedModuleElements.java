@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.internal.CopyingElementsModule;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The elements of a set of modules, recorded once so that any number of injectors can be created
+ * from them. This is useful for test suites where every test creates an injector from the same,
+ * large modules, usually with a few bindings overridden:
+ *
+ * <pre>
+ * private static final CachedModuleElements MODULES =
+ *     CachedModuleElements.of(new ProductionModule());
+ *
+ * public void testSomething() {
+ *   Injector injector = MODULES.createInjector(new FakeClockModule());
+ *   ...
+ * }
+ * </pre>
+ *
+ * <p>Only the module configuration is cached: calling {@code configure()}, capturing the binding
+ * sources and scanning for {@code @Provides} methods. Each injector is created from the cached
+ * elements by {@link Guice#createInjector}, which processes their bindings, resolves injection
+ * points and generates or looks up enhancers as usual, and has its own singletons. How much this
+ * saves depends on how much of creating the injector is spent configuring the modules.
+ *
+ * <p>Since the modules are only configured once, objects they create while being configured are
+ * shared between the injectors: instances bound with {@code toInstance()} or {@code
+ * toProvider(instance)}, scopes, listeners and interceptors. Each injector would inject these
+ * objects again, overwriting what the injectors before it injected, so bound instances and
+ * provider instances that have injection points, and instances passed to {@code
+ * requestInjection()}, are rejected. That includes the factories of {@code FactoryModuleBuilder}.
+ * Providers and members injectors that the modules get from the binder while being configured
+ * can't be used either, since they'd belong to only one of the injectors; use a {@code @Provides}
+ * method or inject a provider instead.
+ */
+public final class CachedModuleElements {
+  private final Stage stage;
+  private final ImmutableList<Element> elements;
+
+  private CachedModuleElements(Stage stage, List<Element> elements) {
+    this.stage = stage;
+    this.elements = ImmutableList.copyOf(elements);
+  }
+
+  /** Returns the cached elements of {@code modules}, for injectors in the development stage. */
+  public static CachedModuleElements of(Module... modules) {
+    return of(Stage.DEVELOPMENT, Arrays.asList(modules));
+  }
+
+  /**
+   * Returns the cached elements of {@code modules}, for injectors in {@code stage}.
+   *
+   * @throws IllegalArgumentException if the modules bind an instance or provider instance that has
+   *     injection points, or request injection of an instance, since each injector would inject it
+   *     again
+   */
+  public static CachedModuleElements of(Stage stage, Iterable<? extends Module> modules) {
+    checkNotNull(stage, "stage");
+    List<Element> elements = Elements.getElements(stage, modules);
+    CopyingElementsModule.checkInstancesAreShareable(elements);
+    return new CachedModuleElements(stage, elements);
+  }
+
+  /** Returns the elements that the modules were configured with. */
+  public List<Element> getElements() {
+    return elements;
+  }
+
+  /**
+   * Creates an injector from the cached elements, with the bindings of {@code overrides} replacing
+   * theirs as in {@link Modules#override}.
+   */
+  public Injector createInjector(Module... overrides) {
+    return createInjector(Arrays.asList(overrides));
+  }
+
+  /**
+   * Creates an injector from the cached elements, with the bindings of {@code overrides} replacing
+   * theirs as in {@link Modules#override}.
+   */
+  public Injector createInjector(Iterable<? extends Module> overrides) {
+    Module module = new CopyingElementsModule(elements);
+    if (!Iterables.isEmpty(overrides)) {
+      module = Modules.override(module).with(overrides);
+    }
+    return Guice.createInjector(stage, module);
+  }
+}
@@ -20,8 +20,12 @@ import static com.google.inject.Asserts.assertContains;
 import static com.google.inject.Asserts.assertNotSerializable;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
+import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.lang.annotation.Retention;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -440,4 +444,105 @@ public class InjectorTest extends TestCase {
   }
 
   static class JustInTime {}
+
+  public void testTryGetInstance() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(String.class).toInstance("test");
+              }
+            });
+
+    assertEquals(Optional.of("test"), injector.tryGetInstance(String.class));
+    assertEquals(Optional.empty(), injector.tryGetInstance(Integer.class));
+    // Just-in-time bindings aren't created
+    assertEquals(Optional.empty(), injector.tryGetInstance(SampleSingleton.class));
+    assertNull(injector.getExistingBinding(Key.get(SampleSingleton.class)));
+    // ...but once they are, they are found even though the key was missing before
+    injector.getInstance(SampleSingleton.class);
+    assertTrue(injector.tryGetInstance(SampleSingleton.class).isPresent());
+  }
+
+  public void testTryGetInstance_childInjector() {
+    Injector parent = Guice.createInjector();
+    Injector child =
+        parent.createChildInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(String.class).toInstance("child");
+              }
+            });
+
+    assertEquals(Optional.of("child"), child.tryGetInstance(String.class));
+    assertEquals(Optional.empty(), parent.tryGetInstance(String.class));
+    assertEquals(Optional.empty(), child.tryGetInstance(SampleSingleton.class));
+    // A just-in-time binding created in the parent is visible to the child
+    parent.getInstance(SampleSingleton.class);
+    assertTrue(child.tryGetInstance(SampleSingleton.class).isPresent());
+  }
+
+  public void testGetInstances() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(String.class).toInstance("test");
+                bind(SampleSingleton.class).in(Singleton.class);
+              }
+
+              @Provides
+              Integer provideInteger(String string) {
+                return string.length();
+              }
+            });
+
+    Provider<List<Object>> provider =
+        injector.getInstancesProvider(
+            ImmutableList.of(
+                Key.get(Integer.class), Key.get(String.class), Key.get(SampleSingleton.class)));
+    List<Object> instances = provider.get();
+    assertEquals(
+        ImmutableList.of(4, "test", injector.getInstance(SampleSingleton.class)), instances);
+    assertEquals(instances, provider.get());
+    assertEquals(
+        ImmutableList.of("test"), injector.getInstances(ImmutableList.of(Key.get(String.class))));
+    assertEquals(ImmutableList.of(), injector.getInstances(ImmutableList.of()));
+  }
+
+  public void testGetInstancesProvider_missingBindings() {
+    Injector injector = Guice.createInjector();
+    try {
+      injector.getInstancesProvider(
+          ImmutableList.of(
+              Key.get(Runnable.class), Key.get(SampleSingleton.class), Key.get(Callable.class)));
+      fail();
+    } catch (ConfigurationException expected) {
+      assertEquals(2, expected.getErrorMessages().size());
+    }
+  }
+
+  public void testGetInstancesProvider_provisionFailure() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Provides
+              String provideString() {
+                throw new UnsupportedOperationException("no strings");
+              }
+            });
+    Provider<List<Object>> provider =
+        injector.getInstancesProvider(
+            ImmutableList.of(Key.get(SampleSingleton.class), Key.get(String.class)));
+    try {
+      provider.get();
+      fail();
+    } catch (ProvisionException expected) {
+      assertTrue(expected.getCause() instanceof UnsupportedOperationException);
+      assertContains(expected.getMessage(), "while locating String");
+    }
+  }
 }
@@ -22,9 +22,12 @@ import static com.google.inject.Asserts.assertNotSerializable;
 import static com.google.inject.Asserts.awaitClear;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
+import com.google.common.collect.Iterables;
+import com.google.inject.internal.InternalFlags;
 import com.google.inject.name.Named;
 import com.google.inject.name.Names;
 import com.google.inject.spi.Dependency;
+import com.google.inject.spi.HasDependencies;
 import com.google.inject.util.Types;
 import java.io.IOException;
 import java.lang.annotation.ElementType;
@@ -366,5 +369,33 @@ public class KeyTest extends TestCase {
     awaitClear(runnerRef); // also make sure anonymous keys & typeliterals don't hold for JITs
   }
 
+  public void testDependencyKeysAreSharedIfInterningIsEnabled() {
+    Injector injector =
+        Guice.createInjector(
+            binder ->
+                binder
+                    .bind(new Key<List<String>>(Names.named("list")) {})
+                    .toInstance(new ArrayList<String>()));
+    Key<?> first = onlyDependencyKey(injector.getBinding(NeedsList.class));
+    Key<?> second = onlyDependencyKey(injector.getBinding(AlsoNeedsList.class));
+    assertEquals(first, second);
+    assertEquals(InternalFlags.isKeyInterningEnabled(), first == second);
+  }
+
+  private static Key<?> onlyDependencyKey(Binding<?> binding) {
+    HasDependencies hasDependencies = (HasDependencies) binding;
+    return Iterables.getOnlyElement(hasDependencies.getDependencies()).getKey();
+  }
+
   static class Typed<T> {}
+
+  static class NeedsList {
+    @Inject
+    NeedsList(@Named("list") List<String> list) {}
+  }
+
+  static class AlsoNeedsList {
+    @Inject
+    AlsoNeedsList(@Named("list") List<String> list) {}
+  }
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import junit.framework.TestCase;
+
+public class TaskScopeTest extends TestCase {
+
+  private final TaskScope taskScope = TaskScope.create();
+  private Injector injector;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindScope(TaskScoped.class, taskScope);
+              }
+
+              @Provides
+              @TaskScoped
+              String provideNothing() {
+                return null;
+              }
+            });
+  }
+
+  public void testOneInstancePerTask() {
+    TaskState first;
+    try (TaskScope.CloseableScope task = taskScope.enter()) {
+      first = injector.getInstance(TaskState.class);
+      assertSame(first, injector.getInstance(TaskState.class));
+    }
+    try (TaskScope.CloseableScope task = taskScope.enter()) {
+      assertNotSame(first, injector.getInstance(TaskState.class));
+    }
+  }
+
+  public void testOutsideOfTask() {
+    assertFalse(taskScope.isInTask());
+    try {
+      injector.getInstance(TaskState.class);
+      fail();
+    } catch (ProvisionException expected) {
+      assertThat(expected).hasCauseThat().isInstanceOf(OutOfScopeException.class);
+    }
+  }
+
+  public void testNullIsScoped() {
+    try (TaskScope.CloseableScope task = taskScope.enter()) {
+      assertNull(injector.getInstance(String.class));
+      assertNull(injector.getInstance(String.class));
+    }
+  }
+
+  public void testNestedTasks() {
+    try (TaskScope.CloseableScope outer = taskScope.enter()) {
+      TaskState outerState = injector.getInstance(TaskState.class);
+      try (TaskScope.CloseableScope inner = taskScope.enter()) {
+        assertNotSame(outerState, injector.getInstance(TaskState.class));
+      }
+      assertSame(outerState, injector.getInstance(TaskState.class));
+    }
+    assertFalse(taskScope.isInTask());
+  }
+
+  public void testForkedSubtasksShareTheTask() throws Exception {
+    try (TaskScope.CloseableScope task = taskScope.enter()) {
+      TaskState state = injector.getInstance(TaskState.class);
+      Future<TaskState> forked = taskScope.fork(() -> injector.getInstance(TaskState.class));
+      assertSame(state, forked.get());
+      // Subtasks can fork subtasks of their own
+      Future<TaskState> nested =
+          taskScope.fork(
+              () -> taskScope.fork(() -> injector.getInstance(TaskState.class)).get());
+      assertSame(state, nested.get());
+    }
+  }
+
+  public void testForkedSubtasksShareInstancesTheyCreate() throws Exception {
+    try (TaskScope.CloseableScope task = taskScope.enter()) {
+      TaskState state = taskScope.fork(() -> injector.getInstance(TaskState.class)).get();
+      assertSame(state, injector.getInstance(TaskState.class));
+    }
+  }
+
+  public void testThreadsStartedInATaskDontInheritIt() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      try (TaskScope.CloseableScope task = taskScope.enter()) {
+        // The executor creates its thread within the task...
+        assertFalse(executor.submit(taskScope::isInTask).get());
+      }
+      // ...which must not carry the task into later work.
+      assertFalse(executor.submit(taskScope::isInTask).get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void testClosingTheTaskCancelsItsSubtasks() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    Future<Void> subtask;
+    try (TaskScope.CloseableScope task = taskScope.enter()) {
+      subtask =
+          taskScope.fork(
+              () -> {
+                started.countDown();
+                new CountDownLatch(1).await();
+                return null;
+              });
+      started.await();
+    }
+    assertTrue(subtask.isCancelled());
+  }
+
+  public void testForkOutsideOfTask() {
+    try {
+      taskScope.fork(() -> null);
+      fail();
+    } catch (OutOfScopeException expected) {
+    }
+  }
+
+  public void testPropagatedThreadsShareTheTask() throws Exception {
+    try (TaskScope.CloseableScope task = taskScope.enter()) {
+      TaskState state = injector.getInstance(TaskState.class);
+      AtomicReference<TaskState> forked = new AtomicReference<>();
+      Thread thread =
+          new Thread(
+              taskScope.propagate(() -> forked.set(injector.getInstance(TaskState.class))));
+      thread.start();
+      thread.join();
+      assertSame(state, forked.get());
+    }
+  }
+
+  public void testProvisionCanJoinSubtasksOfTheSameTask() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Injector forkingInjector =
+          Guice.createInjector(
+              new AbstractModule() {
+                @Override
+                protected void configure() {
+                  bindScope(TaskScoped.class, taskScope);
+                }
+
+                @Provides
+                @TaskScoped
+                Integer provideForking(Provider<TaskState> stateProvider) throws Exception {
+                  // provision another binding of the task on another thread, while this one is
+                  // being provisioned
+                  executor.submit(taskScope.propagate(stateProvider::get)).get();
+                  return 1;
+                }
+              });
+      try (TaskScope.CloseableScope task = taskScope.enter()) {
+        assertEquals(1, (int) forkingInjector.getInstance(Integer.class));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void testInjectorsSharingTheScopeHaveTheirOwnInstances() {
+    Injector other =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bindScope(TaskScoped.class, taskScope);
+              }
+            });
+    try (TaskScope.CloseableScope task = taskScope.enter()) {
+      TaskState state = injector.getInstance(TaskState.class);
+      assertNotSame(state, other.getInstance(TaskState.class));
+      assertSame(state, injector.getInstance(TaskState.class));
+    }
+  }
+
+  public void testPropagatedWorkSharesTheTask() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Callable<TaskState> getState = () -> injector.getInstance(TaskState.class);
+      Callable<TaskState> propagated;
+      try (TaskScope.CloseableScope task = taskScope.enter()) {
+        TaskState state = injector.getInstance(TaskState.class);
+        propagated = taskScope.propagate(getState);
+        assertSame(state, executor.submit(propagated).get());
+      }
+      assertFalse(executor.submit(taskScope::isInTask).get());
+      try {
+        propagated.call();
+        fail();
+      } catch (ProvisionException expected) {
+        assertThat(expected).hasCauseThat().isInstanceOf(OutOfScopeException.class);
+        assertThat(expected).hasCauseThat().hasMessageThat().contains("task was closed");
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void testPropagateOutsideOfTask() {
+    try {
+      taskScope.propagate(() -> {});
+      fail();
+    } catch (OutOfScopeException expected) {
+    }
+  }
+
+  public void testTasksMustBeClosedInOrder() {
+    TaskScope.CloseableScope outer = taskScope.enter();
+    TaskScope.CloseableScope inner = taskScope.enter();
+    try {
+      outer.close();
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+    inner.close();
+    outer.close();
+    assertFalse(taskScope.isInTask());
+  }
+
+  @TaskScoped
+  static class TaskState {}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+import com.google.inject.Provides;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ProvisionListener;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ConstructionCycleAnalyzerTest {
+
+  @Test
+  public void acyclicChain_isNotTracked() {
+    Injector injector = analyzedInjector();
+    assertThat(isTracked(injector, A.class)).isFalse();
+    assertThat(isTracked(injector, B.class)).isFalse();
+    assertThat(isTracked(injector, C.class)).isFalse();
+    assertThat(injector.getInstance(A.class).b.c).isNotNull();
+  }
+
+  @Test
+  public void cycle_isTracked() {
+    Injector injector = analyzedInjector();
+    assertThat(isTracked(injector, CycleAImpl.class)).isTrue();
+    assertThat(isTracked(injector, CycleBImpl.class)).isTrue();
+    // depending on a cycle doesn't make a binding part of it
+    assertThat(isTracked(injector, DependsOnCycle.class)).isFalse();
+
+    DependsOnCycle dependsOnCycle = injector.getInstance(DependsOnCycle.class);
+    assertThat(dependsOnCycle.a.getB().getA()).isNotNull();
+  }
+
+  @Test
+  public void cycleThroughProvider_isTracked() {
+    Injector injector = analyzedInjector();
+    assertThat(isTracked(injector, SelfProvider.class)).isTrue();
+  }
+
+  @Test
+  public void unknownDependencies_areTracked() {
+    Injector injector = analyzedInjector();
+    assertThat(isTracked(injector, UsesInjector.class)).isTrue();
+    assertThat(isTracked(injector, DependsOnUsesInjector.class)).isTrue();
+  }
+
+  @Test
+  public void providerMethodDependencies_areFollowed() {
+    Injector injector = analyzedInjector();
+    assertThat(isTracked(injector, UsesProvidedString.class)).isFalse();
+    assertThat(injector.getInstance(UsesProvidedString.class).string).isEqualTo("c");
+  }
+
+  @Test
+  public void provisionListeners_areTracked() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(C.class);
+                bindListener(
+                    Matchers.any(),
+                    new ProvisionListener() {
+                      @Override
+                      public <T> void onProvision(ProvisionInvocation<T> provision) {}
+                    });
+              }
+            });
+    ConstructionCycleAnalyzer.analyze((InjectorImpl) injector);
+    assertThat(isTracked(injector, C.class)).isTrue();
+  }
+
+  private static Injector analyzedInjector() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(A.class);
+                bind(CycleA.class).to(CycleAImpl.class);
+                bind(CycleB.class).to(CycleBImpl.class);
+                bind(DependsOnCycle.class);
+                bind(SelfProvider.class);
+                bind(DependsOnUsesInjector.class);
+                bind(UsesProvidedString.class);
+              }
+
+              @Provides
+              String provideString(C c) {
+                return "c";
+              }
+            });
+    ConstructionCycleAnalyzer.analyze((InjectorImpl) injector);
+    return injector;
+  }
+
+  private static boolean isTracked(Injector injector, Class<?> type) {
+    return ((ConstructorBindingImpl<?>) injector.getBinding(type)).isConstructionTracked();
+  }
+
+  static class A {
+    final B b;
+
+    @Inject
+    A(B b) {
+      this.b = b;
+    }
+  }
+
+  static class B {
+    @Inject C c;
+  }
+
+  static class C {}
+
+  interface CycleA {
+    CycleB getB();
+  }
+
+  interface CycleB {
+    CycleA getA();
+  }
+
+  static class CycleAImpl implements CycleA {
+    final CycleB b;
+
+    @Inject
+    CycleAImpl(CycleB b) {
+      this.b = b;
+    }
+
+    @Override
+    public CycleB getB() {
+      return b;
+    }
+  }
+
+  static class CycleBImpl implements CycleB {
+    final CycleA a;
+
+    @Inject
+    CycleBImpl(CycleA a) {
+      this.a = a;
+    }
+
+    @Override
+    public CycleA getA() {
+      return a;
+    }
+  }
+
+  static class DependsOnCycle {
+    final CycleA a;
+
+    @Inject
+    DependsOnCycle(CycleA a) {
+      this.a = a;
+    }
+  }
+
+  static class SelfProvider {
+    @Inject
+    SelfProvider(Provider<SelfProvider> provider) {}
+  }
+
+  static class UsesInjector {
+    @Inject
+    UsesInjector(Injector injector) {}
+  }
+
+  static class DependsOnUsesInjector {
+    @Inject
+    DependsOnUsesInjector(UsesInjector usesInjector) {}
+  }
+
+  static class UsesProvidedString {
+    final String string;
+
+    @Inject
+    UsesProvidedString(String string) {
+      this.string = string;
+    }
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.ProvisionException;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import com.google.inject.spi.Dependency;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Checks that injectors whose handles are linked eagerly provide the same results and report the
+ * same errors as the factories they were linked from.
+ *
+ * <p>These tests only run with {@code guice_use_method_handles=YES} and {@code
+ * guice_link_handles_eagerly=ENABLED}.
+ */
+@RunWith(JUnit4.class)
+public final class EagerHandleLinkingTest {
+
+  private Injector injector;
+
+  @Before
+  public void setUp() {
+    assumeTrue(InternalFlags.isEagerHandleLinkingEnabled());
+    injector =
+        Guice.createInjector(
+            Stage.PRODUCTION,
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Service.class).in(Singleton.class);
+                bind(Request.class);
+                bind(Handler.class);
+                bind(NeedsNull.class);
+                bind(NeedsFailing.class);
+                bind(String.class).annotatedWith(Names.named("greeting")).toInstance("hello");
+              }
+
+              @Provides
+              @Named("failing")
+              Integer provideFailing() {
+                throw new IllegalStateException("no integer");
+              }
+
+              @Provides
+              @Named("null")
+              String provideNull() {
+                return null;
+              }
+            });
+  }
+
+  @Test
+  public void linkedHandles_provideTheSameGraph() {
+    Request linked = injector.getInstance(Request.class);
+    Request unlinked = provideFromFactory(Key.get(Request.class));
+
+    assertThat(linked).isNotSameInstanceAs(unlinked);
+    assertThat(linked.service).isSameInstanceAs(unlinked.service);
+    assertThat(linked.service).isSameInstanceAs(injector.getInstance(Service.class));
+    assertThat(linked.greeting).isEqualTo(unlinked.greeting);
+    assertThat(linked.handler).isNotSameInstanceAs(unlinked.handler);
+    assertThat(linked.handler.greeting).isEqualTo(unlinked.handler.greeting);
+    assertThat(linked.handlerProvider.get().greeting).isEqualTo("hello");
+  }
+
+  @Test
+  public void linkedHandles_reportTheSameErrors() {
+    assertSameError(Key.get(Integer.class, Names.named("failing")));
+    assertSameError(Key.get(NeedsNull.class));
+    assertSameError(Key.get(NeedsFailing.class));
+  }
+
+  private void assertSameError(Key<?> key) {
+    ProvisionException linked =
+        assertThrows(ProvisionException.class, () -> injector.getInstance(key));
+    ProvisionException unlinked =
+        assertThrows(ProvisionException.class, () -> provideFromFactory(key));
+    assertThat(linked).hasMessageThat().isEqualTo(unlinked.getMessage());
+    assertThat(linked.getErrorMessages()).hasSize(unlinked.getErrorMessages().size());
+  }
+
+  /** Provides the key through its binding's factory, without the handle. */
+  private <T> T provideFromFactory(Key<T> key) {
+    @SuppressWarnings("unchecked") // the factory of a Binding<T> provides T
+    InternalFactory<T> factory =
+        (InternalFactory<T>) ((BindingImpl<T>) injector.getBinding(key)).getInternalFactory();
+    return new InternalFactory.DefaultProvider<>(
+            factory, (InjectorImpl) injector, Dependency.get(key))
+        .get();
+  }
+
+  static class Service {}
+
+  static class Handler {
+    @Inject
+    @Named("greeting")
+    String greeting;
+  }
+
+  static class Request {
+    final Service service;
+    final String greeting;
+    final Handler handler;
+    final Provider<Handler> handlerProvider;
+
+    @Inject
+    Request(
+        Service service,
+        @Named("greeting") String greeting,
+        Handler handler,
+        Provider<Handler> handlerProvider) {
+      this.service = service;
+      this.greeting = greeting;
+      this.handler = handler;
+      this.handlerProvider = handlerProvider;
+    }
+  }
+
+  static class NeedsNull {
+    @Inject
+    NeedsNull(@Named("null") String value) {}
+  }
+
+  static class NeedsFailing {
+    @Inject
+    NeedsFailing(Handler handler, @Named("failing") Integer value) {}
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+import com.google.inject.spi.Element;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class InjectorBindingDataTest {
+
+  @Test
+  public void compact_preservesBindingsAndElements() {
+    Injector injector =
+        Guice.createInjector(
+            Stage.PRODUCTION,
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(String.class).annotatedWith(Names.named("a")).toInstance("a");
+                bind(String.class).annotatedWith(Names.named("b")).toInstance("b");
+                bind(Foo.class).in(Singleton.class);
+                requestStaticInjection(Foo.class);
+                getProvider(Foo.class);
+              }
+            });
+    ImmutableList<Element> elements = ImmutableList.copyOf(injector.getElements());
+    ImmutableList<Key<?>> keys = ImmutableList.copyOf(injector.getBindings().keySet());
+
+    InjectorBindingData bindingData = ((InjectorImpl) injector).getBindingData();
+    bindingData.compact();
+
+    assertThat(injector.getElements()).containsExactlyElementsIn(elements).inOrder();
+    assertThat(injector.getBindings().keySet()).containsExactlyElementsIn(keys).inOrder();
+    assertThat(injector.findBindingsByType(TypeLiteral.get(String.class))).hasSize(2);
+    assertThat(injector.getInstance(Key.get(String.class, Names.named("b")))).isEqualTo("b");
+    assertThat(injector.getInstance(Foo.class)).isSameInstanceAs(injector.getInstance(Foo.class));
+    assertThat(injector.getScopeBindings()).containsKey(Singleton.class);
+
+    // JIT bindings and child injectors are kept elsewhere, so they still work
+    injector.getInstance(Bar.class);
+    assertThat(injector.createChildInjector().getInstance(Foo.class)).isNotNull();
+
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> bindingData.putBinding(Key.get(Bar.class), null));
+  }
+
+  static class Foo {}
+
+  static class Bar {}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class InjectorImplTest {
+
+  @Test
+  public void tryGetInstance_remembersUnboundKeysOnceProbed() {
+    InjectorImpl injector = (InjectorImpl) Guice.createInjector(new ZeroModule());
+    InjectorImpl child = (InjectorImpl) injector.createChildInjector();
+    assertThat(injector.unboundKeyCount()).isEqualTo(0);
+    assertThat(child.unboundKeyCount()).isEqualTo(0);
+
+    assertThat(child.tryGetInstance(named("0"))).hasValue("zero");
+    assertThat(child.unboundKeyCount()).isEqualTo(0);
+
+    assertThat(child.tryGetInstance(named("1"))).isEmpty();
+    assertThat(child.unboundKeyCount()).isEqualTo(1);
+    assertThat(injector.unboundKeyCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void tryGetInstance_evictsUnboundKeysBeyondTheBound() {
+    InjectorImpl injector = (InjectorImpl) Guice.createInjector(new ZeroModule());
+
+    int probed = 2 * InjectorImpl.MAX_UNBOUND_KEYS;
+    for (int i = 1; i <= probed; i++) {
+      assertThat(injector.tryGetInstance(named("" + i))).isEmpty();
+    }
+    assertThat(injector.unboundKeyCount()).isGreaterThan(0L);
+    assertThat(injector.unboundKeyCount()).isAtMost((long) InjectorImpl.MAX_UNBOUND_KEYS);
+
+    // evicted and remembered keys are both still unbound
+    assertThat(injector.tryGetInstance(named("1"))).isEmpty();
+    assertThat(injector.tryGetInstance(named("" + probed))).isEmpty();
+    assertThat(injector.tryGetInstance(named("0"))).hasValue("zero");
+  }
+
+  private static Key<String> named(String name) {
+    return Key.get(String.class, Names.named(name));
+  }
+
+  private static class ZeroModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bindConstant().annotatedWith(Names.named("0")).to("zero");
+    }
+  }
+}
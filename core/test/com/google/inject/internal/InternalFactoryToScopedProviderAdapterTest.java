@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.lang.invoke.MethodType.methodType;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Binding;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.MethodHandleScope;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class InternalFactoryToScopedProviderAdapterTest {
+  private static final Key<Object> KEY = Key.get(Object.class);
+  private static final Dependency<Object> DEPENDENCY = Dependency.get(KEY);
+
+  private final InjectorImpl injector = (InjectorImpl) Guice.createInjector();
+  private final AtomicInteger created = new AtomicInteger();
+  private final InternalFactory<Object> creator =
+      new InternalFactory<Object>() {
+        @Override
+        public Object get(InternalContext context, Dependency<?> dependency, boolean linked) {
+          return create();
+        }
+
+        @Override
+        MethodHandleResult makeHandle(LinkageContext context, boolean linked) {
+          return makeCachable(
+              MethodHandles.dropArguments(
+                  CREATE_HANDLE.bindTo(InternalFactoryToScopedProviderAdapterTest.this),
+                  0,
+                  InternalContext.class,
+                  Dependency.class));
+        }
+      };
+
+  private static final MethodHandle CREATE_HANDLE =
+      InternalMethodHandles.findVirtualOrDie(
+          InternalFactoryToScopedProviderAdapterTest.class, "create", methodType(Object.class));
+
+  Object create() {
+    created.incrementAndGet();
+    return new Object();
+  }
+
+  @Test
+  public void methodHandleScope_isLinkedAroundTheUnscopedHandle() throws Throwable {
+    MemoizingScope scope = new MemoizingScope(/* supportsHandles= */ true);
+    InternalFactory<Object> factory = scopedFactory(scope);
+
+    MethodHandle handle = factory.getHandle(new LinkageContext(), /* linked= */ false);
+    assertThat(scope.linkCount).isEqualTo(1);
+
+    Object first = invoke(handle);
+    assertThat(invoke(handle)).isSameInstanceAs(first);
+    assertThat(created.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void methodHandleScope_sharesStateWithTheProvider() throws Throwable {
+    MemoizingScope scope = new MemoizingScope(/* supportsHandles= */ true);
+    InternalFactory<Object> factory = scopedFactory(scope);
+
+    Object provided;
+    try (InternalContext context = injector.enterContext()) {
+      provided = factory.get(context, DEPENDENCY, /* linked= */ false);
+    }
+    MethodHandle handle = factory.getHandle(new LinkageContext(), /* linked= */ false);
+    assertThat(invoke(handle)).isSameInstanceAs(provided);
+    assertThat(created.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void methodHandleScope_fallsBackToTheProvider() throws Throwable {
+    MemoizingScope scope = new MemoizingScope(/* supportsHandles= */ false);
+    InternalFactory<Object> factory = scopedFactory(scope);
+
+    MethodHandle handle = factory.getHandle(new LinkageContext(), /* linked= */ false);
+    assertThat(scope.linkCount).isEqualTo(0);
+
+    Object first = invoke(handle);
+    assertThat(invoke(handle)).isSameInstanceAs(first);
+    assertThat(created.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void singletonProvider_isReplacedOnceTheSingletonIsCreated() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Lazy.class).in(Singleton.class);
+              }
+            });
+    Binding<Lazy> binding = injector.getBinding(Lazy.class);
+    Provider<Lazy> uninitialized = binding.getProvider();
+    assertThat(uninitialized).isInstanceOf(InternalFactory.ProvisionalProvider.class);
+    // Injected providers use the provider of the binding until the singleton is created.
+    assertThat(injector.getInstance(UsesLazy.class).provider).isSameInstanceAs(uninitialized);
+
+    Lazy lazy = uninitialized.get();
+    Provider<Lazy> initialized = binding.getProvider();
+    assertThat(initialized).isNotInstanceOf(InternalFactory.ProvisionalProvider.class);
+    assertThat(initialized.get()).isSameInstanceAs(lazy);
+    assertThat(binding.getProvider()).isSameInstanceAs(initialized);
+    assertThat(injector.getInstance(UsesLazy.class).provider).isSameInstanceAs(initialized);
+  }
+
+  @Test
+  public void singletonProviderHandle_patchesItselfOnceTheSingletonIsCreated() throws Throwable {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Lazy.class).in(Singleton.class);
+              }
+            });
+    Provider<Lazy> uninitialized = injector.getBinding(Lazy.class).getProvider();
+    BindingImpl<Provider<Lazy>> providerBinding =
+        (BindingImpl<Provider<Lazy>>) injector.getBinding(new Key<Provider<Lazy>>() {});
+    MethodHandle handle =
+        providerBinding.getInternalFactory().getHandle(new LinkageContext(), /* linked= */ false);
+    assertThat(invoke(handle)).isSameInstanceAs(uninitialized);
+
+    uninitialized.get();
+    Provider<Lazy> initialized = injector.getBinding(Lazy.class).getProvider();
+    assertThat(invoke(handle)).isSameInstanceAs(initialized);
+    assertThat(invoke(handle)).isSameInstanceAs(initialized);
+    // The handle patches itself, so it is cached rather than linked again.
+    assertThat(
+            providerBinding
+                .getInternalFactory()
+                .getHandle(new LinkageContext(), /* linked= */ false))
+        .isSameInstanceAs(handle);
+  }
+
+  static class Lazy {}
+
+  static class UsesLazy {
+    @Inject Provider<Lazy> provider;
+  }
+
+  private InternalFactory<Object> scopedFactory(MemoizingScope scope) {
+    return InternalFactoryToScopedProviderAdapter.create(
+        KEY,
+        scope,
+        creator,
+        scope.scope(KEY, ProviderToInternalFactoryAdapter.create(injector, creator)),
+        "source");
+  }
+
+  private Object invoke(MethodHandle handle) throws Throwable {
+    try (InternalContext context = injector.enterContext()) {
+      return (Object) handle.invokeExact(context, (Dependency<?>) DEPENDENCY);
+    }
+  }
+
+  /** A scope that keeps one instance per key, through either providers or method handles. */
+  static final class MemoizingScope implements MethodHandleScope {
+    private static final MethodHandle GET_HANDLE =
+        InternalMethodHandles.findVirtualOrDie(
+            MemoizingScope.class,
+            "get",
+            methodType(Object.class, Key.class, MethodHandle.class, Object.class));
+
+    private final Map<Key<?>, Object> instances = new ConcurrentHashMap<>();
+    private final boolean supportsHandles;
+    int linkCount;
+
+    MemoizingScope(boolean supportsHandles) {
+      this.supportsHandles = supportsHandles;
+    }
+
+    @Override
+    public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+      @SuppressWarnings("unchecked") // we only store instances of T under Key<T>
+      Provider<T> scoped = () -> (T) instances.computeIfAbsent(key, k -> unscoped.get());
+      return scoped;
+    }
+
+    @Override
+    public MethodHandle scope(Key<?> key, MethodHandle unscoped) {
+      if (!supportsHandles) {
+        return null;
+      }
+      linkCount++;
+      return MethodHandles.insertArguments(GET_HANDLE, 0, this, key, unscoped);
+    }
+
+    Object get(Key<?> key, MethodHandle unscoped, Object context) throws Throwable {
+      Object instance = instances.get(key);
+      if (instance == null) {
+        instance = (Object) unscoped.invokeExact(context);
+        instances.put(key, instance);
+      }
+      return instance;
+    }
+
+    @Override
+    public String toString() {
+      return "MemoizingScope";
+    }
+  }
+}
@@ -21,6 +21,7 @@ import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.truth.Truth.assertThat;
 import static java.lang.invoke.MethodType.methodType;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeTrue;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -32,6 +33,7 @@ import com.google.inject.Inject;
 import com.google.inject.Key;
 import com.google.inject.Provider;
 import com.google.inject.ProvisionException;
+import com.google.inject.internal.aop.ClassBuilding;
 import com.google.inject.spi.Dependency;
 import com.google.inject.spi.InjectionPoint;
 import java.lang.invoke.MethodHandle;
@@ -114,6 +116,84 @@ public final class InternalMethodHandlesTest {
     Asserts.awaitClear(factoryRef);
   }
 
+  @Test
+  public void generatedProviderMaker_makesAProvider() {
+    assumeTrue(ClassBuilding.canBuildHandleProvider());
+    InjectorImpl injector = (InjectorImpl) Guice.createInjector();
+    InternalFactory<String> factory = ConstantFactory.create("Hello World", "[a source]");
+    var dep = Dependency.get(Key.get(String.class));
+    Provider<String> provider = InternalMethodHandles.makeGeneratedProvider(factory, injector, dep);
+
+    assertThat(provider.get()).isEqualTo("Hello World");
+    assertThat(provider.get()).isEqualTo("Hello World");
+    assertThat(provider.toString()).isEqualTo(factory.toString());
+    assertThat(provider.getClass().getName()).contains(BytecodeGen.PROVIDER_BY_GUICE_MARKER);
+    // The class is shared by all providers of the same factory
+    assertThat(InternalMethodHandles.makeGeneratedProvider(factory, injector, dep).getClass())
+        .isSameInstanceAs(provider.getClass());
+    assertThat(
+            InternalMethodHandles.makeGeneratedProvider(
+                    ConstantFactory.create("Goodbye World", "[a source]"), injector, dep)
+                .getClass())
+        .isNotSameInstanceAs(provider.getClass());
+  }
+
+  @Test
+  public void generatedProviderMaker_makesAProvider_throwsExceptions() {
+    assumeTrue(ClassBuilding.canBuildHandleProvider());
+    InjectorImpl injector = (InjectorImpl) Guice.createInjector();
+    var dep = Dependency.get(Key.get(String.class));
+    InternalFactory<String> factory =
+        new InternalFactory<String>() {
+          @Override
+          public String get(InternalContext context, Dependency<?> dependency, boolean linked)
+              throws InternalProvisionException {
+            throw new AssertionError();
+          }
+
+          @Override
+          MethodHandleResult makeHandle(LinkageContext context, boolean linked) {
+            checkArgument(!linked);
+            return makeCachable(
+                MethodHandles.dropArguments(
+                    MethodHandles.insertArguments(
+                        MethodHandles.throwException(
+                            Object.class, InternalProvisionException.class),
+                        0,
+                        InternalProvisionException.create(
+                            ErrorId.OPTIONAL_CONSTRUCTOR, "Hello World")),
+                    0,
+                    InternalContext.class,
+                    Dependency.class));
+          }
+        };
+    Provider<String> provider = InternalMethodHandles.makeGeneratedProvider(factory, injector, dep);
+
+    var pe = assertThrows(ProvisionException.class, provider::get);
+    assertThat(pe).hasMessageThat().contains("Hello World");
+    // The context is exited even when provisioning fails.
+    assertThat(injector.getLocalContext()).isNull();
+  }
+
+  @Test
+  public void generatedProviderMaker_doesntPinTheInjector() {
+    assumeTrue(ClassBuilding.canBuildHandleProvider());
+    InjectorImpl injector = (InjectorImpl) Guice.createInjector();
+    var dep = Dependency.get(Key.get(String.class));
+    InternalFactory<String> factory = makeFactoryCapturingInjector(injector);
+    var injectorRef = new WeakReference<>(injector);
+    var factoryRef = new WeakReference<>(factory);
+
+    var provider = InternalMethodHandles.makeGeneratedProvider(factory, injector, dep);
+    var classRef = new WeakReference<>(provider.getClass());
+    provider = null;
+    factory = null;
+    injector = null;
+    Asserts.awaitClear(injectorRef);
+    Asserts.awaitClear(factoryRef);
+    Asserts.awaitClear(classRef);
+  }
+
   private static InternalFactory<String> makeFactoryCapturingInjector(InjectorImpl injector) {
     return new InternalFactory<String>() {
       // This is a reference to the injector that is captured by the factory.
@@ -132,6 +212,32 @@ public final class InternalMethodHandlesTest {
     };
   }
 
+  @Test
+  public void linkEagerly_linksTheHandleOnce() {
+    InjectorImpl injector = (InjectorImpl) Guice.createInjector();
+    var linkCount = new AtomicInteger();
+    InternalFactory<String> factory =
+        new InternalFactory<String>() {
+          @Override
+          public String get(InternalContext context, Dependency<?> dependency, boolean linked) {
+            throw new AssertionError();
+          }
+
+          @Override
+          MethodHandleResult makeHandle(LinkageContext context, boolean linked) {
+            linkCount.incrementAndGet();
+            return makeCachable(InternalMethodHandles.constantFactoryGetHandle("Hello World"));
+          }
+        };
+    InternalMethodHandles.linkEagerly(factory);
+    assertThat(linkCount.get()).isEqualTo(1);
+
+    var dep = Dependency.get(Key.get(String.class));
+    assertThat(InternalMethodHandles.makeProvider(factory, injector, dep).get())
+        .isEqualTo("Hello World");
+    assertThat(linkCount.get()).isEqualTo(1);
+  }
+
   @Test
   public void providerMaker_makesAScopedProvider() {
     InjectorImpl injector = (InjectorImpl) Guice.createInjector();
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Asserts;
+import com.google.inject.Key;
+import com.google.inject.ProvisionException;
+import com.google.inject.spi.ErrorDetail;
+import com.google.inject.spi.Message;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class LazyErrorDetailTest {
+
+  @Test
+  public void message_isFormattedWhenRequested() {
+    AtomicInteger formatCount = new AtomicInteger();
+    Object argument =
+        new Object() {
+          @Override
+          public String toString() {
+            formatCount.incrementAndGet();
+            return "argument";
+          }
+        };
+    LazyErrorDetail detail = lazy("Failed with %s", argument);
+    assertThat(formatCount.get()).isEqualTo(0);
+
+    assertThat(detail.getMessage()).isEqualTo("Failed with argument");
+    assertThat(detail.getMessage()).isEqualTo("Failed with argument");
+    assertThat(formatCount.get()).isEqualTo(1);
+    // The formatted message is shared with copies.
+    assertThat(detail.withSources(ImmutableList.of("source")).getMessage())
+        .isEqualTo("Failed with argument");
+    assertThat(formatCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void message_isFormattedLikeAGenericErrorDetail() {
+    Key<String> key = Key.get(String.class);
+    assertThat(lazy("%s is missing", key).getMessage())
+        .isEqualTo(Messages.create(ErrorId.OTHER, "%s is missing", key).getMessage());
+  }
+
+  @Test
+  public void equals_comparesTheFormattedMessage() {
+    ErrorDetail<?> generic =
+        new GenericErrorDetail(ErrorId.OTHER, "Failed with 1", ImmutableList.of(), null);
+    assertThat(lazy("Failed with %s", 1)).isEqualTo(generic);
+    assertThat(generic).isEqualTo(lazy("Failed with %s", 1));
+    assertThat(generic.hashCode()).isEqualTo(lazy("Failed with %s", 1).hashCode());
+    assertThat(generic).isNotEqualTo(lazy("Failed with %s", 2));
+    assertThat(lazy("Failed with %s", 1)).isEqualTo(lazy("Failed with %s", 1));
+    assertThat(lazy("Failed with %s", 1).hashCode())
+        .isEqualTo(lazy("Failed with %s", 1).hashCode());
+    assertThat(lazy("Failed with %s", 1)).isNotEqualTo(lazy("Failed with %s", 2));
+  }
+
+  @Test
+  public void provisionException_formatsLazyMessages() {
+    Message message =
+        new Message(GuiceInternal.GUICE_INTERNAL, ErrorId.OTHER, lazy("Failed with %s", 1));
+    assertThat(new ProvisionException(ImmutableList.of(message)).getMessage())
+        .contains("1) Failed with 1");
+  }
+
+  @Test
+  public void serialization_replacesWithGenericErrorDetail() throws Exception {
+    ErrorDetail<?> reserialized = Asserts.reserialize(lazy("Failed with %s", new Object() {}));
+    assertThat(reserialized).isInstanceOf(GenericErrorDetail.class);
+    assertThat(reserialized.getMessage()).startsWith("Failed with ");
+  }
+
+  private static LazyErrorDetail lazy(String messageFormat, Object... arguments) {
+    return new LazyErrorDetail(ErrorId.OTHER, messageFormat, arguments, ImmutableList.of(), null);
+  }
+}
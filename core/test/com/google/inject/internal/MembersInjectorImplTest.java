@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.MembersInjector;
+import com.google.inject.Module;
+import com.google.inject.Singleton;
+import com.google.inject.TypeLiteral;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.TypeEncounter;
+import com.google.inject.spi.TypeListener;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class MembersInjectorImplTest {
+
+  private InjectorImpl injector;
+  private final List<Boolean> enteredContext = new ArrayList<>();
+
+  @Test
+  public void injectMembers_skipsTheContextOnceSingletonsAreCreated() {
+    injector = createInjector(Service.class);
+    MembersInjector<Handler> membersInjector = injector.getMembersInjector(Handler.class);
+
+    Handler first = new Handler();
+    membersInjector.injectMembers(first);
+    Handler second = new Handler();
+    membersInjector.injectMembers(second);
+
+    assertThat(enteredContext).containsExactly(true, false).inOrder();
+    assertThat(second.service).isSameInstanceAs(first.service);
+    assertThat(second.name).isEqualTo("name");
+    assertThat(second.otherService).isSameInstanceAs(first.otherService);
+  }
+
+  @Test
+  public void injectMembers_entersTheContextForUnscopedDependencies() {
+    injector = createInjector(UnscopedService.class);
+    MembersInjector<UnscopedHandler> membersInjector =
+        injector.getMembersInjector(UnscopedHandler.class);
+
+    membersInjector.injectMembers(new UnscopedHandler());
+    membersInjector.injectMembers(new UnscopedHandler());
+
+    assertThat(enteredContext).containsExactly(true, true);
+  }
+
+  private InjectorImpl createInjector(Class<?>... boundTypes) {
+    Module module =
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            for (Class<?> boundType : boundTypes) {
+              bind(boundType);
+            }
+            bind(String.class).toInstance("name");
+            bindListener(
+                Matchers.any(),
+                new TypeListener() {
+                  @Override
+                  public <I> void hear(TypeLiteral<I> type, TypeEncounter<I> encounter) {
+                    if (type.getRawType().getSimpleName().endsWith("Handler")) {
+                      encounter.register(
+                          (MembersInjector<I>)
+                              instance -> enteredContext.add(injector.getLocalContext() != null));
+                    }
+                  }
+                });
+          }
+        };
+    return (InjectorImpl) Guice.createInjector(module);
+  }
+
+  @Singleton
+  static class Service {}
+
+  static class UnscopedService {}
+
+  static class Handler {
+    @Inject Service service;
+    String name;
+    Service otherService;
+
+    @Inject
+    void init(String name, Service otherService) {
+      this.name = name;
+      this.otherService = otherService;
+    }
+  }
+
+  static class UnscopedHandler {
+    @Inject UnscopedService service;
+  }
+}
@@ -19,8 +19,11 @@ package com.google.inject.internal;
 import static com.google.inject.Asserts.assertContains;
 import static org.junit.Assert.assertThrows;
 
+import com.google.inject.Key;
 import com.google.inject.TypeLiteral;
 import com.google.inject.internal.MoreTypes.ParameterizedTypeImpl;
+import com.google.inject.name.Names;
+import com.google.inject.util.Types;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
@@ -51,6 +54,23 @@ public class MoreTypesTest extends TestCase {
         MoreTypes.typeToString(mapInnerLongToSetInnerLong.getType()));
   }
 
+  public void testInternKey() {
+    Key<List<String>> first = Key.get(new TypeLiteral<List<String>>() {}, Names.named("a"));
+    Key<List<String>> second =
+        Key.get(new TypeLiteral<List<String>>() {}, Names.named("a"))
+            .ofType(first.getTypeLiteral());
+    assertNotSame(first, second);
+    assertSame(MoreTypes.intern(first), MoreTypes.intern(second));
+    assertNotSame(MoreTypes.intern(first), MoreTypes.intern(Key.get(first.getTypeLiteral())));
+  }
+
+  public void testInternTypeLiteral() {
+    TypeLiteral<?> first = TypeLiteral.get(Types.listOf(String.class));
+    TypeLiteral<?> second = TypeLiteral.get(Types.listOf(String.class));
+    assertNotSame(first, second);
+    assertSame(MoreTypes.intern(first), MoreTypes.intern(second));
+  }
+
   public void testParameterizedType_lessArgs() {
     IllegalArgumentException expected =
         assertThrows(
@@ -50,6 +50,7 @@ import com.google.inject.Provider;
 import com.google.inject.Provides;
 import com.google.inject.ProvisionException;
 import com.google.inject.Scopes;
+import com.google.inject.Singleton;
 import com.google.inject.Stage;
 import com.google.inject.TypeLiteral;
 import com.google.inject.multibindings.MapBinder;
@@ -1647,6 +1648,43 @@ public class MultibinderTest extends TestCase {
     }
   }
 
+  public void testMultibinderSetOfSingletonsIsReused() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                Multibinder<Object> multibinder = Multibinder.newSetBinder(binder(), Object.class);
+                multibinder.addBinding().toInstance("a");
+                multibinder.addBinding().to(Object.class).in(Scopes.SINGLETON);
+                multibinder.addBinding().to(SingletonElement.class);
+              }
+            });
+    Set<Object> set = injector.getInstance(new Key<Set<Object>>() {});
+    assertEquals(3, set.size());
+    assertSame(set, injector.getInstance(new Key<Set<Object>>() {}));
+  }
+
+  public void testMultibinderSetWithUnscopedElementsIsNotReused() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                Multibinder<Object> multibinder = Multibinder.newSetBinder(binder(), Object.class);
+                multibinder.addBinding().toInstance("a");
+                multibinder.addBinding().to(Object.class);
+              }
+            });
+    Set<Object> first = injector.getInstance(new Key<Set<Object>>() {});
+    Set<Object> second = injector.getInstance(new Key<Set<Object>>() {});
+    assertNotSame(first, second);
+    assertFalse(first.equals(second));
+  }
+
+  @Singleton
+  static class SingletonElement {}
+
   private <T> Collection<T> collectValues(Collection<? extends Provider<T>> providers) {
     Collection<T> values = Lists.newArrayList();
     for (Provider<T> provider : providers) {
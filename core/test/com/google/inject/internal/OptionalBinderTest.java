@@ -1262,6 +1262,41 @@ public class OptionalBinderTest extends TestCase {
     assertThat(e.get()).isInstanceOf(InternalFactory.InstanceProvider.class);
   }
 
+  public void testOptionalOfSingletonIsReused() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                OptionalBinder.newOptionalBinder(binder(), MyClass.class)
+                    .setDefault()
+                    .to(MySubclass.class)
+                    .in(Scopes.SINGLETON);
+              }
+            });
+    Key<Optional<MyClass>> optionalKey = new Key<Optional<MyClass>>() {};
+    Key<java.util.Optional<MyClass>> javaOptionalKey = new Key<java.util.Optional<MyClass>>() {};
+    assertSame(injector.getInstance(optionalKey), injector.getInstance(optionalKey));
+    assertSame(injector.getInstance(javaOptionalKey), injector.getInstance(javaOptionalKey));
+    assertSame(injector.getInstance(MyClass.class), injector.getInstance(optionalKey).get());
+  }
+
+  public void testOptionalOfUnscopedLinkIsNotReused() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                OptionalBinder.newOptionalBinder(binder(), MyClass.class)
+                    .setBinding()
+                    .to(MySubclass.class);
+              }
+            });
+    Key<java.util.Optional<MyClass>> javaOptionalKey = new Key<java.util.Optional<MyClass>>() {};
+    assertNotSame(
+        injector.getInstance(javaOptionalKey).get(), injector.getInstance(javaOptionalKey).get());
+  }
+
   /**
    * Returns the short name for a module instance. Used to get the name of the anoymous class that
    * can change depending on the order the module intance is created.
@@ -1281,4 +1316,6 @@ public class OptionalBinderTest extends TestCase {
   }
 
   static class MyClass {}
+
+  static class MySubclass extends MyClass {}
 }
@@ -22,10 +22,13 @@ import static com.google.inject.matcher.Matchers.not;
 import static com.google.inject.matcher.Matchers.only;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
+import com.google.inject.internal.aop.ClassBuilding;
 import com.google.inject.spi.InjectionPoint;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -107,6 +110,34 @@ public class ProxyFactoryTest {
     assertTrue(interceptor.invoked);
   }
 
+  @Test
+  public void testPreparedEnhancersAreReused()
+      throws NoSuchMethodException, InvocationTargetException, ErrorsException {
+    SimpleInterceptor interceptor = new SimpleInterceptor();
+
+    aspects.add(
+        new MethodAspect(only(PreparedBar.class), annotatedWith(Intercept.class), interceptor));
+
+    // PreparedBar isn't enhanced by any other test, so only this test generates its enhancer
+    InjectionPoint fooConstructor = InjectionPoint.forConstructorOf(Foo.class);
+    InjectionPoint barConstructor = InjectionPoint.forConstructorOf(PreparedBar.class);
+    int generatedEnhancers = ClassBuilding.generatedEnhancerCount();
+    ProxyFactory.prepareEnhancers(ImmutableList.of(fooConstructor, barConstructor), aspects);
+    assertEquals(generatedEnhancers + 1, ClassBuilding.generatedEnhancerCount());
+
+    Bar first = new ProxyFactory<PreparedBar>(barConstructor, aspects).create().newInstance();
+    Bar second = new ProxyFactory<PreparedBar>(barConstructor, aspects).create().newInstance();
+    assertSame(first.getClass(), second.getClass());
+    assertEquals(generatedEnhancers + 1, ClassBuilding.generatedEnhancerCount());
+
+    Foo foo = new ProxyFactory<Foo>(fooConstructor, aspects).create().newInstance();
+    assertSame(Foo.class, foo.getClass());
+
+    second.intercepted();
+    assertTrue(second.interceptedCalled);
+    assertTrue(interceptor.invoked);
+  }
+
   public static class Foo {
     boolean fooCalled;
 
@@ -135,6 +166,8 @@ public class ProxyFactoryTest {
   @Retention(RetentionPolicy.RUNTIME)
   @interface Intercept {}
 
+  public static class PreparedBar extends Bar {}
+
   @Test
   public void testWithConstructorArguments()
       throws InvocationTargetException, NoSuchMethodException, ErrorsException {
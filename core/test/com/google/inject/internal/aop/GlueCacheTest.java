@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal.aop;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.lang.reflect.Executable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class GlueCacheTest {
+
+  private static final String KEY = "0123456789abcdef";
+  private static final byte[] BYTECODE = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 1, 2};
+
+  private Path cacheDir;
+
+  @Before
+  public void createCacheDir() throws IOException {
+    cacheDir = Files.createTempDirectory("glue");
+  }
+
+  @After
+  public void deleteCacheDir() throws IOException {
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      for (Path file : files.collect(toList())) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(cacheDir);
+  }
+
+  @Test
+  public void load_returnsStoredBytecode() {
+    GlueCache.store(cacheDir, KEY, BYTECODE);
+    assertThat(GlueCache.load(cacheDir, KEY)).isEqualTo(BYTECODE);
+  }
+
+  @Test
+  public void load_returnsNullForMissingEntries() {
+    assertThat(GlueCache.load(cacheDir, KEY)).isNull();
+    GlueCache.store(cacheDir, KEY, BYTECODE);
+    assertThat(GlueCache.load(cacheDir, "fedcba9876543210")).isNull();
+  }
+
+  @Test
+  public void load_returnsNullForCorruptEntries() throws IOException {
+    GlueCache.store(cacheDir, KEY, BYTECODE);
+    Path file = cacheDir.resolve(KEY + ".glue");
+    byte[] entry = Files.readAllBytes(file);
+
+    byte[] corrupt = entry.clone();
+    corrupt[corrupt.length - 1] ^= 1;
+    Files.write(file, corrupt);
+    assertThat(GlueCache.load(cacheDir, KEY)).isNull();
+
+    Files.write(file, Arrays.copyOf(entry, entry.length - 1));
+    assertThat(GlueCache.load(cacheDir, KEY)).isNull();
+
+    Files.write(file, Arrays.copyOf(entry, entry.length + 1));
+    assertThat(GlueCache.load(cacheDir, KEY)).isNull();
+
+    Files.write(file, new byte[0]);
+    assertThat(GlueCache.load(cacheDir, KEY)).isNull();
+
+    // corrupt entries are replaced when the glue is stored again
+    GlueCache.store(cacheDir, KEY, BYTECODE);
+    assertThat(GlueCache.load(cacheDir, KEY)).isEqualTo(BYTECODE);
+  }
+
+  @Test
+  public void load_returnsNullForOtherFormats() throws IOException {
+    GlueCache.store(cacheDir, KEY, BYTECODE);
+    Path file = cacheDir.resolve(KEY + ".glue");
+    byte[] entry = Files.readAllBytes(file);
+    entry[7]++; // the format version follows the magic number
+    Files.write(file, entry);
+    assertThat(GlueCache.load(cacheDir, KEY)).isNull();
+  }
+
+  @Test
+  public void cacheKey_dependsOnTheMembers() throws Exception {
+    Executable hashCode = Object.class.getMethod("hashCode");
+    Executable toString = Object.class.getMethod("toString");
+    String key = GlueCache.cacheKey(Object.class, ImmutableList.of(hashCode), ImmutableMap.of());
+    assertThat(GlueCache.cacheKey(Object.class, ImmutableList.of(hashCode), ImmutableMap.of()))
+        .isEqualTo(key);
+    assertThat(GlueCache.cacheKey(Object.class, ImmutableList.of(toString), ImmutableMap.of()))
+        .isNotEqualTo(key);
+    assertThat(GlueCache.cacheKey(String.class, ImmutableList.of(hashCode), ImmutableMap.of()))
+        .isNotEqualTo(key);
+  }
+}
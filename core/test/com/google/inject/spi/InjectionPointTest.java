@@ -338,6 +338,58 @@ public class InjectionPointTest extends TestCase {
     assertEquals(new Key<Set<String>>() {}, getOnlyElement(field.getDependencies()).getKey());
   }
 
+  public void testInjectionPointsAreReusedForRawTypes() {
+    assertSame(
+        InjectionPoint.forConstructorOf(HasInjections.class),
+        InjectionPoint.forConstructorOf(HasInjections.class));
+    Set<InjectionPoint> instanceInjectionPoints =
+        InjectionPoint.forInstanceMethodsAndFields(HasInjections.class);
+    assertSame(
+        instanceInjectionPoints, InjectionPoint.forInstanceMethodsAndFields(HasInjections.class));
+    assertSame(
+        InjectionPoint.forStaticMethodsAndFields(HasInjections.class),
+        InjectionPoint.forStaticMethodsAndFields(HasInjections.class));
+  }
+
+  public void testRawInjectionPointsDontKeepTheCallersTypeLiteral() {
+    TypeLiteral<InjectedThroughTypeLiteral> anonymous =
+        new TypeLiteral<InjectedThroughTypeLiteral>() {};
+    InjectionPoint field = getOnlyElement(InjectionPoint.forInstanceMethodsAndFields(anonymous));
+    assertEquals(TypeLiteral.class, field.getDeclaringType().getClass());
+    assertSame(
+        field,
+        getOnlyElement(
+            InjectionPoint.forInstanceMethodsAndFields(InjectedThroughTypeLiteral.class)));
+  }
+
+  static class InjectedThroughTypeLiteral {
+    @Inject String value;
+  }
+
+  public void testCachedMembersAreResolvedPerType() {
+    InjectionPoint stringField =
+        getOnlyElement(
+            InjectionPoint.forInstanceMethodsAndFields(
+                new TypeLiteral<ParameterizedInjections<String>>() {}));
+    InjectionPoint integerField =
+        getOnlyElement(
+            InjectionPoint.forInstanceMethodsAndFields(
+                new TypeLiteral<ParameterizedInjections<Integer>>() {}));
+    assertEquals(stringField.getMember(), integerField.getMember());
+    assertEquals(new Key<Set<String>>() {}, getOnlyElement(stringField.getDependencies()).getKey());
+    assertEquals(
+        new Key<Set<Integer>>() {}, getOnlyElement(integerField.getDependencies()).getKey());
+
+    // errors from the raw type are reported every time
+    for (int i = 0; i < 2; i++) {
+      ConfigurationException expected =
+          assertThrows(
+              ConfigurationException.class,
+              () -> InjectionPoint.forConstructorOf(TooManyConstructors.class));
+      assertContains(expected.getMessage(), "more than one constructor annotated with @Inject");
+    }
+  }
+
   static class ParameterizedInjections<T> {
     @Inject Set<T> setOfTees;
 
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.spi;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import com.google.inject.spi.InjectorFootprint.Category;
+import junit.framework.TestCase;
+
+public class InjectorFootprintTest extends TestCase {
+
+  public void testCategories() {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Foo.class);
+                bindConstant().annotatedWith(Names.named("name")).to("value");
+                requestInjection(new Config());
+                getProvider(Foo.class);
+              }
+            });
+
+    InjectorFootprint footprint = InjectorFootprint.of(injector);
+
+    long total = 0;
+    for (Category category : Category.values()) {
+      assertThat(footprint.getRetainedBytes(category)).isGreaterThan(0L);
+      assertThat(footprint.getObjectCount(category)).isGreaterThan(0);
+      total += footprint.getRetainedBytes(category);
+    }
+    assertEquals(total, footprint.getTotalRetainedBytes());
+    assertThat(footprint.toString()).contains("EXPLICIT_BINDINGS=");
+  }
+
+  public void testJitBindingsAreCountedSeparately() {
+    Injector injector = Guice.createInjector();
+    InjectorFootprint before = InjectorFootprint.of(injector);
+
+    injector.getInstance(Foo.class);
+    InjectorFootprint after = InjectorFootprint.of(injector);
+
+    assertEquals(
+        before.getRetainedBytes(Category.EXPLICIT_BINDINGS),
+        after.getRetainedBytes(Category.EXPLICIT_BINDINGS));
+    assertThat(after.getRetainedBytes(Category.JIT_BINDINGS))
+        .isGreaterThan(before.getRetainedBytes(Category.JIT_BINDINGS));
+    assertThat(after.getObjectCount(Category.INJECTION_POINTS))
+        .isGreaterThan(before.getObjectCount(Category.INJECTION_POINTS));
+  }
+
+  public void testParentIsExcluded() {
+    Injector parent =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Foo.class);
+              }
+            });
+    Injector child = parent.createChildInjector();
+
+    assertThat(InjectorFootprint.of(child).getObjectCount(Category.EXPLICIT_BINDINGS))
+        .isLessThan(InjectorFootprint.of(parent).getObjectCount(Category.EXPLICIT_BINDINGS));
+  }
+
+  static class Foo {
+    @Inject
+    Foo(Bar bar) {}
+  }
+
+  static class Bar {}
+
+  static class Config {
+    @Inject @Named("name") String name;
+  }
+}
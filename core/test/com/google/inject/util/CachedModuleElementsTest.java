@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.util;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.AbstractModule;
+import com.google.inject.Exposed;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.PrivateModule;
+import com.google.inject.Provider;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+import com.google.inject.multibindings.MapBinder;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.OptionalBinder;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+/** Unit tests for {@link CachedModuleElements}. */
+public class CachedModuleElementsTest extends TestCase {
+
+  private static final Key<Set<String>> SET_KEY = new Key<Set<String>>() {};
+  private static final Key<Map<String, Integer>> MAP_KEY = new Key<Map<String, Integer>>() {};
+  private static final Key<Optional<Integer>> OPTIONAL_KEY = new Key<Optional<Integer>>() {};
+
+  private final AtomicInteger configureCount = new AtomicInteger();
+
+  private final AbstractModule baseModule =
+      new AbstractModule() {
+        @Override
+        protected void configure() {
+          configureCount.incrementAndGet();
+          Multibinder.newSetBinder(binder(), String.class).addBinding().toInstance("a");
+          Multibinder.newSetBinder(binder(), String.class).addBinding().toInstance("b");
+          MapBinder.newMapBinder(binder(), String.class, Integer.class)
+              .addBinding("one")
+              .toInstance(1);
+          OptionalBinder.newOptionalBinder(binder(), Integer.class).setDefault().toInstance(2);
+          install(
+              new PrivateModule() {
+                @Override
+                protected void configure() {
+                  bind(String.class).annotatedWith(Names.named("secret")).toInstance("s");
+                }
+
+                @Provides
+                @Exposed
+                @Named("exposed")
+                String provideExposed(@Named("secret") String secret) {
+                  return secret + "!";
+                }
+              });
+        }
+
+        @Provides
+        @Singleton
+        Counter provideCounter() {
+          return new Counter();
+        }
+      };
+
+  public void testModulesAreConfiguredOnce() {
+    CachedModuleElements modules = CachedModuleElements.of(baseModule);
+    modules.createInjector();
+    modules.createInjector();
+    assertEquals(1, configureCount.get());
+  }
+
+  public void testInjectorsHaveTheCachedBindings() {
+    CachedModuleElements modules = CachedModuleElements.of(baseModule);
+    for (int i = 0; i < 3; i++) {
+      Injector injector = modules.createInjector();
+      assertEquals(ImmutableSet.of("a", "b"), injector.getInstance(SET_KEY));
+      assertEquals(ImmutableMap.of("one", 1), injector.getInstance(MAP_KEY));
+      assertEquals(Optional.of(2), injector.getInstance(OPTIONAL_KEY));
+      assertEquals("s!", injector.getInstance(Key.get(String.class, Names.named("exposed"))));
+    }
+  }
+
+  public void testInjectorsHaveTheirOwnSingletons() {
+    CachedModuleElements modules = CachedModuleElements.of(baseModule);
+    Injector first = modules.createInjector();
+    Injector second = modules.createInjector();
+    assertSame(first.getInstance(Counter.class), first.getInstance(Counter.class));
+    assertNotSame(first.getInstance(Counter.class), second.getInstance(Counter.class));
+  }
+
+  public void testOverrides() {
+    CachedModuleElements modules = CachedModuleElements.of(baseModule);
+    Injector injector =
+        modules.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                OptionalBinder.newOptionalBinder(binder(), Integer.class)
+                    .setBinding()
+                    .toInstance(3);
+                Multibinder.newSetBinder(binder(), String.class).addBinding().toInstance("c");
+              }
+            });
+    assertEquals(Optional.of(3), injector.getInstance(OPTIONAL_KEY));
+    assertEquals(ImmutableSet.of("a", "b", "c"), injector.getInstance(SET_KEY));
+
+    // the overrides don't leak into the cached elements
+    assertEquals(Optional.of(2), modules.createInjector().getInstance(OPTIONAL_KEY));
+  }
+
+  public void testLookupsAreCheckedForEachInjector() {
+    CachedModuleElements modules =
+        CachedModuleElements.of(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(String.class).toInstance("a");
+                requireBinding(String.class);
+              }
+            });
+    assertEquals("a", modules.createInjector().getInstance(String.class));
+    assertEquals("a", modules.createInjector().getInstance(String.class));
+  }
+
+  public void testInjectedProvidersBelongToTheirInjector() {
+    CachedModuleElements modules = CachedModuleElements.of(baseModule);
+    Injector first = modules.createInjector();
+    Injector second = modules.createInjector();
+    Provider<Counter> provider = second.getProvider(Counter.class);
+    assertSame(second.getInstance(Counter.class), provider.get());
+    assertNotSame(first.getInstance(Counter.class), provider.get());
+  }
+
+  public void testGetElements() {
+    CachedModuleElements modules =
+        CachedModuleElements.of(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(String.class).toInstance("a");
+              }
+            });
+    assertEquals(1, modules.getElements().size());
+  }
+
+  public void testProvidersWithInjectionPointsAreRejected() {
+    AbstractModule module =
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            bind(Counter.class).toProvider(new InjectorProvider());
+          }
+        };
+    try {
+      CachedModuleElements.of(module);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertTrue(expected.getMessage(), expected.getMessage().contains("has injection points"));
+    }
+  }
+
+  public void testProvidersWithInjectionPointsAreRejectedInPrivateModules() {
+    PrivateModule module =
+        new PrivateModule() {
+          @Override
+          protected void configure() {
+            bind(Counter.class).toProvider(new InjectorProvider());
+            expose(Counter.class);
+          }
+        };
+    try {
+      CachedModuleElements.of(module);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertTrue(expected.getMessage(), expected.getMessage().contains("has injection points"));
+    }
+  }
+
+  public void testProviderInstancesAreShared() {
+    Provider<Counter> provider = Counter::new;
+    CachedModuleElements modules =
+        CachedModuleElements.of(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Counter.class).toProvider(provider);
+              }
+            });
+    assertNotNull(modules.createInjector().getInstance(Counter.class));
+    assertNotNull(modules.createInjector().getInstance(Counter.class));
+  }
+
+  public void testInstancesWithInjectionPointsAreRejected() {
+    AbstractModule module =
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            bind(Greeter.class).toInstance(new Greeter());
+          }
+        };
+    try {
+      CachedModuleElements.of(module);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertTrue(expected.getMessage(), expected.getMessage().contains("has injection points"));
+    }
+  }
+
+  public void testInjectionRequestsAreRejected() {
+    AbstractModule module =
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            requestInjection(new Greeter());
+          }
+        };
+    try {
+      CachedModuleElements.of(module);
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertTrue(expected.getMessage(), expected.getMessage().contains("requestInjection()"));
+    }
+  }
+
+  public void testInjectorsWithDifferentOverridesDontShareInjectedState() {
+    CachedModuleElements modules =
+        CachedModuleElements.of(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(String.class).toInstance("hello");
+                bind(Greeter.class);
+              }
+            });
+    Injector hi = modules.createInjector(new GreetingModule("hi"));
+    Greeter hiGreeter = hi.getInstance(Greeter.class);
+    Injector hey = modules.createInjector(new GreetingModule("hey"));
+
+    assertEquals("hey", hey.getInstance(Greeter.class).greeting);
+    assertEquals("hi", hiGreeter.greeting);
+    assertEquals("hi", hi.getInstance(Greeter.class).greeting);
+    assertEquals("hello", modules.createInjector().getInstance(Greeter.class).greeting);
+  }
+
+  private static class Counter {}
+
+  private static class Greeter {
+    @Inject String greeting;
+  }
+
+  private static class GreetingModule extends AbstractModule {
+    private final String greeting;
+
+    GreetingModule(String greeting) {
+      this.greeting = greeting;
+    }
+
+    @Override
+    protected void configure() {
+      bind(String.class).toInstance(greeting);
+    }
+  }
+
+  private static class InjectorProvider implements Provider<Counter> {
+    @Inject Injector injector;
+
+    @Override
+    public Counter get() {
+      return new Counter();
+    }
+  }
+}
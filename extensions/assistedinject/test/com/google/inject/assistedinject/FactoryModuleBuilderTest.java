@@ -40,6 +40,7 @@ import com.google.inject.spi.Element;
 import com.google.inject.spi.Elements;
 import com.google.inject.spi.HasDependencies;
 import com.google.inject.spi.Message;
+import com.google.inject.util.CachedModuleElements;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -403,6 +404,20 @@ public class FactoryModuleBuilderTest extends TestCase {
     }
   }
 
+  public void testCachedModuleElementsRejectsFactories() {
+    try {
+      CachedModuleElements.of(new FactoryModuleBuilder().build(MustangFactory.class));
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertContains(
+          expected.getMessage(),
+          "type=" + MustangFactory.class.getName(),
+          "is bound to the provider instance",
+          "has injection points",
+          "can only be used in one injector.");
+    }
+  }
+
   interface Car {}
 
   interface Volkswagen extends Car {}
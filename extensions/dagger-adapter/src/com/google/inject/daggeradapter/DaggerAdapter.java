@@ -100,6 +100,7 @@ public final class DaggerAdapter {
   public static class Builder {
     private final ImmutableList.Builder<Object> modules = ImmutableList.builder();
     private Predicate<Method> predicate = Predicates.alwaysTrue();
+    private boolean useGeneratedFactories = false;
 
     /** Returns a module that will configure bindings based on the modules and scanners. */
     public Module build() {
@@ -123,6 +124,20 @@ public final class DaggerAdapter {
       this.predicate = checkNotNull(predicate, "predicate");
       return this;
     }
+
+    /**
+     * Provisions {@code @dagger.Provides} methods through the factories that the Dagger annotation
+     * processor generated for them, such as {@code MyModule_ProvideFooFactory}, when those are on
+     * the classpath. This avoids invoking the module methods reflectively. Methods without a
+     * generated factory are bound as usual.
+     *
+     * <p>Methods bound through their factory are ordinary provider bindings, rather than {@link
+     * com.google.inject.spi.ProvidesMethodBinding ProvidesMethodBindings}.
+     */
+    public Builder useGeneratedFactories() {
+      this.useGeneratedFactories = true;
+      return this;
+    }
   }
 
   /**
@@ -133,16 +148,19 @@ public final class DaggerAdapter {
   private static final class DaggerCompatibilityModule implements Module {
     private final ImmutableList<Object> declaredModules;
     private final Predicate<Method> predicate;
+    private final boolean useGeneratedFactories;
 
     private DaggerCompatibilityModule(Builder builder) {
       this.declaredModules = builder.modules.build();
       this.predicate = builder.predicate;
+      this.useGeneratedFactories = builder.useGeneratedFactories;
     }
 
     @Override
     public void configure(Binder binder) {
       binder = binder.skipSources(getClass());
-      ModuleAnnotatedMethodScanner scanner = DaggerMethodScanner.create(predicate);
+      ModuleAnnotatedMethodScanner scanner =
+          DaggerMethodScanner.create(predicate, useGeneratedFactories);
       for (Object module : deduplicateModules(binder, transitiveModules())) {
         checkIsDaggerModule(module, binder);
         validateNoSubcomponents(binder, module);
@@ -44,10 +44,12 @@ import dagger.multibindings.IntoMap;
 import dagger.multibindings.IntoSet;
 import dagger.multibindings.Multibinds;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -58,11 +60,12 @@ import java.util.Set;
  */
 final class DaggerMethodScanner extends ModuleAnnotatedMethodScanner {
 
-  static DaggerMethodScanner create(Predicate<Method> predicate) {
-    return new DaggerMethodScanner(predicate);
+  static DaggerMethodScanner create(Predicate<Method> predicate, boolean useGeneratedFactories) {
+    return new DaggerMethodScanner(predicate, useGeneratedFactories);
   }
 
   private final Predicate<Method> predicate;
+  private final boolean useGeneratedFactories;
 
   @Override
   public ImmutableSet<Class<? extends Annotation>> annotationClasses() {
@@ -71,14 +74,24 @@ final class DaggerMethodScanner extends ModuleAnnotatedMethodScanner {
 
   @Override
   public <T> Key<T> prepareMethod(
-      Binder binder, Annotation annotation, Key<T> key, InjectionPoint injectionPoint) {
+      Binder binder,
+      Annotation annotation,
+      Key<T> key,
+      InjectionPoint injectionPoint,
+      Object moduleInstance) {
     Method method = (Method) injectionPoint.getMember();
     if (!predicate.apply(method)) {
       return null;
     }
     Class<? extends Annotation> annotationType = annotation.annotationType();
     if (annotationType.equals(Provides.class)) {
-      return processMultibindingAnnotations(binder, method, key);
+      Key<T> providesKey = processMultibindingAnnotations(binder, method, key);
+      if (useGeneratedFactories
+          && configureGeneratedFactory(
+              binder, method, providesKey, injectionPoint, moduleInstance)) {
+        return null;
+      }
+      return providesKey;
     } else if (annotationType.equals(Binds.class)) {
       configureBindsKey(binder, method, key);
       return null;
@@ -97,6 +110,30 @@ final class DaggerMethodScanner extends ModuleAnnotatedMethodScanner {
       ImmutableSet.of(
           jakarta.inject.Scope.class);
 
+  /**
+   * Binds {@code key} to the factory that Dagger generated for {@code method}, returning false if
+   * there isn't one.
+   */
+  private static <T> boolean configureGeneratedFactory(
+      Binder binder,
+      Method method,
+      Key<T> key,
+      InjectionPoint injectionPoint,
+      Object moduleInstance) {
+    MethodHandle handle = GeneratedFactories.find(method, moduleInstance);
+    if (handle == null) {
+      return false;
+    }
+    ScopedBindingBuilder scopedBindingBuilder =
+        binder
+            .bind(key)
+            .toProvider(GeneratedFactories.<T>newProvider(binder, method, injectionPoint, handle));
+
+    getAnnotatedAnnotation(method, SCOPE_ANNOTATIONS)
+        .ifPresent(scope -> scopedBindingBuilder.in(scope.annotationType()));
+    return true;
+  }
+
   private <T> void configureBindsKey(Binder binder, Method method, Key<T> key) {
     // the Dagger processor already validates the assignability of these two keys. parameterKey()
     // has no way to infer the correct type parameter, so we use rawtypes instead.
@@ -218,22 +255,27 @@ final class DaggerMethodScanner extends ModuleAnnotatedMethodScanner {
   public boolean equals(Object object) {
     if (object instanceof DaggerMethodScanner) {
       DaggerMethodScanner that = (DaggerMethodScanner) object;
-      return this.predicate.equals(that.predicate);
+      return this.predicate.equals(that.predicate)
+          && this.useGeneratedFactories == that.useGeneratedFactories;
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    return predicate.hashCode();
+    return Objects.hash(predicate, useGeneratedFactories);
   }
 
   @Override
   public String toString() {
-    return MoreObjects.toStringHelper(this).add("predicate", predicate).toString();
+    return MoreObjects.toStringHelper(this)
+        .add("predicate", predicate)
+        .add("useGeneratedFactories", useGeneratedFactories)
+        .toString();
   }
 
-  private DaggerMethodScanner(Predicate<Method> predicate) {
+  private DaggerMethodScanner(Predicate<Method> predicate, boolean useGeneratedFactories) {
     this.predicate = predicate;
+    this.useGeneratedFactories = useGeneratedFactories;
   }
 }
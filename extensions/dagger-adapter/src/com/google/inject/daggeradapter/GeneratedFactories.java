@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.daggeradapter;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.base.CaseFormat;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Binder;
+import com.google.inject.Provider;
+import com.google.inject.internal.util.StackTraceElements;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.InjectionPoint;
+import com.google.inject.spi.ProviderWithDependencies;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the factories that the Dagger annotation processor generates for {@code @Provides}
+ * methods, such as {@code MyModule_ProvideFooFactory} for {@code MyModule.provideFoo()}. Each
+ * factory has a public static method that calls the module method, which Guice can call directly
+ * instead of invoking the module method reflectively.
+ */
+final class GeneratedFactories {
+
+  /**
+   * Returns a handle of type {@code (Object[])Object} that calls {@code method} through its
+   * generated factory, or null if the factory isn't available. {@code moduleInstance} is null when
+   * the module was given as a class.
+   */
+  static MethodHandle find(Method method, Object moduleInstance) {
+    boolean isStatic = Modifier.isStatic(method.getModifiers());
+    if (!isStatic && moduleInstance == null) {
+      return null;
+    }
+    Class<?> moduleClass = method.getDeclaringClass();
+    Class<?> factoryClass;
+    try {
+      factoryClass =
+          Class.forName(factoryName(moduleClass, method), false, moduleClass.getClassLoader());
+    } catch (ClassNotFoundException | LinkageError e) {
+      return null;
+    }
+
+    List<Class<?>> parameterTypes = new ArrayList<>();
+    if (!isStatic) {
+      parameterTypes.add(moduleClass);
+    }
+    parameterTypes.addAll(Arrays.asList(method.getParameterTypes()));
+    MethodType type = MethodType.methodType(method.getReturnType(), parameterTypes);
+
+    MethodHandle handle = findStatic(factoryClass, method.getName(), type);
+    if (handle == null) {
+      // versions of Dagger before 2.18 prefix the method with "proxy"
+      handle = findStatic(factoryClass, "proxy" + capitalize(method.getName()), type);
+    }
+    if (handle == null) {
+      return null;
+    }
+    if (!isStatic) {
+      handle = handle.bindTo(moduleInstance);
+    }
+    return handle
+        .asSpreader(Object[].class, method.getParameterCount())
+        .asType(MethodType.methodType(Object.class, Object[].class));
+  }
+
+  /** Returns a provider that calls the method through the given handle from {@link #find}. */
+  static <T> ProviderWithDependencies<T> newProvider(
+      Binder binder, Method method, InjectionPoint injectionPoint, MethodHandle handle) {
+    ImmutableSet<Dependency<?>> dependencies =
+        ImmutableSet.copyOf(injectionPoint.getDependencies());
+    ImmutableList<Provider<?>> parameterProviders =
+        injectionPoint.getDependencies().stream()
+            .<Provider<?>>map(binder::getProvider)
+            .collect(toImmutableList());
+    return new FactoryProvider<>(method, handle, dependencies, parameterProviders);
+  }
+
+  /** Returns the name of the generated factory, following the Dagger annotation processor. */
+  private static String factoryName(Class<?> moduleClass, Method method) {
+    String name = moduleClass.getName();
+    int packageEnd = name.lastIndexOf('.') + 1;
+    return name.substring(0, packageEnd)
+        + name.substring(packageEnd).replace('$', '_')
+        + '_'
+        + capitalize(method.getName())
+        + "Factory";
+  }
+
+  private static String capitalize(String methodName) {
+    return CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, methodName);
+  }
+
+  private static MethodHandle findStatic(Class<?> factoryClass, String name, MethodType type) {
+    try {
+      return MethodHandles.publicLookup().findStatic(factoryClass, name, type);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  private static final class FactoryProvider<T> implements ProviderWithDependencies<T> {
+    private final Method method;
+    private final MethodHandle handle;
+    private final ImmutableSet<Dependency<?>> dependencies;
+    private final ImmutableList<Provider<?>> parameterProviders;
+
+    FactoryProvider(
+        Method method,
+        MethodHandle handle,
+        ImmutableSet<Dependency<?>> dependencies,
+        ImmutableList<Provider<?>> parameterProviders) {
+      this.method = method;
+      this.handle = handle;
+      this.dependencies = dependencies;
+      this.parameterProviders = parameterProviders;
+    }
+
+    @Override
+    public T get() {
+      Object[] parameters = new Object[parameterProviders.size()];
+      Arrays.setAll(parameters, i -> parameterProviders.get(i).get());
+      try {
+        // We know this cast is safe because T is the method's return type.
+        @SuppressWarnings("unchecked")
+        T result = (T) (Object) handle.invokeExact(parameters);
+        return result;
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        // Dagger doesn't allow @Provides methods to throw checked exceptions
+        throw new IllegalStateException(t);
+      }
+    }
+
+    @Override
+    public Set<Dependency<?>> getDependencies() {
+      return dependencies;
+    }
+
+    @Override
+    public String toString() {
+      return "@dagger.Provides " + StackTraceElements.forMember(method);
+    }
+  }
+
+  private GeneratedFactories() {}
+}
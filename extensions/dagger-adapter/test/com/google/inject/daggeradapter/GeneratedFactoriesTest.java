@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.daggeradapter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProvidesMethodBinding;
+import dagger.Module;
+import dagger.Provides;
+import jakarta.inject.Singleton;
+import junit.framework.TestCase;
+
+/** Tests of {@link DaggerAdapter.Builder#useGeneratedFactories}. */
+public class GeneratedFactoriesTest extends TestCase {
+
+  @Module
+  public static class FactoryModule {
+    @Provides
+    @Singleton
+    String provideString(Integer value) {
+      return "value:" + value;
+    }
+
+    /** Has no generated factory, so it is bound as a provider method. */
+    @Provides
+    static Integer provideInteger() {
+      return 1;
+    }
+  }
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    GeneratedFactoriesTest_FactoryModule_ProvideStringFactory.calls = 0;
+  }
+
+  public void testGeneratedFactoryIsUsed() {
+    Injector injector =
+        Guice.createInjector(
+            DaggerAdapter.builder()
+                .addModules(ImmutableList.<Object>of(FactoryModule.class))
+                .useGeneratedFactories()
+                .build());
+
+    assertEquals("value:1", injector.getInstance(String.class));
+    assertSame(injector.getInstance(String.class), injector.getInstance(String.class));
+    assertEquals(1, GeneratedFactoriesTest_FactoryModule_ProvideStringFactory.calls);
+
+    assertThat(userSuppliedProvider(injector, String.class))
+        .isNotInstanceOf(ProvidesMethodBinding.class);
+    assertThat(userSuppliedProvider(injector, Integer.class))
+        .isInstanceOf(ProvidesMethodBinding.class);
+  }
+
+  public void testGeneratedFactoryIsIgnoredByDefault() {
+    Injector injector = Guice.createInjector(DaggerAdapter.from(FactoryModule.class));
+
+    assertEquals("value:1", injector.getInstance(String.class));
+    assertEquals(0, GeneratedFactoriesTest_FactoryModule_ProvideStringFactory.calls);
+    assertThat(userSuppliedProvider(injector, String.class))
+        .isInstanceOf(ProvidesMethodBinding.class);
+  }
+
+  private static Object userSuppliedProvider(Injector injector, Class<?> type) {
+    return ((ProviderInstanceBinding<?>) injector.getBinding(type)).getUserSuppliedProvider();
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.daggeradapter;
+
+/**
+ * The factory the Dagger annotation processor generates for {@link
+ * GeneratedFactoriesTest.FactoryModule#provideString}, reduced to the method the adapter calls.
+ * The tests don't run the processor, so it is written out here.
+ */
+public final class GeneratedFactoriesTest_FactoryModule_ProvideStringFactory {
+  static int calls;
+
+  public static String provideString(GeneratedFactoriesTest.FactoryModule instance, Integer value) {
+    calls++;
+    return instance.provideString(value);
+  }
+
+  private GeneratedFactoriesTest_FactoryModule_ProvideStringFactory() {}
+}
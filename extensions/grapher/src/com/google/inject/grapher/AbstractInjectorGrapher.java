@@ -16,8 +16,7 @@
 
 package com.google.inject.grapher;
 
-import com.google.common.collect.SetMultimap;
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -25,10 +24,13 @@ import com.google.inject.Binding;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Abstract injector grapher that builds the dependency graph but doesn't render it.
@@ -41,6 +43,7 @@ public abstract class AbstractInjectorGrapher implements InjectorGrapher {
   private final AliasCreator aliasCreator;
   private final NodeCreator nodeCreator;
   private final EdgeCreator edgeCreator;
+  private final boolean streaming;
 
   /**
    * Parameters used to override default settings of the grapher.
@@ -52,6 +55,7 @@ public abstract class AbstractInjectorGrapher implements InjectorGrapher {
     private AliasCreator aliasCreator = new ProviderAliasCreator();
     private NodeCreator nodeCreator = new DefaultNodeCreator();
     private EdgeCreator edgeCreator = new DefaultEdgeCreator();
+    private boolean streaming = false;
 
     public RootKeySetCreator getRootKeySetCreator() {
       return rootKeySetCreator;
@@ -88,6 +92,22 @@ public abstract class AbstractInjectorGrapher implements InjectorGrapher {
       this.edgeCreator = edgeCreator;
       return this;
     }
+
+    public boolean isStreaming() {
+      return streaming;
+    }
+
+    /**
+     * Sets whether the grapher streams the graph. By default, the grapher collects every binding,
+     * node and edge before adding them to the graph. When streaming, it only keeps the keys it has
+     * visited and the aliases between nodes, and adds the nodes and edges of each binding as it
+     * goes, so that very large injectors can be graphed in bounded memory. The creators are then
+     * called with one binding at a time.
+     */
+    public GrapherParameters setStreaming(boolean streaming) {
+      this.streaming = streaming;
+      return this;
+    }
   }
 
   public AbstractInjectorGrapher() {
@@ -99,6 +119,7 @@ public abstract class AbstractInjectorGrapher implements InjectorGrapher {
     this.aliasCreator = options.getAliasCreator();
     this.nodeCreator = options.getNodeCreator();
     this.edgeCreator = options.getEdgeCreator();
+    this.streaming = options.isStreaming();
   }
 
   @Override
@@ -110,13 +131,40 @@ public abstract class AbstractInjectorGrapher implements InjectorGrapher {
   public final void graph(Injector injector, Set<Key<?>> root) throws IOException {
     reset();
 
-    Iterable<Binding<?>> bindings = getBindings(injector, root);
-    Map<NodeId, NodeId> aliases = resolveAliases(aliasCreator.createAliases(bindings));
-    createNodes(nodeCreator.getNodes(bindings), aliases);
-    createEdges(edgeCreator.getEdges(bindings), aliases);
+    if (streaming) {
+      graphStreaming(injector, root);
+    } else {
+      List<Binding<?>> bindings = Lists.newArrayList();
+      visitBindings(injector, root, bindings::add);
+      Aliases aliases = new Aliases();
+      aliases.addAll(aliasCreator.createAliases(bindings));
+      createNodes(nodeCreator.getNodes(bindings), aliases);
+      createEdges(edgeCreator.getEdges(bindings), aliases);
+    }
     postProcess();
   }
 
+  /**
+   * Graphs the bindings one at a time. The bindings are visited once to find the keys and aliases,
+   * then looked up again by key to add their nodes, and again to add their edges.
+   */
+  private void graphStreaming(Injector injector, Set<Key<?>> root) throws IOException {
+    Aliases aliases = new Aliases();
+    Set<Key<?>> keys =
+        visitBindings(
+            injector, root, binding -> aliases.addAll(aliasCreator.createAliases(only(binding))));
+    for (Key<?> key : keys) {
+      createNodes(nodeCreator.getNodes(only(injector.getBinding(key))), aliases);
+    }
+    for (Key<?> key : keys) {
+      createEdges(edgeCreator.getEdges(only(injector.getBinding(key))), aliases);
+    }
+  }
+
+  private static Iterable<Binding<?>> only(Binding<?> binding) {
+    return ImmutableList.<Binding<?>>of(binding);
+  }
+
   /** Resets the state of the grapher before rendering a new graph. */
   protected abstract void reset() throws IOException;
 
@@ -138,10 +186,10 @@ public abstract class AbstractInjectorGrapher implements InjectorGrapher {
   /** Performs any post processing required after all nodes and edges have been added. */
   protected abstract void postProcess() throws IOException;
 
-  private void createNodes(Iterable<Node> nodes, Map<NodeId, NodeId> aliases) throws IOException {
+  private void createNodes(Iterable<Node> nodes, Aliases aliases) throws IOException {
     for (Node node : nodes) {
       NodeId originalId = node.getId();
-      NodeId resolvedId = resolveAlias(aliases, originalId);
+      NodeId resolvedId = aliases.resolve(originalId);
       node = node.copy(resolvedId);
 
       // Only render nodes that aren't aliased to some other node.
@@ -157,10 +205,9 @@ public abstract class AbstractInjectorGrapher implements InjectorGrapher {
     }
   }
 
-  private void createEdges(Iterable<Edge> edges, Map<NodeId, NodeId> aliases) throws IOException {
+  private void createEdges(Iterable<Edge> edges, Aliases aliases) throws IOException {
     for (Edge edge : edges) {
-      edge =
-          edge.copy(resolveAlias(aliases, edge.getFromId()), resolveAlias(aliases, edge.getToId()));
+      edge = edge.copy(aliases.resolve(edge.getFromId()), aliases.resolve(edge.getToId()));
       if (!edge.getFromId().equals(edge.getToId())) {
         if (edge instanceof BindingEdge) {
           newBindingEdge((BindingEdge) edge);
@@ -171,60 +218,78 @@ public abstract class AbstractInjectorGrapher implements InjectorGrapher {
     }
   }
 
-  private NodeId resolveAlias(Map<NodeId, NodeId> aliases, NodeId nodeId) {
-    return aliases.getOrDefault(nodeId, nodeId);
-  }
-
   /**
-   * Transitively resolves aliases. Given aliases (X to Y) and (Y to Z), it will return mappings (X
-   * to Z) and (Y to Z).
+   * Transitively resolves aliases, using a union-find over the aliased node IDs. Given aliases (X
+   * to Y) and (Y to Z), both X and Y resolve to Z. Each set is represented by the node that the
+   * others are aliased to, so sets are linked in the direction of the aliases rather than by rank.
    */
-  private Map<NodeId, NodeId> resolveAliases(Iterable<Alias> aliases) {
-    Map<NodeId, NodeId> resolved = Maps.newHashMap();
-    SetMultimap<NodeId, NodeId> inverse = HashMultimap.create();
-
-    for (Alias alias : aliases) {
-      NodeId from = alias.getFromId();
-      NodeId to = alias.getToId();
-      if (resolved.containsKey(to)) {
-        to = resolved.get(to);
+  private static final class Aliases {
+    private final Map<NodeId, Integer> indices = Maps.newHashMap();
+    private NodeId[] ids = new NodeId[16];
+    private int[] parents = new int[16];
+
+    void addAll(Iterable<Alias> aliases) {
+      for (Alias alias : aliases) {
+        int to = find(indexOf(alias.getToId()));
+        int from = indexOf(alias.getFromId());
+        if (from != to) {
+          parents[from] = to;
+        }
       }
-      resolved.put(from, to);
-      inverse.put(to, from);
-
-      Set<NodeId> prev = inverse.get(from);
-      if (prev != null) {
-        for (NodeId id : prev) {
-          resolved.remove(id);
-          inverse.remove(from, id);
-          resolved.put(id, to);
-          inverse.put(to, id);
+    }
+
+    NodeId resolve(NodeId nodeId) {
+      Integer index = indices.get(nodeId);
+      return index != null ? ids[find(index)] : nodeId;
+    }
+
+    private int indexOf(NodeId nodeId) {
+      Integer index = indices.get(nodeId);
+      if (index == null) {
+        index = indices.size();
+        if (index == ids.length) {
+          ids = Arrays.copyOf(ids, index * 2);
+          parents = Arrays.copyOf(parents, index * 2);
         }
+        ids[index] = nodeId;
+        parents[index] = index;
+        indices.put(nodeId, index);
       }
+      return index;
     }
 
-    return resolved;
+    /** Returns the representative of the set, halving the path to it along the way. */
+    private int find(int index) {
+      while (parents[index] != index) {
+        parents[index] = parents[parents[index]];
+        index = parents[index];
+      }
+      return index;
+    }
   }
 
-  /** Returns the bindings for the root keys and their transitive dependencies. */
-  private Iterable<Binding<?>> getBindings(Injector injector, Set<Key<?>> root) {
-    Set<Key<?>> keys = Sets.newHashSet(root);
-    Set<Key<?>> visitedKeys = Sets.newHashSet();
-    List<Binding<?>> bindings = Lists.newArrayList();
+  /**
+   * Visits the bindings for the root keys and their transitive dependencies, returning the keys of
+   * the visited bindings in the order they were visited.
+   */
+  private static Set<Key<?>> visitBindings(
+      Injector injector, Set<Key<?>> root, Consumer<Binding<?>> consumer) {
+    Deque<Key<?>> keys = new ArrayDeque<>(root);
+    Set<Key<?>> visitedKeys = Sets.newLinkedHashSet();
     TransitiveDependencyVisitor keyVisitor = new TransitiveDependencyVisitor();
 
     while (!keys.isEmpty()) {
-      Iterator<Key<?>> iterator = keys.iterator();
-      Key<?> key = iterator.next();
-      iterator.remove();
-
-      if (!visitedKeys.contains(key)) {
+      Key<?> key = keys.pop();
+      if (visitedKeys.add(key)) {
         Binding<?> binding = injector.getBinding(key);
-        bindings.add(binding);
-        visitedKeys.add(key);
-        keys.addAll(binding.acceptTargetVisitor(keyVisitor));
+        consumer.accept(binding);
+        for (Key<?> dependency : binding.acceptTargetVisitor(keyVisitor)) {
+          if (!visitedKeys.contains(dependency)) {
+            keys.push(dependency);
+          }
+        }
       }
     }
-    return bindings;
+    return visitedKeys;
   }
 }
@@ -63,6 +63,11 @@ public final class NodeId {
     return key;
   }
 
+  /** Returns the type of the node. */
+  public NodeType getType() {
+    return nodeType;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hashCode(key, nodeType);
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.grapher.json;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Ascii;
+import com.google.inject.grapher.AbstractInjectorGrapher;
+import com.google.inject.grapher.BindingEdge;
+import com.google.inject.grapher.DependencyEdge;
+import com.google.inject.grapher.ImplementationNode;
+import com.google.inject.grapher.InstanceNode;
+import com.google.inject.grapher.InterfaceNode;
+import com.google.inject.grapher.Node;
+import com.google.inject.grapher.NodeId;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Member;
+import java.util.Iterator;
+
+/**
+ * {@link com.google.inject.grapher.InjectorGrapher} implementation that writes the graph as JSON
+ * lines, with one object per node or edge. Each line is written as soon as the node or edge is
+ * found, and the grapher streams by default, so this can graph very large injectors.
+ *
+ * <p>Nodes have a {@code node} kind ({@code interface}, {@code implementation} or {@code
+ * instance}), an {@code id}, the binding {@code key} and its {@code source}. Implementation and
+ * instance nodes also list their injectable {@code members}, and instance nodes have the {@code
+ * instance} itself. Edges have an {@code edge} kind ({@code binding} or {@code dependency}) and the
+ * {@code from} and {@code to} node IDs. Binding edges have a {@code type}, and dependency edges
+ * have the {@code injectionPoint} if there is one.
+ */
+public class JsonLinesGrapher extends AbstractInjectorGrapher {
+  private final Writer out;
+
+  /** Creates a streaming grapher that writes to {@code out}. */
+  public JsonLinesGrapher(Writer out) {
+    this(out, new GrapherParameters().setStreaming(true));
+  }
+
+  public JsonLinesGrapher(Writer out, GrapherParameters options) {
+    super(options);
+    this.out = checkNotNull(out, "out");
+  }
+
+  @Override
+  protected void reset() {}
+
+  @Override
+  protected void newInterfaceNode(InterfaceNode node) throws IOException {
+    startNode("interface", node);
+    out.write('}');
+    out.write('\n');
+  }
+
+  @Override
+  protected void newImplementationNode(ImplementationNode node) throws IOException {
+    startNode("implementation", node);
+    writeMembers(node.getMembers());
+    out.write('}');
+    out.write('\n');
+  }
+
+  @Override
+  protected void newInstanceNode(InstanceNode node) throws IOException {
+    startNode("instance", node);
+    writeField("instance", String.valueOf(node.getInstance()));
+    writeMembers(node.getMembers());
+    out.write('}');
+    out.write('\n');
+  }
+
+  @Override
+  protected void newDependencyEdge(DependencyEdge edge) throws IOException {
+    out.write("{\"edge\":\"dependency\"");
+    writeField("from", id(edge.getFromId()));
+    writeField("to", id(edge.getToId()));
+    if (edge.getInjectionPoint() != null) {
+      writeField("injectionPoint", edge.getInjectionPoint().toString());
+    }
+    out.write('}');
+    out.write('\n');
+  }
+
+  @Override
+  protected void newBindingEdge(BindingEdge edge) throws IOException {
+    out.write("{\"edge\":\"binding\"");
+    writeField("from", id(edge.getFromId()));
+    writeField("to", id(edge.getToId()));
+    writeField("type", edge.getType().name());
+    out.write('}');
+    out.write('\n');
+  }
+
+  @Override
+  protected void postProcess() throws IOException {
+    out.flush();
+  }
+
+  /** Returns the ID that nodes and edges use to refer to a node. */
+  protected String id(NodeId nodeId) {
+    return Ascii.toLowerCase(nodeId.getType().name()) + ":" + nodeId.getKey();
+  }
+
+  private void startNode(String kind, Node node) throws IOException {
+    out.write("{\"node\":\"");
+    out.write(kind);
+    out.write('"');
+    writeField("id", id(node.getId()));
+    writeField("key", node.getId().getKey().toString());
+    writeField("source", String.valueOf(node.getSource()));
+  }
+
+  private void writeMembers(Iterable<Member> members) throws IOException {
+    out.write(",\"members\":[");
+    for (Iterator<Member> i = members.iterator(); i.hasNext(); ) {
+      writeString(i.next().toString());
+      if (i.hasNext()) {
+        out.write(',');
+      }
+    }
+    out.write(']');
+  }
+
+  private void writeField(String name, String value) throws IOException {
+    out.write(',');
+    writeString(name);
+    out.write(':');
+    writeString(value);
+  }
+
+  private void writeString(String value) throws IOException {
+    out.write('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          out.write("\\\"");
+          break;
+        case '\\':
+          out.write("\\\\");
+          break;
+        case '\n':
+          out.write("\\n");
+          break;
+        case '\r':
+          out.write("\\r");
+          break;
+        case '\t':
+          out.write("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            out.write(String.format("\\u%04x", (int) c));
+          } else {
+            out.write(c);
+          }
+      }
+    }
+    out.write('"');
+  }
+}
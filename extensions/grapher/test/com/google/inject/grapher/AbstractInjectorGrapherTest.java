@@ -23,8 +23,10 @@ import com.google.inject.AbstractModule;
 import com.google.inject.BindingAnnotation;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
+import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Provider;
+import com.google.inject.TypeLiteral;
 import com.google.inject.spi.InjectionPoint;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -46,6 +48,12 @@ public class AbstractInjectorGrapherTest extends TestCase {
     final Set<Node> nodes = Sets.newHashSet();
     final Set<Edge> edges = Sets.newHashSet();
 
+    FakeGrapher() {}
+
+    FakeGrapher(GrapherParameters options) {
+      super(options);
+    }
+
     @Override
     protected void reset() {
       nodes.clear();
@@ -226,4 +234,30 @@ public class AbstractInjectorGrapherTest extends TestCase {
     assertEquals(expectedNodes, grapher.nodes);
     assertEquals(expectedEdges, grapher.edges);
   }
+
+  public void testStreamingGraphsTheSameNodesAndEdges() throws Exception {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(IA.class).to(A2.class);
+                bind(IA.class).annotatedWith(Ann.class).to(A.class);
+                bind(String.class).toInstance(TEST_STRING);
+              }
+            });
+    FakeGrapher streamingGrapher =
+        new FakeGrapher(new AbstractInjectorGrapher.GrapherParameters().setStreaming(true));
+
+    grapher.graph(injector);
+    streamingGrapher.graph(injector);
+
+    assertEquals(grapher.nodes, streamingGrapher.nodes);
+    assertEquals(grapher.edges, streamingGrapher.edges);
+    // Provider<String> is aliased to String, so it isn't a node of its own
+    assertTrue(streamingGrapher.nodes.contains(stringNode));
+    Key<Provider<String>> providerKey = Key.get(new TypeLiteral<Provider<String>>() {});
+    assertFalse(
+        streamingGrapher.nodes.contains(new InterfaceNode(NodeId.newTypeId(providerKey), null)));
+  }
 }
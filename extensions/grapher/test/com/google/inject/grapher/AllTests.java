@@ -16,6 +16,7 @@
 
 package com.google.inject.grapher;
 
+import com.google.inject.grapher.json.JsonLinesGrapherTest;
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
@@ -25,6 +26,7 @@ public class AllTests {
   public static Test suite() {
     TestSuite suite = new TestSuite();
     suite.addTestSuite(AbstractInjectorGrapherTest.class);
+    suite.addTestSuite(JsonLinesGrapherTest.class);
     suite.addTestSuite(ShortNameFactoryTest.class);
     suite.addTestSuite(TransitiveDependencyVisitorTest.class);
     return suite;
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.grapher.json;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import java.io.StringWriter;
+import java.util.List;
+import junit.framework.TestCase;
+
+/** Tests for {@link JsonLinesGrapher}. */
+public class JsonLinesGrapherTest extends TestCase {
+  private static final String IA_ID = "type:" + Key.get(IA.class);
+  private static final String A_ID = "type:" + Key.get(A.class);
+
+  private interface IA {}
+
+  private static class A implements IA {
+    @Inject
+    A(String str) {}
+  }
+
+  private final Injector injector =
+      Guice.createInjector(
+          new AbstractModule() {
+            @Override
+            protected void configure() {
+              bind(IA.class).to(A.class);
+              bind(String.class).toInstance("a \"quoted\"\nvalue");
+              bind(String.class).annotatedWith(Names.named("unused")).toInstance("unused");
+            }
+          });
+
+  public void testGraph() throws Exception {
+    StringWriter out = new StringWriter();
+    new JsonLinesGrapher(out).graph(injector);
+    List<String> lines = Splitter.on('\n').omitEmptyStrings().splitToList(out.toString());
+
+    for (String line : lines) {
+      assertTrue(line, line.startsWith("{\"") && line.endsWith("}"));
+    }
+    assertTrue(
+        out.toString(),
+        hasLineStartingWith(lines, "{\"node\":\"interface\",\"id\":\"" + IA_ID));
+    assertTrue(
+        out.toString(),
+        hasLineStartingWith(lines, "{\"node\":\"implementation\",\"id\":\"" + A_ID));
+    assertTrue(
+        out.toString(),
+        lines.contains(
+            "{\"edge\":\"binding\",\"from\":\""
+                + IA_ID
+                + "\",\"to\":\""
+                + A_ID
+                + "\",\"type\":\"NORMAL\"}"));
+    assertTrue(
+        out.toString(), out.toString().contains("\"instance\":\"a \\\"quoted\\\"\\nvalue\""));
+  }
+
+  public void testGraphWithGivenRoot() throws Exception {
+    StringWriter out = new StringWriter();
+    new JsonLinesGrapher(out).graph(injector, ImmutableSet.<Key<?>>of(Key.get(IA.class)));
+
+    assertTrue(out.toString(), out.toString().contains(A_ID));
+    assertFalse(out.toString(), out.toString().contains("unused"));
+  }
+
+  private static boolean hasLineStartingWith(List<String> lines, String prefix) {
+    return lines.stream().anyMatch(line -> line.startsWith(prefix));
+  }
+}
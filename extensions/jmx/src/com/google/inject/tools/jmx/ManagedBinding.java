@@ -17,13 +17,16 @@
 package com.google.inject.tools.jmx;
 
 import com.google.inject.Binding;
+import com.google.inject.tools.jmx.ProvisionStatistics.BindingStatistics;
 
 class ManagedBinding implements ManagedBindingMBean {
 
   final Binding<?> binding;
+  final BindingStatistics statistics;
 
-  ManagedBinding(Binding<?> binding) {
+  ManagedBinding(Binding<?> binding, ProvisionStatistics statistics) {
     this.binding = binding;
+    this.statistics = statistics != null ? statistics.forKey(binding.getKey()) : null;
   }
 
   @Override
@@ -40,4 +43,29 @@ class ManagedBinding implements ManagedBindingMBean {
   public String getProvider() {
     return binding.getProvider().toString();
   }
+
+  @Override
+  public long getProvisionCount() {
+    return statistics != null ? statistics.getProvisionCount() : 0;
+  }
+
+  @Override
+  public long getFailureCount() {
+    return statistics != null ? statistics.getFailureCount() : 0;
+  }
+
+  @Override
+  public long getTotalProvisionNanos() {
+    return statistics != null ? statistics.getTotalProvisionNanos() : 0;
+  }
+
+  @Override
+  public long getMaxProvisionNanos() {
+    return statistics != null ? statistics.getMaxProvisionNanos() : 0;
+  }
+
+  @Override
+  public String getLastFailure() {
+    return statistics != null ? statistics.getLastFailure() : null;
+  }
 }
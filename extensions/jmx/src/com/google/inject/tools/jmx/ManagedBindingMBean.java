@@ -31,4 +31,22 @@ public interface ManagedBindingMBean {
 
   /** Gets the binding key. */
   String getKey();
+
+  /**
+   * Gets the number of instances successfully provisioned for this binding, or 0 if the injector
+   * doesn't collect {@link ProvisionStatistics}.
+   */
+  long getProvisionCount();
+
+  /** Gets the number of provisions that failed. */
+  long getFailureCount();
+
+  /** Gets the total time spent on successful provisions, in nanoseconds. */
+  long getTotalProvisionNanos();
+
+  /** Gets the longest time spent on one successful provision, in nanoseconds. */
+  long getMaxProvisionNanos();
+
+  /** Gets the last exception thrown by a provision, or null if none has failed. */
+  String getLastFailure();
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.tools.jmx;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/** The statistics of an injector. Only registered if the injector collects statistics. */
+class ManagedInjector implements ManagedInjectorMBean {
+
+  @Nullable final ProvisionStatistics statistics;
+  final AtomicInteger managedBindingCount = new AtomicInteger();
+
+  ManagedInjector(ProvisionStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  @Override
+  public int getManagedBindingCount() {
+    return managedBindingCount.get();
+  }
+
+  @Override
+  public long getProvisionCount() {
+    return statistics.getProvisionCount();
+  }
+
+  @Override
+  public long getFailureCount() {
+    return statistics.getFailureCount();
+  }
+
+  @Override
+  public long getTotalProvisionNanos() {
+    return statistics.getTotalProvisionNanos();
+  }
+
+  @Override
+  public long getMaxProvisionNanos() {
+    return statistics.getMaxProvisionNanos();
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.tools.jmx;
+
+/** JMX interface to the provisioning statistics of an injector, across all of its bindings. */
+public interface ManagedInjectorMBean {
+
+  /** Gets the number of bindings registered with the MBean server. */
+  int getManagedBindingCount();
+
+  /** Gets the number of instances successfully provisioned. */
+  long getProvisionCount();
+
+  /** Gets the number of provisions that failed. */
+  long getFailureCount();
+
+  /** Gets the total time spent on successful provisions, in nanoseconds. */
+  long getTotalProvisionNanos();
+
+  /** Gets the longest time spent on one successful provision, in nanoseconds. */
+  long getMaxProvisionNanos();
+}
@@ -23,6 +23,13 @@ import com.google.inject.Key;
 import com.google.inject.Module;
 import java.lang.annotation.Annotation;
 import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
@@ -34,6 +41,14 @@ import javax.management.ObjectName;
  */
 public class Manager {
 
+  private static final Logger logger = Logger.getLogger(Manager.class.getName());
+
+  /** The number of bindings registered by each task given to the executor. */
+  private static final int BATCH_SIZE = 1000;
+
+  /** Numbers the statistics MBeans of injectors. */
+  private static final AtomicInteger injectorCount = new AtomicInteger();
+
   /**
    * Registers all the bindings of an Injector with the platform MBean server. Consider using the
    * name of your root {@link Module} class as the domain.
@@ -45,13 +60,58 @@ public class Manager {
   /**
    * Registers all the bindings of an Injector with the given MBean server. Consider using the name
    * of your root {@link Module} class as the domain.
+   *
+   * <p>If the injector installs {@link ProvisionStatistics#module}, this also registers an MBean
+   * with statistics for the whole injector, named {@code
+   * <domain>:name=ProvisionStatistics,injector=<n>}. The number is unique to the injector, so that
+   * several injectors can be managed under the same domain.
    */
   public static void manage(MBeanServer server, String domain, Injector injector) {
-    // Register each binding independently.
-    for (Binding<?> binding : injector.getBindings().values()) {
+    ManagedInjector managedInjector = manageInjector(server, domain, injector);
+    registerBindings(
+        server, domain, injector.getBindings().values(), managedInjector, /* logFailures= */ false);
+  }
+
+  /**
+   * Registers the bindings of an Injector with the given MBean server in batches on the given
+   * executor, so that managing a large injector doesn't delay startup. The injector's own MBean is
+   * registered before this returns. Bindings that can't be registered are logged and skipped.
+   */
+  public static void manage(
+      MBeanServer server, String domain, Injector injector, Executor executor) {
+    ManagedInjector managedInjector = manageInjector(server, domain, injector);
+    List<Binding<?>> bindings = new ArrayList<>(injector.getBindings().values());
+    for (int start = 0; start < bindings.size(); start += BATCH_SIZE) {
+      List<Binding<?>> batch =
+          bindings.subList(start, Math.min(start + BATCH_SIZE, bindings.size()));
+      executor.execute(
+          () -> registerBindings(server, domain, batch, managedInjector, /* logFailures= */ true));
+    }
+  }
+
+  private static ManagedInjector manageInjector(
+      MBeanServer server, String domain, Injector injector) {
+    ManagedInjector managedInjector = new ManagedInjector(ProvisionStatistics.of(injector));
+    if (managedInjector.statistics != null) {
+      register(
+          server,
+          managedInjector,
+          domain + ":name=ProvisionStatistics,injector=" + injectorCount.incrementAndGet());
+    }
+    return managedInjector;
+  }
+
+  private static void registerBindings(
+      MBeanServer server,
+      String domain,
+      Collection<Binding<?>> bindings,
+      ManagedInjector managedInjector,
+      boolean logFailures) {
+    StringBuilder name = new StringBuilder();
+    for (Binding<?> binding : bindings) {
       // Construct the name manually so we can ensure proper ordering of the
       // key/value pairs.
-      StringBuilder name = new StringBuilder();
+      name.setLength(0);
       name.append(domain).append(":");
       Key<?> key = binding.getKey();
       name.append("type=").append(quote(key.getTypeLiteral().toString()));
@@ -66,15 +126,28 @@ public class Manager {
       }
 
       try {
-        server.registerMBean(new ManagedBinding(binding), new ObjectName(name.toString()));
-      } catch (MalformedObjectNameException e) {
-        throw new RuntimeException("Bad object name: " + name, e);
-      } catch (Exception e) {
-        throw new RuntimeException(e);
+        register(
+            server, new ManagedBinding(binding, managedInjector.statistics), name.toString());
+        managedInjector.managedBindingCount.incrementAndGet();
+      } catch (RuntimeException e) {
+        if (!logFailures) {
+          throw e;
+        }
+        logger.log(Level.WARNING, "Couldn't register " + key + " with the MBean server.", e);
       }
     }
   }
 
+  private static void register(MBeanServer server, Object mbean, String name) {
+    try {
+      server.registerMBean(mbean, new ObjectName(name));
+    } catch (MalformedObjectNameException e) {
+      throw new RuntimeException("Bad object name: " + name, e);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   static String quote(String value) {
     // JMX seems to have a comma bug.
     return ObjectName.quote(value).replace(',', ';');
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.tools.jmx;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ProvisionListener;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live provisioning statistics for the bindings of an injector, which {@link Manager} exposes
+ * through JMX. Statistics are only collected for injectors that install {@link #module()}:
+ *
+ * <pre>
+ *   Injector injector = Guice.createInjector(ProvisionStatistics.module(), new MyModule());
+ *   Manager.manage("MyModule", injector);
+ * </pre>
+ *
+ * <p>The statistics are recorded by a {@link ProvisionListener}, which Guice calls from the
+ * provisioning path of each binding, so they only cover the instances that Guice constructs or gets
+ * from providers. The time to provision an instance includes the time to provision its
+ * dependencies.
+ */
+public final class ProvisionStatistics {
+
+  private final ConcurrentMap<Key<?>, BindingStatistics> bindings = new ConcurrentHashMap<>();
+
+  private final ProvisionListener listener =
+      new ProvisionListener() {
+        @Override
+        public <T> void onProvision(ProvisionInvocation<T> provision) {
+          BindingStatistics statistics = forKey(provision.getBinding().getKey());
+          long start = System.nanoTime();
+          try {
+            provision.provision();
+          } catch (RuntimeException | Error e) {
+            statistics.recordFailure(e);
+            throw e;
+          }
+          statistics.recordProvision(System.nanoTime() - start);
+        }
+      };
+
+  private ProvisionStatistics() {}
+
+  /** Returns a module that collects the provisioning statistics of the injector it's in. */
+  public static Module module() {
+    return new StatisticsModule();
+  }
+
+  /** Returns the statistics of the injector, or null if it doesn't collect them. */
+  static ProvisionStatistics of(Injector injector) {
+    Binding<ProvisionStatistics> binding =
+        injector.getExistingBinding(Key.get(ProvisionStatistics.class));
+    return binding != null ? binding.getProvider().get() : null;
+  }
+
+  BindingStatistics forKey(Key<?> key) {
+    BindingStatistics statistics = bindings.get(key);
+    return statistics != null
+        ? statistics
+        : bindings.computeIfAbsent(key, k -> new BindingStatistics());
+  }
+
+  /** Returns the number of successful provisions, across all bindings. */
+  long getProvisionCount() {
+    long count = 0;
+    for (BindingStatistics statistics : bindings.values()) {
+      count += statistics.getProvisionCount();
+    }
+    return count;
+  }
+
+  /** Returns the number of failed provisions, across all bindings. */
+  long getFailureCount() {
+    long count = 0;
+    for (BindingStatistics statistics : bindings.values()) {
+      count += statistics.getFailureCount();
+    }
+    return count;
+  }
+
+  /** Returns the total time spent on successful provisions, across all bindings. */
+  long getTotalProvisionNanos() {
+    long nanos = 0;
+    for (BindingStatistics statistics : bindings.values()) {
+      nanos += statistics.getTotalProvisionNanos();
+    }
+    return nanos;
+  }
+
+  /** Returns the longest time spent on one successful provision, across all bindings. */
+  long getMaxProvisionNanos() {
+    long nanos = 0;
+    for (BindingStatistics statistics : bindings.values()) {
+      nanos = Math.max(nanos, statistics.getMaxProvisionNanos());
+    }
+    return nanos;
+  }
+
+  /**
+   * The statistics of one binding. Counters are striped, so that threads provisioning the same
+   * binding don't contend.
+   */
+  static final class BindingStatistics {
+    private final LongAdder provisions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile String lastFailure;
+
+    void recordProvision(long nanos) {
+      provisions.increment();
+      totalNanos.add(nanos);
+      // Only write when there's a new maximum, which is rare once the binding is warm.
+      long max = maxNanos.get();
+      while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+        max = maxNanos.get();
+      }
+    }
+
+    void recordFailure(Throwable failure) {
+      failures.increment();
+      lastFailure = failure.toString();
+    }
+
+    long getProvisionCount() {
+      return provisions.sum();
+    }
+
+    long getFailureCount() {
+      return failures.sum();
+    }
+
+    long getTotalProvisionNanos() {
+      return totalNanos.sum();
+    }
+
+    long getMaxProvisionNanos() {
+      return maxNanos.get();
+    }
+
+    String getLastFailure() {
+      return lastFailure;
+    }
+  }
+
+  /** Binds the statistics and their listener. All instances are equal, so it's installed once. */
+  private static final class StatisticsModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      ProvisionStatistics statistics = new ProvisionStatistics();
+      bind(ProvisionStatistics.class).toInstance(statistics);
+      bindListener(Matchers.any(), statistics.listener);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof StatisticsModule;
+    }
+
+    @Override
+    public int hashCode() {
+      return StatisticsModule.class.hashCode();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.tools.jmx;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.ProvisionException;
+import com.google.inject.Provides;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import junit.framework.TestCase;
+
+/** Tests for {@link Manager} and {@link ProvisionStatistics}. */
+public class ManagerTest extends TestCase {
+
+  private static final String DOMAIN = "test";
+
+  private final MBeanServer server = MBeanServerFactory.newMBeanServer();
+
+  public void testProvisionCounts() throws Exception {
+    Injector injector = Guice.createInjector(ProvisionStatistics.module(), new FooModule());
+    Manager.manage(server, DOMAIN, injector);
+    ObjectName statistics = onlyStatisticsName();
+    // The statistics count the instance bindings initialized with the injector.
+    long initialProvisions = (Long) server.getAttribute(statistics, "ProvisionCount");
+    injector.getInstance(Foo.class);
+    injector.getInstance(Foo.class);
+    injector.getInstance(Foo.class);
+
+    ObjectName foo = bindingName(Foo.class);
+    assertEquals(3L, server.getAttribute(foo, "ProvisionCount"));
+    assertEquals(0L, server.getAttribute(foo, "FailureCount"));
+    assertNull(server.getAttribute(foo, "LastFailure"));
+    long totalNanos = (Long) server.getAttribute(foo, "TotalProvisionNanos");
+    long maxNanos = (Long) server.getAttribute(foo, "MaxProvisionNanos");
+    assertTrue(maxNanos <= totalNanos);
+
+    assertEquals(
+        initialProvisions + 3, (long) (Long) server.getAttribute(statistics, "ProvisionCount"));
+    assertTrue((Long) server.getAttribute(statistics, "TotalProvisionNanos") >= totalNanos);
+    assertEquals(
+        injector.getBindings().size(), server.getAttribute(statistics, "ManagedBindingCount"));
+  }
+
+  public void testFailedProvisionsAreOnlyCountedAsFailures() throws Exception {
+    Injector injector = Guice.createInjector(ProvisionStatistics.module(), new FooModule());
+    Manager.manage(server, DOMAIN, injector);
+    ObjectName statistics = onlyStatisticsName();
+    Object initialProvisions = server.getAttribute(statistics, "ProvisionCount");
+    try {
+      injector.getInstance(Bar.class);
+      fail();
+    } catch (ProvisionException expected) {
+    }
+
+    ObjectName bar = bindingName(Bar.class);
+    assertEquals(0L, server.getAttribute(bar, "ProvisionCount"));
+    assertEquals(0L, server.getAttribute(bar, "TotalProvisionNanos"));
+    assertEquals(1L, server.getAttribute(bar, "FailureCount"));
+    assertTrue(((String) server.getAttribute(bar, "LastFailure")).contains("no bar"));
+
+    assertEquals(initialProvisions, server.getAttribute(statistics, "ProvisionCount"));
+    assertEquals(1L, server.getAttribute(statistics, "FailureCount"));
+  }
+
+  public void testStatisticsAreOnlyRegisteredIfCollected() throws Exception {
+    Manager.manage(server, DOMAIN, Guice.createInjector(new FooModule()));
+    assertTrue(statisticsNames().isEmpty());
+    assertEquals(0L, server.getAttribute(bindingName(Foo.class), "ProvisionCount"));
+  }
+
+  public void testTwoInjectorsUnderOneDomain() throws Exception {
+    Injector first = Guice.createInjector(ProvisionStatistics.module(), new FooModule());
+    Injector second = Guice.createInjector(ProvisionStatistics.module());
+    Manager.manage(server, DOMAIN, first);
+    // The injectors share built-in bindings such as the Injector's, which are logged and skipped.
+    Manager.manage(server, DOMAIN, second, Runnable::run);
+
+    Set<ObjectName> statistics = statisticsNames();
+    assertEquals(2, statistics.size());
+    long initialProvisions = totalProvisions(statistics);
+    first.getInstance(Foo.class);
+    assertEquals(initialProvisions + 1, totalProvisions(statistics));
+  }
+
+  private long totalProvisions(Set<ObjectName> statistics) throws Exception {
+    long provisions = 0;
+    for (ObjectName name : statistics) {
+      provisions += (Long) server.getAttribute(name, "ProvisionCount");
+    }
+    return provisions;
+  }
+
+  private ObjectName bindingName(Class<?> type) throws Exception {
+    return new ObjectName(DOMAIN + ":type=" + Manager.quote(type.getName()));
+  }
+
+  private ObjectName onlyStatisticsName() throws Exception {
+    Set<ObjectName> names = statisticsNames();
+    assertEquals(1, names.size());
+    return names.iterator().next();
+  }
+
+  private Set<ObjectName> statisticsNames() throws Exception {
+    return server.queryNames(new ObjectName(DOMAIN + ":name=ProvisionStatistics,*"), null);
+  }
+
+  static class Foo {}
+
+  static class Bar {}
+
+  static class FooModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bind(Foo.class);
+    }
+
+    @Provides
+    Bar provideBar() {
+      throw new UnsupportedOperationException("no bar");
+    }
+  }
+}
@@ -18,6 +18,9 @@ package com.google.inject.jndi;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
 import javax.naming.Context;
 import javax.naming.NamingException;
 
@@ -42,6 +45,95 @@ public class JndiIntegration {
     return new JndiProvider<T>(type, name);
   }
 
+  /**
+   * Returns a builder for a provider which looks up objects in JNDI using the given name, and
+   * caches them so that most calls don't go to JNDI. Example usage:
+   *
+   * <pre>
+   * bind(DataSource.class).toProvider(
+   *     cachedFromJndi(DataSource.class, "java:...")
+   *         .expireAfter(Duration.ofMinutes(10))
+   *         .refreshAfter(Duration.ofMinutes(8))
+   *         .build());
+   * </pre>
+   */
+  public static <T> CachingJndiProviderBuilder<T> cachedFromJndi(Class<T> type, String name) {
+    return new CachingJndiProviderBuilder<T>(type, name);
+  }
+
+  /**
+   * Builds a provider that caches the objects it looks up in JNDI. Concurrent lookups of the name
+   * are collapsed into one. Failed lookups are cached too, and retried after a delay that doubles
+   * with each consecutive failure.
+   */
+  public static final class CachingJndiProviderBuilder<T> {
+    private final Class<T> type;
+    private final String name;
+    private Duration expireAfter = Duration.ofMinutes(5);
+    private Duration refreshAfter;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(1);
+
+    CachingJndiProviderBuilder(Class<T> type, String name) {
+      this.type = type;
+      this.name = name;
+    }
+
+    /**
+     * Looks the name up again once the object has been cached for this long. Defaults to 5
+     * minutes.
+     */
+    public CachingJndiProviderBuilder<T> expireAfter(Duration duration) {
+      this.expireAfter = checkPositive(duration, "expireAfter");
+      return this;
+    }
+
+    /**
+     * Refreshes the object ahead of its expiry once it's been cached for this long. The first call
+     * after that looks the name up again, while concurrent calls keep getting the cached object. If
+     * the refresh fails, the cached object is used until it expires. Disabled by default.
+     */
+    public CachingJndiProviderBuilder<T> refreshAfter(Duration duration) {
+      this.refreshAfter = checkPositive(duration, "refreshAfter");
+      return this;
+    }
+
+    /**
+     * Retries a failed lookup after {@code initial}, doubling the delay after each consecutive
+     * failure up to {@code max}. Until then, calls fail without going to JNDI. Defaults to 1
+     * second, up to 1 minute.
+     */
+    public CachingJndiProviderBuilder<T> backoff(Duration initial, Duration max) {
+      this.initialBackoff = checkPositive(initial, "initial");
+      this.maxBackoff = checkPositive(max, "max");
+      if (max.compareTo(initial) < 0) {
+        throw new IllegalArgumentException("max backoff is less than initial backoff");
+      }
+      return this;
+    }
+
+    public Provider<T> build() {
+      if (refreshAfter != null && refreshAfter.compareTo(expireAfter) >= 0) {
+        throw new IllegalArgumentException("refreshAfter must be less than expireAfter");
+      }
+      return new CachingJndiProvider<T>(
+          type,
+          name,
+          expireAfter.toNanos(),
+          refreshAfter != null ? refreshAfter.toNanos() : Long.MAX_VALUE,
+          initialBackoff.toNanos(),
+          maxBackoff.toNanos(),
+          System::nanoTime);
+    }
+
+    private static Duration checkPositive(Duration duration, String name) {
+      if (duration.isNegative() || duration.isZero()) {
+        throw new IllegalArgumentException(name + " must be positive: " + duration);
+      }
+      return duration;
+    }
+  }
+
   static class JndiProvider<T> implements Provider<T> {
 
     @Inject Context context;
@@ -62,4 +154,136 @@ public class JndiIntegration {
       }
     }
   }
+
+  static class CachingJndiProvider<T> extends JndiProvider<T> {
+
+    final long expireAfterNanos;
+    final long refreshAfterNanos;
+    final long initialBackoffNanos;
+    final long maxBackoffNanos;
+    final LongSupplier ticker;
+
+    /** The last lookup, or null before the first one. Replaced as a whole. */
+    volatile Entry<T> entry;
+
+    /** Set while a call refreshes the object ahead of its expiry. */
+    final AtomicBoolean refreshing = new AtomicBoolean();
+
+    CachingJndiProvider(
+        Class<T> type,
+        String name,
+        long expireAfterNanos,
+        long refreshAfterNanos,
+        long initialBackoffNanos,
+        long maxBackoffNanos,
+        LongSupplier ticker) {
+      super(type, name);
+      this.expireAfterNanos = expireAfterNanos;
+      this.refreshAfterNanos = refreshAfterNanos;
+      this.initialBackoffNanos = initialBackoffNanos;
+      this.maxBackoffNanos = maxBackoffNanos;
+      this.ticker = ticker;
+    }
+
+    @Override
+    public T get() {
+      Entry<T> current = entry;
+      long now = ticker.getAsLong();
+      if (current != null && now - current.expiry < 0) {
+        if (current.failure == null
+            && now - current.refresh >= 0
+            && refreshing.compareAndSet(false, true)) {
+          try {
+            refresh(current);
+          } finally {
+            refreshing.set(false);
+          }
+          return entry.get();
+        }
+        return current.get();
+      }
+      synchronized (this) {
+        // Another call may have looked the name up while we waited.
+        current = entry;
+        if (current == null || ticker.getAsLong() - current.expiry >= 0) {
+          current = lookup(current);
+        }
+      }
+      return current.get();
+    }
+
+    /** Looks the name up again, keeping the current object if the lookup fails. */
+    private synchronized void refresh(Entry<T> current) {
+      if (entry != current) {
+        return;
+      }
+      Entry<T> refreshed = lookup(current);
+      if (refreshed.failure != null) {
+        // Use the object until it expires, but don't refresh it again until the backoff ends.
+        entry =
+            new Entry<T>(
+                current.value, null, current.expiry, refreshed.expiry, refreshed.failures);
+      }
+    }
+
+    /** Looks the name up and caches the result. Must hold the lock. */
+    private Entry<T> lookup(Entry<T> previous) {
+      Entry<T> next;
+      try {
+        T value = super.get();
+        long now = ticker.getAsLong();
+        long refresh = now + Math.min(refreshAfterNanos, expireAfterNanos);
+        next = new Entry<T>(value, null, now + expireAfterNanos, refresh, 0);
+      } catch (RuntimeException e) {
+        int failures = previous != null ? previous.failures + 1 : 1;
+        long retry = ticker.getAsLong() + backoff(failures);
+        // Keep the NamingException rather than the RuntimeException wrapping it.
+        Throwable cause = e.getCause() instanceof NamingException ? e.getCause() : e;
+        next = new Entry<T>(null, cause, retry, retry, failures);
+      }
+      entry = next;
+      return next;
+    }
+
+    private long backoff(int failures) {
+      long backoff = initialBackoffNanos;
+      for (int i = 1; i < failures && backoff < maxBackoffNanos; i++) {
+        backoff *= 2;
+      }
+      return Math.min(backoff, maxBackoffNanos);
+    }
+
+    @Override
+    public String toString() {
+      return "CachingJndiProvider[" + name + "]";
+    }
+  }
+
+  /** The result of a lookup: an object or a failure, and when to look the name up again. */
+  static final class Entry<T> {
+    final T value;
+    /** Why the lookup failed. Each call gets its own exception wrapping it. */
+    final Throwable failure;
+    /** When the entry expires, in {@link System#nanoTime} units. */
+    final long expiry;
+    /** When to refresh the object ahead of its expiry. */
+    final long refresh;
+    /** The number of consecutive failed lookups. */
+    final int failures;
+
+    Entry(T value, Throwable failure, long expiry, long refresh, int failures) {
+      this.value = value;
+      this.failure = failure;
+      this.expiry = expiry;
+      this.refresh = refresh;
+      this.failures = failures;
+    }
+
+    T get() {
+      if (failure != null) {
+        throw new RuntimeException(failure);
+      }
+      return value;
+    }
+  }
 }
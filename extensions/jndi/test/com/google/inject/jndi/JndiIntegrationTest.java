@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2025 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.jndi;
+
+import static com.google.inject.jndi.JndiIntegration.cachedFromJndi;
+import static com.google.inject.jndi.JndiIntegration.fromJndi;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+import com.google.inject.ProvisionException;
+import com.google.inject.jndi.JndiIntegration.CachingJndiProvider;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+import javax.naming.Context;
+import javax.naming.InitialContext;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingException;
+import javax.naming.spi.InitialContextFactory;
+import junit.framework.TestCase;
+
+/** Tests for {@link JndiIntegration}. */
+@SuppressWarnings("BanJNDI")
+public class JndiIntegrationTest extends TestCase {
+
+  private static final String NAME = "java:comp/env/name";
+  private static final long EXPIRE = SECONDS.toNanos(60);
+  private static final long REFRESH = SECONDS.toNanos(45);
+  private static final long INITIAL_BACKOFF = SECONDS.toNanos(1);
+  private static final long MAX_BACKOFF = SECONDS.toNanos(5);
+
+  /** The objects bound in JNDI, by name. */
+  private final Map<String, Object> names = new HashMap<>();
+
+  private int lookups;
+  private long now = 1000;
+
+  public void testFromJndi() throws Exception {
+    names.put(NAME, "value");
+    Injector injector = createInjector(fromJndi(String.class, NAME));
+    assertEquals("value", injector.getInstance(String.class));
+    assertEquals("value", injector.getInstance(String.class));
+    assertEquals(2, lookups);
+  }
+
+  public void testCachedFromJndi() throws Exception {
+    names.put(NAME, "value");
+    Injector injector =
+        createInjector(cachedFromJndi(String.class, NAME).expireAfter(Duration.ofHours(1)).build());
+    assertEquals("value", injector.getInstance(String.class));
+    assertEquals("value", injector.getInstance(String.class));
+    assertEquals(1, lookups);
+  }
+
+  public void testLooksTheNameUpAgainOnceExpired() throws Exception {
+    names.put(NAME, "first");
+    Injector injector = createInjector(newProvider(Long.MAX_VALUE));
+    assertEquals("first", injector.getInstance(String.class));
+
+    names.put(NAME, "second");
+    now += EXPIRE - 1;
+    assertEquals("first", injector.getInstance(String.class));
+    assertEquals(1, lookups);
+
+    now += 1;
+    assertEquals("second", injector.getInstance(String.class));
+    assertEquals("second", injector.getInstance(String.class));
+    assertEquals(2, lookups);
+  }
+
+  public void testRefreshesAheadOfExpiry() throws Exception {
+    names.put(NAME, "first");
+    Injector injector = createInjector(newProvider(REFRESH));
+    assertEquals("first", injector.getInstance(String.class));
+
+    names.put(NAME, "second");
+    now += REFRESH - 1;
+    assertEquals("first", injector.getInstance(String.class));
+    assertEquals(1, lookups);
+
+    now += 1;
+    assertEquals("second", injector.getInstance(String.class));
+    assertEquals(2, lookups);
+
+    // The refreshed object is cached for the full expiry again.
+    now += EXPIRE - 1;
+    assertEquals("second", injector.getInstance(String.class));
+    assertEquals(3, lookups);
+  }
+
+  public void testFailedRefreshKeepsTheObjectUntilItExpires() throws Exception {
+    names.put(NAME, "first");
+    Injector injector = createInjector(newProvider(REFRESH));
+    assertEquals("first", injector.getInstance(String.class));
+
+    names.remove(NAME);
+    now += REFRESH;
+    assertEquals("first", injector.getInstance(String.class));
+    assertEquals(2, lookups);
+
+    // The refresh isn't retried until the backoff ends.
+    assertEquals("first", injector.getInstance(String.class));
+    assertEquals(2, lookups);
+    now += INITIAL_BACKOFF;
+    assertEquals("first", injector.getInstance(String.class));
+    assertEquals(3, lookups);
+
+    now += EXPIRE - REFRESH - INITIAL_BACKOFF;
+    assertLookupFails(injector);
+  }
+
+  public void testFailuresAreRetriedAfterABackoff() throws Exception {
+    Injector injector = createInjector(newProvider(Long.MAX_VALUE));
+    assertLookupFails(injector);
+    assertEquals(1, lookups);
+
+    now += INITIAL_BACKOFF - 1;
+    assertLookupFails(injector);
+    assertEquals(1, lookups);
+
+    now += 1;
+    assertLookupFails(injector);
+    assertEquals(2, lookups);
+
+    // The backoff doubles after each consecutive failure.
+    now += 2 * INITIAL_BACKOFF - 1;
+    assertLookupFails(injector);
+    assertEquals(2, lookups);
+
+    names.put(NAME, "value");
+    now += 1;
+    assertEquals("value", injector.getInstance(String.class));
+    assertEquals(3, lookups);
+  }
+
+  public void testBackoffIsLimitedToMax() throws Exception {
+    Injector injector = createInjector(newProvider(Long.MAX_VALUE));
+    // Fails after 1, 2 and 4 seconds, and then every 5 seconds.
+    for (long backoff : new long[] {1, 2, 4, 5, 5}) {
+      assertLookupFails(injector);
+      now += SECONDS.toNanos(backoff) - 1;
+      assertLookupFails(injector);
+      now += 1;
+    }
+    assertEquals(5, lookups);
+  }
+
+  public void testEachCallGetsItsOwnException() throws Exception {
+    Injector injector = createInjector(newProvider(Long.MAX_VALUE));
+    ProvisionException first = assertLookupFails(injector);
+    ProvisionException second = assertLookupFails(injector);
+    assertEquals(1, lookups);
+    assertNotSame(first.getCause(), second.getCause());
+    assertSame(first.getCause().getCause(), second.getCause().getCause());
+  }
+
+  public void testBuilderChecksDurations() {
+    try {
+      cachedFromJndi(String.class, NAME).expireAfter(Duration.ZERO);
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      cachedFromJndi(String.class, NAME).backoff(Duration.ofSeconds(2), Duration.ofSeconds(1));
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+    try {
+      cachedFromJndi(String.class, NAME)
+          .expireAfter(Duration.ofMinutes(1))
+          .refreshAfter(Duration.ofMinutes(1))
+          .build();
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  private ProvisionException assertLookupFails(Injector injector) {
+    try {
+      injector.getInstance(String.class);
+      throw new AssertionError("expected the lookup to fail");
+    } catch (ProvisionException expected) {
+      assertTrue(expected.getCause().getCause() instanceof NameNotFoundException);
+      return expected;
+    }
+  }
+
+  private Provider<String> newProvider(long refreshAfterNanos) {
+    return new CachingJndiProvider<String>(
+        String.class, NAME, EXPIRE, refreshAfterNanos, INITIAL_BACKOFF, MAX_BACKOFF, () -> now);
+  }
+
+  private Injector createInjector(Provider<String> provider) throws NamingException {
+    Hashtable<String, Object> environment = new Hashtable<>();
+    environment.put(Context.INITIAL_CONTEXT_FACTORY, InMemoryContextFactory.class.getName());
+    environment.put(InMemoryContextFactory.TEST, this);
+    Context context = new InitialContext(environment);
+    return Guice.createInjector(
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            bind(Context.class).toInstance(context);
+            bind(String.class).toProvider(provider);
+          }
+        });
+  }
+
+  /** Creates contexts that look names up in the test's map. */
+  public static class InMemoryContextFactory implements InitialContextFactory {
+    static final String TEST = "test";
+
+    @Override
+    public Context getInitialContext(Hashtable<?, ?> environment) {
+      JndiIntegrationTest test = (JndiIntegrationTest) environment.get(TEST);
+      return (Context)
+          Proxy.newProxyInstance(
+              Context.class.getClassLoader(),
+              new Class<?>[] {Context.class},
+              (proxy, method, args) -> {
+                switch (method.getName()) {
+                  case "lookup":
+                    test.lookups++;
+                    Object value = test.names.get(args[0].toString());
+                    if (value == null) {
+                      throw new NameNotFoundException(args[0].toString());
+                    }
+                    return value;
+                  case "close":
+                    return null;
+                  default:
+                    throw new UnsupportedOperationException(method.getName());
+                }
+              });
+    }
+  }
+}
@@ -67,12 +67,12 @@ class FilterChainInvocation implements FilterChain {
   @Override
   public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse)
       throws IOException, ServletException {
-    GuiceFilter.Context previous = GuiceFilter.localContext.get();
     HttpServletRequest request = (HttpServletRequest) servletRequest;
     HttpServletResponse response = (HttpServletResponse) servletResponse;
-    HttpServletRequest originalRequest =
-        (previous != null) ? previous.getOriginalRequest() : request;
-    GuiceFilter.localContext.set(new GuiceFilter.Context(originalRequest, request, response));
+    GuiceFilter.Context context = GuiceFilter.Context.current(request);
+    HttpServletRequest previousRequest = context.request;
+    HttpServletResponse previousResponse = context.response;
+    context.enterDispatch(request, response);
     try {
       Filter filter = findNextFilter(request);
       if (filter != null) {
@@ -101,7 +101,7 @@ class FilterChainInvocation implements FilterChain {
       Throwables.propagateIfInstanceOf(t, IOException.class);
       throw Throwables.propagate(t);
     } finally {
-      GuiceFilter.localContext.set(previous);
+      context.exitDispatch(previousRequest, previousResponse);
     }
   }
 
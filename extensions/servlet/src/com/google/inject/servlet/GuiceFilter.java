@@ -175,8 +175,12 @@ public class GuiceFilter implements Filter {
 
   static class Context implements RequestScoper {
     final HttpServletRequest originalRequest;
-    final HttpServletRequest request;
-    final HttpServletResponse response;
+    HttpServletRequest request;
+    HttpServletResponse response;
+
+    // The number of filter and servlet dispatches in progress, which replace the request and
+    // response of this context while they run.
+    int dispatchDepth;
 
     // Synchronized to prevent two threads from using the same request
     // scope concurrently.
@@ -203,6 +207,45 @@ public class GuiceFilter implements Filter {
       return response;
     }
 
+    /**
+     * Returns the context of the current request. Filters and servlets dispatched within a request
+     * share its context, and replace its request and response while they run, rather than each
+     * opening a context of their own.
+     */
+    static Context current(HttpServletRequest request) {
+      Context context = localContext.get();
+      if (context == null) {
+        // the pipeline was called outside of GuiceFilter, so this context ends with the dispatch
+        context = new Context(request, null, null);
+        localContext.set(context);
+      }
+      return context;
+    }
+
+    /** Makes {@code request} and {@code response} current until {@link #exitDispatch}. */
+    void enterDispatch(HttpServletRequest request, HttpServletResponse response) {
+      this.request = request;
+      this.response = response;
+      dispatchDepth++;
+    }
+
+    /** Restores the request and response that were current before {@link #enterDispatch}. */
+    void exitDispatch(HttpServletRequest previousRequest, HttpServletResponse previousResponse) {
+      request = previousRequest;
+      response = previousResponse;
+      if (--dispatchDepth == 0 && previousRequest == null) {
+        localContext.remove();
+      }
+    }
+
+    /**
+     * Returns a scoper for this context that isn't affected by later dispatches, for {@link
+     * ServletScopes#transferRequest}.
+     */
+    RequestScoper transferable() {
+      return dispatchDepth == 0 ? this : new Context(originalRequest, request, response);
+    }
+
     @Override
     public CloseableScope open() {
       lock.lock();
@@ -25,8 +25,6 @@ import com.google.inject.spi.BindingTargetVisitor;
 import com.google.inject.spi.ProviderInstanceBinding;
 import com.google.inject.spi.ProviderWithExtensionVisitor;
 import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -199,104 +197,110 @@ class ServletDefinition implements ProviderWithExtensionVisitor<ServletDefinitio
       throws ServletException, IOException {
 
     HttpServletRequest request =
-        new HttpServletRequestWrapper((HttpServletRequest) servletRequest) {
-          private boolean pathComputed;
-          private String path;
+        new PathComputingRequest((HttpServletRequest) servletRequest, patternMatcher);
+    doServiceImpl(request, (HttpServletResponse) servletResponse);
+  }
 
-          private boolean pathInfoComputed;
-          private String pathInfo;
+  private void doServiceImpl(HttpServletRequest request, HttpServletResponse response)
+      throws ServletException, IOException {
+    GuiceFilter.Context context = GuiceFilter.Context.current(request);
+    HttpServletRequest previousRequest = context.request;
+    HttpServletResponse previousResponse = context.response;
+    context.enterDispatch(request, response);
+    try {
+      httpServlet.get().service(request, response);
+    } finally {
+      context.exitDispatch(previousRequest, previousResponse);
+    }
+  }
 
-          @Override
-          public String getPathInfo() {
-            if (!isPathInfoComputed()) {
-              String servletPath = getServletPath();
-              int servletPathLength = servletPath.length();
-              String requestUri = getRequestURI();
-              String contextPath = getContextPath();
-              // https://github.com/google/guice/issues/1655, contextPath is occasionally null
-              int contextPathLength = contextPath != null ? contextPath.length() : 0;
-              pathInfo = requestUri.substring(contextPathLength).replaceAll("[/]{2,}", "/");
-              // See: https://github.com/google/guice/issues/372
-              if (pathInfo.startsWith(servletPath)) {
-                pathInfo = pathInfo.substring(servletPathLength);
-                // Corner case: when servlet path & request path match exactly
-                // (without trailing '/'), then pathinfo is null.
-                if (pathInfo.isEmpty() && servletPathLength > 0) {
-                  pathInfo = null;
-                } else {
-                  try {
-                    pathInfo = new URI(pathInfo).getPath();
-                  } catch (URISyntaxException e) {
-                    // ugh, just leave it alone then
-                  }
-                }
-              } else {
-                pathInfo = null; // we know nothing additional about the URI.
-              }
-              pathInfoComputed = true;
-            }
-
-            return pathInfo;
-          }
+  String getKey() {
+    return servletKey.toString();
+  }
 
-          // NOTE(user): These two are a bit of a hack to help ensure that request dispatcher-sent
-          // requests don't use the same path info that was memoized for the original request.
-          // NOTE(user): I don't think this is possible, since the dispatcher-sent request would
-          // perform its own wrapping.
-          private boolean isPathInfoComputed() {
-            return pathInfoComputed
-                && servletRequest.getAttribute(REQUEST_DISPATCHER_REQUEST) == null;
-          }
+  /** A request with the servlet path and path info of the servlet it's dispatched to. */
+  private static final class PathComputingRequest extends HttpServletRequestWrapper {
+    private final ServletRequest servletRequest;
+    private final UriPatternMatcher patternMatcher;
 
-          private boolean isPathComputed() {
-            return pathComputed && servletRequest.getAttribute(REQUEST_DISPATCHER_REQUEST) == null;
-          }
+    private boolean pathComputed;
+    private String path;
 
-          @Override
-          public String getServletPath() {
-            return computePath();
-          }
+    private boolean pathInfoComputed;
+    private String pathInfo;
 
-          @Override
-          public String getPathTranslated() {
-            final String info = getPathInfo();
+    PathComputingRequest(HttpServletRequest servletRequest, UriPatternMatcher patternMatcher) {
+      super(servletRequest);
+      this.servletRequest = servletRequest;
+      this.patternMatcher = patternMatcher;
+    }
 
-            return (null == info) ? null : getServletContext().getRealPath(info);
+    @Override
+    public String getPathInfo() {
+      if (!isPathInfoComputed()) {
+        String servletPath = getServletPath();
+        int servletPathLength = servletPath.length();
+        String requestUri = getRequestURI();
+        String contextPath = getContextPath();
+        // https://github.com/google/guice/issues/1655, contextPath is occasionally null
+        int contextPathLength = contextPath != null ? contextPath.length() : 0;
+        pathInfo = ServletUtils.collapseSlashes(requestUri.substring(contextPathLength));
+        // See: https://github.com/google/guice/issues/372
+        if (pathInfo.startsWith(servletPath)) {
+          pathInfo = pathInfo.substring(servletPathLength);
+          // Corner case: when servlet path & request path match exactly
+          // (without trailing '/'), then pathinfo is null.
+          if (pathInfo.isEmpty() && servletPathLength > 0) {
+            pathInfo = null;
+          } else {
+            pathInfo = ServletUtils.decodeUriPath(pathInfo);
           }
+        } else {
+          pathInfo = null; // we know nothing additional about the URI.
+        }
+        pathInfoComputed = true;
+      }
 
-          // Memoizer pattern.
-          private String computePath() {
-            if (!isPathComputed()) {
-              String servletPath = super.getServletPath();
-              path = patternMatcher.extractPath(servletPath);
-              pathComputed = true;
+      return pathInfo;
+    }
 
-              if (null == path) {
-                path = servletPath;
-              }
-            }
+    // NOTE(user): These two are a bit of a hack to help ensure that request dispatcher-sent
+    // requests don't use the same path info that was memoized for the original request.
+    // NOTE(user): I don't think this is possible, since the dispatcher-sent request would
+    // perform its own wrapping.
+    private boolean isPathInfoComputed() {
+      return pathInfoComputed && servletRequest.getAttribute(REQUEST_DISPATCHER_REQUEST) == null;
+    }
 
-            return path;
-          }
-        };
+    private boolean isPathComputed() {
+      return pathComputed && servletRequest.getAttribute(REQUEST_DISPATCHER_REQUEST) == null;
+    }
 
-    doServiceImpl(request, (HttpServletResponse) servletResponse);
-  }
+    @Override
+    public String getServletPath() {
+      return computePath();
+    }
 
-  private void doServiceImpl(HttpServletRequest request, HttpServletResponse response)
-      throws ServletException, IOException {
-    GuiceFilter.Context previous = GuiceFilter.localContext.get();
-    HttpServletRequest originalRequest =
-        (previous != null) ? previous.getOriginalRequest() : request;
-    GuiceFilter.localContext.set(new GuiceFilter.Context(originalRequest, request, response));
-    try {
-      httpServlet.get().service(request, response);
-    } finally {
-      GuiceFilter.localContext.set(previous);
+    @Override
+    public String getPathTranslated() {
+      final String info = getPathInfo();
+
+      return (null == info) ? null : getServletContext().getRealPath(info);
     }
-  }
 
-  String getKey() {
-    return servletKey.toString();
+    // Memoizer pattern.
+    private String computePath() {
+      if (!isPathComputed()) {
+        String servletPath = super.getServletPath();
+        path = patternMatcher.extractPath(servletPath);
+        pathComputed = true;
+
+        if (null == path) {
+          path = servletPath;
+        }
+      }
+
+      return path;
+    }
   }
 }
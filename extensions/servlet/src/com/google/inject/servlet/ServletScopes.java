@@ -297,7 +297,7 @@ public final class ServletScopes {
     if (context == null) {
       throw new OutOfScopeException("Not in a request scope");
     }
-    return context;
+    return context.transferable();
   }
 
   private static RequestScoper transferNonHttpRequest() {
@@ -305,7 +305,7 @@ public final class ServletScopes {
     if (context == null) {
       throw new OutOfScopeException("Not in a request scope");
     }
-    return context;
+    return context.transferable();
   }
 
   /**
@@ -22,6 +22,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.net.UrlEscapers;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -66,6 +68,10 @@ final class ServletUtils {
 
   /** Normalizes a path by unescaping all safe, percent encoded characters. */
   static String normalizePath(String path) {
+    if (isNormalized(path)) {
+      // the common case, where normalizing would split the path and join the same segments again
+      return path;
+    }
     StringBuilder sb = new StringBuilder(path.length());
     int queryStart = path.indexOf('?');
     String query = null;
@@ -100,6 +106,89 @@ final class ServletUtils {
     return sb.toString();
   }
 
+  /**
+   * Returns true if {@link #normalizePath} would return {@code path} unchanged: it has no query,
+   * no percent encoded or unsafe characters, and no "." or ".." segments.
+   */
+  private static boolean isNormalized(String path) {
+    for (int i = 0; i < path.length(); i++) {
+      char c = path.charAt(i);
+      if (c == '.') {
+        if (isDotSegment(path, i)) {
+          return false;
+        }
+      } else if (c != '/' && !isPathSegmentChar(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns true if the segment of {@code path} that starts at {@code start} is "." or "..". */
+  private static boolean isDotSegment(String path, int start) {
+    if (start > 0 && path.charAt(start - 1) != '/') {
+      return false;
+    }
+    int end = path.indexOf('/', start);
+    int length = (end < 0 ? path.length() : end) - start;
+    return length == 1 || (length == 2 && path.charAt(start + 1) == '.');
+  }
+
+  /** Returns true for the characters that a path segment can contain without being escaped. */
+  private static boolean isPathSegmentChar(char c) {
+    return (c >= 'a' && c <= 'z')
+        || (c >= 'A' && c <= 'Z')
+        || (c >= '0' && c <= '9')
+        || "-._~!$&'()*+,;=:@".indexOf(c) >= 0;
+  }
+
+  /** Replaces each run of slashes in {@code path} with a single slash. */
+  static String collapseSlashes(String path) {
+    int start = path.indexOf("//");
+    if (start < 0) {
+      return path;
+    }
+    StringBuilder sb = new StringBuilder(path.length());
+    sb.append(path, 0, start + 1);
+    for (int i = start + 1; i < path.length(); i++) {
+      char c = path.charAt(i);
+      if (c != '/' || path.charAt(i - 1) != '/') {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns the decoded path of {@code path} parsed as a URI, or {@code path} itself if it can't be
+   * parsed.
+   */
+  static String decodeUriPath(String path) {
+    if (path.startsWith("/") && !path.startsWith("//") && isPlainUriPath(path)) {
+      // parsing would return the same path
+      return path;
+    }
+    try {
+      return new URI(path).getPath();
+    } catch (URISyntaxException e) {
+      // ugh, just leave it alone then
+      return path;
+    }
+  }
+
+  /** Returns true if {@code path} only has characters that a URI path can contain as they are. */
+  private static boolean isPlainUriPath(String path) {
+    for (int i = 0; i < path.length(); i++) {
+      char c = path.charAt(i);
+      if (!(c >= 'a' && c <= 'z')
+          && !(c >= 'A' && c <= 'Z')
+          && !(c >= '0' && c <= '9')
+          && "-_.!~*'();:@&=+$,/".indexOf(c) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
 
   /**
    * Percent-decodes a US-ASCII string into a Unicode string. The specified encoding is used to
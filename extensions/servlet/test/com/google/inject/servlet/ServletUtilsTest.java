@@ -56,6 +56,24 @@ public class ServletUtilsTest extends TestCase {
     assertEquals("foo%25-0bar", ServletUtils.normalizePath("foo%-0bar"));
   }
 
+  public void testNormalizePath_dotSegments() {
+    assertEquals("/a/.b/c..", ServletUtils.normalizePath("/a/.b/c.."));
+    assertEquals("/b", ServletUtils.normalizePath("/a/../b"));
+    assertEquals("/a", ServletUtils.normalizePath("/a/."));
+  }
+
+  public void testCollapseSlashes() {
+    assertEquals("/a/b/", ServletUtils.collapseSlashes("/a/b/"));
+    assertEquals("/a/b/", ServletUtils.collapseSlashes("//a///b//"));
+  }
+
+  public void testDecodeUriPath() {
+    assertEquals("/a/b;c", ServletUtils.decodeUriPath("/a/b;c"));
+    assertEquals("/a b", ServletUtils.decodeUriPath("/a%20b"));
+    assertEquals("/a b", ServletUtils.decodeUriPath("/a b"));
+    assertNull(ServletUtils.decodeUriPath("a:b"));
+  }
+
   private String getContextRelativePath(String contextPath, String requestPath) {
     HttpServletRequest mock = mock(HttpServletRequest.class);
     when(mock.getContextPath()).thenReturn(contextPath);
@@ -22,8 +22,10 @@ import com.google.inject.Binder;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.name.Names;
+import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 
 /**
  * Integrates Guice with Spring.
@@ -62,6 +64,52 @@ public class SpringIntegration {
     }
   }
 
+  /**
+   * Binds the Spring beans of the given type, which Spring finds through its index of beans by
+   * type. For a Spring bean named "foo", this method creates a binding to {@code type} and
+   * {@code @Named("foo")}. If it's the only bean of the type, it's also bound to {@code type}
+   * without an annotation.
+   *
+   * <p>Unlike {@link #bindAll}, this finds the beans once, while configuring the binder, and
+   * singleton beans are fetched from Spring right away and bound like instances, so that getting
+   * them doesn't go to Spring. Singletons that are initialized lazily are fetched the first time
+   * they're needed instead, and prototype beans are looked up by name each time.
+   */
+  public static <T> void bindAllOfType(
+      Binder binder, ListableBeanFactory beanFactory, Class<T> type) {
+    binder = binder.skipSources(SpringIntegration.class);
+
+    String[] names = beanFactory.getBeanNamesForType(type);
+    for (String name : names) {
+      Provider<T> provider;
+      try {
+        if (!beanFactory.isSingleton(name)) {
+          provider = new SpringPrototypeProvider<T>(beanFactory, name, type);
+        } else if (isLazyInit(beanFactory, name)) {
+          SpringProvider<T> springProvider = SpringProvider.newInstance(type, name);
+          springProvider.initialize(beanFactory);
+          provider = springProvider;
+        } else {
+          provider = new SpringSingletonProvider<T>(name, beanFactory.getBean(name, type));
+        }
+      } catch (BeansException e) {
+        binder.addError(e);
+        continue;
+      }
+
+      binder.bind(type).annotatedWith(Names.named(name)).toProvider(provider);
+      if (names.length == 1) {
+        binder.bind(type).toProvider(provider);
+      }
+    }
+  }
+
+  private static boolean isLazyInit(ListableBeanFactory beanFactory, String name) {
+    return beanFactory instanceof ConfigurableListableBeanFactory
+        && beanFactory.containsBeanDefinition(name)
+        && ((ConfigurableListableBeanFactory) beanFactory).getBeanDefinition(name).isLazyInit();
+  }
+
   static <T> void bindBean(
       Binder binder, ListableBeanFactory beanFactory, String name, Class<T> type) {
     SpringProvider<T> provider = SpringProvider.newInstance(type, name);
@@ -77,8 +125,8 @@ public class SpringIntegration {
 
   static class SpringProvider<T> implements Provider<T> {
 
-    BeanFactory beanFactory;
-    boolean singleton;
+    volatile BeanFactory beanFactory;
+    volatile boolean singleton;
     final Class<T> type;
     final String name;
 
@@ -108,11 +156,62 @@ public class SpringIntegration {
     volatile T instance;
 
     private T getSingleton() {
-      if (instance == null) {
-        instance = type.cast(beanFactory.getBean(name));
+      T result = instance;
+      if (result == null) {
+        synchronized (this) {
+          result = instance;
+          if (result == null) {
+            result = type.cast(beanFactory.getBean(name));
+            instance = result;
+          }
+        }
       }
+      return result;
+    }
+  }
+
+  /** Provides a singleton bean that was fetched when it was bound. */
+  static class SpringSingletonProvider<T> implements Provider<T> {
+    final String name;
+    final T instance;
+
+    SpringSingletonProvider(String name, T instance) {
+      this.name = name;
+      this.instance = instance;
+    }
+
+    @Override
+    public T get() {
       return instance;
     }
+
+    @Override
+    public String toString() {
+      return "SpringSingletonProvider[" + name + "]";
+    }
+  }
+
+  /** Provides a prototype bean by name. */
+  static class SpringPrototypeProvider<T> implements Provider<T> {
+    final BeanFactory beanFactory;
+    final String name;
+    final Class<T> type;
+
+    SpringPrototypeProvider(BeanFactory beanFactory, String name, Class<T> type) {
+      this.beanFactory = beanFactory;
+      this.name = name;
+      this.type = type;
+    }
+
+    @Override
+    public T get() {
+      return beanFactory.getBean(name, type);
+    }
+
+    @Override
+    public String toString() {
+      return "SpringPrototypeProvider[" + name + "]";
+    }
   }
 
   static class InjectableSpringProvider<T> extends SpringProvider<T> {
@@ -29,6 +29,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 
 /** @author crazybob@google.com (Bob Lee) */
 public class SpringIntegrationTest extends TestCase {
@@ -90,6 +91,87 @@ public class SpringIntegrationTest extends TestCase {
     assertNotSame(injector.getInstance(prototypeKey), injector.getInstance(prototypeKey));
   }
 
+  public void testBindAllOfType() throws CreationException {
+    final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    RootBeanDefinition singleton = new RootBeanDefinition(Singleton.class);
+    beanFactory.registerBeanDefinition("singleton", singleton);
+
+    RootBeanDefinition prototype = new RootBeanDefinition(Prototype.class);
+    prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+    beanFactory.registerBeanDefinition("prototype", prototype);
+
+    RootBeanDefinition otherPrototype = new RootBeanDefinition(Prototype.class);
+    otherPrototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+    beanFactory.registerBeanDefinition("otherPrototype", otherPrototype);
+
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                SpringIntegration.bindAllOfType(binder(), beanFactory, Singleton.class);
+                SpringIntegration.bindAllOfType(binder(), beanFactory, Prototype.class);
+              }
+            });
+
+    Key<Singleton> singletonKey = Key.get(Singleton.class, Names.named("singleton"));
+    assertSame(beanFactory.getBean("singleton"), injector.getInstance(singletonKey));
+    assertSame(injector.getInstance(singletonKey), injector.getInstance(Singleton.class));
+
+    Key<Prototype> prototypeKey = Key.get(Prototype.class, Names.named("prototype"));
+    assertNotNull(injector.getInstance(prototypeKey));
+    assertNotSame(injector.getInstance(prototypeKey), injector.getInstance(prototypeKey));
+    assertNotNull(injector.getInstance(Key.get(Prototype.class, Names.named("otherPrototype"))));
+    // there are two prototypes, so neither is bound without an annotation
+    assertNull(injector.getExistingBinding(Key.get(Prototype.class)));
+  }
+
+  public void testBindAllOfTypeRespectsLazyInit() throws CreationException {
+    final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    RootBeanDefinition lazy = new RootBeanDefinition(Singleton.class);
+    lazy.setLazyInit(true);
+    beanFactory.registerBeanDefinition("lazy", lazy);
+
+    RootBeanDefinition eager = new RootBeanDefinition(Singleton.class);
+    beanFactory.registerBeanDefinition("eager", eager);
+
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                SpringIntegration.bindAllOfType(binder(), beanFactory, Singleton.class);
+              }
+            });
+
+    assertTrue(beanFactory.containsSingleton("eager"));
+    assertFalse(beanFactory.containsSingleton("lazy"));
+
+    Key<Singleton> lazyKey = Key.get(Singleton.class, Names.named("lazy"));
+    assertSame(beanFactory.getBean("lazy"), injector.getInstance(lazyKey));
+    assertSame(injector.getInstance(lazyKey), injector.getInstance(lazyKey));
+  }
+
+  public void testBindAllOfTypeFromStaticBeanFactory() throws CreationException {
+    final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+    final Prototype prototype = new Prototype();
+    beanFactory.addBean("prototype", prototype);
+
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                SpringIntegration.bindAllOfType(binder(), beanFactory, Prototype.class);
+              }
+            });
+
+    assertSame(prototype, injector.getInstance(Prototype.class));
+    assertSame(prototype, injector.getInstance(Key.get(Prototype.class, Names.named("prototype"))));
+  }
+
   static class Singleton {}
 
   static class Prototype {}
@@ -42,7 +42,11 @@ import com.google.inject.spi.InjectionPoint;
 import com.google.inject.spi.Message;
 import com.google.inject.util.Providers;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 
@@ -106,6 +110,18 @@ import java.lang.reflect.Type;
  * @author eatnumber1@google.com (Russ Harmon)
  */
 public final class BoundFieldModule implements Module {
+  /**
+   * The {@link Bind} fields of each class, found once for all of its instances. Tests create a
+   * module for each test method, so this saves scanning the test class every time.
+   */
+  private static final ClassValue<ClassTemplate> CLASS_TEMPLATES =
+      new ClassValue<ClassTemplate>() {
+        @Override
+        protected ClassTemplate computeValue(Class<?> type) {
+          return new ClassTemplate(type);
+        }
+      };
+
   private final Object instance;
   private final ImmutableList<Message> deferredBindingErrors;
   private final ImmutableSet<BoundFieldInfo> boundFields;
@@ -113,9 +129,13 @@ public final class BoundFieldModule implements Module {
   private BoundFieldModule(Object instance) {
     this.instance = instance;
 
-    ImmutableList.Builder<Message> deferredErrors = ImmutableList.builder();
-    boundFields = findBindableFields(deferredErrors);
-    deferredBindingErrors = deferredErrors.build();
+    ClassTemplate classTemplate = CLASS_TEMPLATES.get(instance.getClass());
+    ImmutableSet.Builder<BoundFieldInfo> fieldInfos = ImmutableSet.builder();
+    for (FieldTemplate fieldTemplate : classTemplate.fields) {
+      fieldInfos.add(new BoundFieldInfo(instance, fieldTemplate));
+    }
+    boundFields = fieldInfos.build();
+    deferredBindingErrors = classTemplate.deferredErrors;
   }
 
   /**
@@ -143,13 +163,22 @@ public final class BoundFieldModule implements Module {
   public static class WithPermits extends AbstractModule {
     private final Object instance;
 
+    /** Whether each subclass is an anonymous class with permits. */
+    private static final ClassValue<Boolean> HAS_PERMITS =
+        new ClassValue<Boolean>() {
+          @Override
+          protected Boolean computeValue(Class<?> type) {
+            return type.isAnonymousClass()
+                && (hasPermitAnnotation(type.getAnnotations())
+                    || hasPermitAnnotation(type.getAnnotatedSuperclass().getAnnotations()));
+          }
+        };
+
     protected WithPermits(Object instance) {
       this.instance = instance;
       // TODO(user): Enforce this at compile-time (e.g. via ErrorProne).
       Preconditions.checkState(
-          getClass().isAnonymousClass()
-              && (hasPermitAnnotation(getClass().getAnnotations())
-                  || hasPermitAnnotation(getClass().getAnnotatedSuperclass().getAnnotations())),
+          HAS_PERMITS.get(getClass()),
           "This class should only be used as a base class for an anonymous class with"
               + " @RestrictedBindingSource.Permit annotations. For example in Java: `new "
               + " BoundFieldModule.@FooPermit WithPermits(instance) {}` or in Kotlin: "
@@ -189,20 +218,47 @@ public final class BoundFieldModule implements Module {
     }
   }
 
-  /** Information about a field bound by {@link BoundFieldModule}. */
-  public static final class BoundFieldInfo {
-    private final Object instance;
+  /** The {@link Bind} fields of a class and its superclasses, and the errors they have. */
+  private static final class ClassTemplate {
+    final ImmutableList<FieldTemplate> fields;
+    final ImmutableList<Message> deferredErrors;
+
+    ClassTemplate(Class<?> type) {
+      ImmutableList.Builder<FieldTemplate> fieldTemplates = ImmutableList.builder();
+      ImmutableList.Builder<Message> errors = ImmutableList.builder();
+      TypeLiteral<?> currentClassType = TypeLiteral.get(type);
+      while (currentClassType.getRawType() != Object.class) {
+        for (Field field : currentClassType.getRawType().getDeclaredFields()) {
+          Optional<FieldTemplate> fieldTemplate =
+              getFieldTemplate(currentClassType, field, errors);
+          if (fieldTemplate.isPresent()) {
+            fieldTemplates.add(fieldTemplate.get());
+          }
+        }
+        currentClassType =
+            currentClassType.getSupertype(currentClassType.getRawType().getSuperclass());
+      }
+      this.fields = fieldTemplates.build();
+      this.deferredErrors = errors.build();
+    }
+  }
+
+  /**
+   * What {@link BoundFieldInfo} knows about a field, apart from the instance. Computed once per
+   * class, since it only depends on the field and the class of the instance.
+   */
+  private static final class FieldTemplate {
     private final Field field;
     private final TypeLiteral<?> fieldType;
     private final Bind bindAnnotation;
-
-    /** @see #getBoundKey */
     private final Key<?> boundKey;
+    private final boolean allowsNull;
 
-    private BoundFieldInfo(
-        Object instance, Field field, Bind bindAnnotation, TypeLiteral<?> fieldType)
+    /** Reads the field, with type {@code (Object)Object}. Static fields ignore the argument. */
+    private final MethodHandle getter;
+
+    private FieldTemplate(Field field, Bind bindAnnotation, TypeLiteral<?> fieldType)
         throws BoundFieldException {
-      this.instance = instance;
       this.field = field;
       this.fieldType = fieldType;
       this.bindAnnotation = bindAnnotation;
@@ -212,6 +268,8 @@ public final class BoundFieldModule implements Module {
       Optional<TypeLiteral<?>> naturalType = computeNaturalFieldType();
       this.boundKey = computeKey(naturalType, bindingAnnotation);
       checkBindingIsAssignable(field, naturalType);
+      this.allowsNull = computeAllowsNull();
+      this.getter = computeGetter();
     }
 
     private void checkBindingIsAssignable(Field field, Optional<TypeLiteral<?>> naturalType)
@@ -231,56 +289,19 @@ public final class BoundFieldModule implements Module {
       }
     }
 
-    /** The field itself. */
-    public Field getField() {
-      return field;
-    }
-
-    /**
-     * The actual type of the field.
-     *
-     * <p>For example, {@code @Bind(to = Object.class) Number one = new Integer(1);} will be {@code
-     * Number}. {@code @Bind Provider<Number>} will be {@code Provider<Number>}.
-     */
-    public TypeLiteral<?> getFieldType() {
-      return fieldType;
-    }
-
-    /**
-     * The {@literal @}{@link Bind} annotation which is present on the field.
-     *
-     * <p>Note this is not the same as the binding annotation (or qualifier) for {@link
-     * #getBoundKey()}
-     */
-    public Bind getBindAnnotation() {
-      return bindAnnotation;
-    }
-
-    /**
-     * The key this field will bind to.
-     *
-     * <ul>
-     *   <li>{@code @Bind(to = Object.class) @MyQualifier Number one = new Integer(1);} will be
-     *       {@code @MyQualifier Object}.
-     *   <li>{@code @Bind @MyQualifier(2) Number one = new Integer(1);} will be
-     *       {@code @MyQualifier(2) Number}.
-     *   <li>{@code @Bind @MyQualifier Provider<String> three = "default"} will be
-     *       {@code @MyQualfier String}
-     * </ul>
-     */
-    public Key<?> getBoundKey() {
-      return boundKey;
-    }
-
-    /** Returns the current value of this field. */
-    public Object getValue() {
+    private MethodHandle computeGetter() {
+      MethodHandle handle;
       try {
-        return field.get(instance);
+        handle = MethodHandles.lookup().unreflectGetter(field);
       } catch (IllegalAccessException e) {
-        // Since we called setAccessible(true) on this field in the constructor, this is a
-        // programming error if it occurs.
+        // Since we called setAccessible(true) on this field, this is a programming error if it
+        // occurs.
         throw new AssertionError(e);
       }
+      if (Modifier.isStatic(field.getModifiers())) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return handle.asType(MethodType.methodType(Object.class, Object.class));
     }
 
     private Annotation computeBindingAnnotation() throws BoundFieldException {
@@ -355,7 +376,7 @@ public final class BoundFieldModule implements Module {
     }
 
     /** Returns whether a binding supports null values. */
-    private boolean allowsNull() {
+    private boolean computeAllowsNull() {
       return !isTransparentProvider(fieldType.getRawType())
           && (Nullability.hasNullableAnnotation(field.getAnnotations())
               || Nullability.hasNullableAnnotation(field.getAnnotatedType().getAnnotations())
@@ -363,6 +384,72 @@ public final class BoundFieldModule implements Module {
     }
   }
 
+  /** Information about a field bound by {@link BoundFieldModule}. */
+  public static final class BoundFieldInfo {
+    private final Object instance;
+    private final FieldTemplate template;
+
+    private BoundFieldInfo(Object instance, FieldTemplate template) {
+      this.instance = instance;
+      this.template = template;
+    }
+
+    /** The field itself. */
+    public Field getField() {
+      return template.field;
+    }
+
+    /**
+     * The actual type of the field.
+     *
+     * <p>For example, {@code @Bind(to = Object.class) Number one = new Integer(1);} will be {@code
+     * Number}. {@code @Bind Provider<Number>} will be {@code Provider<Number>}.
+     */
+    public TypeLiteral<?> getFieldType() {
+      return template.fieldType;
+    }
+
+    /**
+     * The {@literal @}{@link Bind} annotation which is present on the field.
+     *
+     * <p>Note this is not the same as the binding annotation (or qualifier) for {@link
+     * #getBoundKey()}
+     */
+    public Bind getBindAnnotation() {
+      return template.bindAnnotation;
+    }
+
+    /**
+     * The key this field will bind to.
+     *
+     * <ul>
+     *   <li>{@code @Bind(to = Object.class) @MyQualifier Number one = new Integer(1);} will be
+     *       {@code @MyQualifier Object}.
+     *   <li>{@code @Bind @MyQualifier(2) Number one = new Integer(1);} will be
+     *       {@code @MyQualifier(2) Number}.
+     *   <li>{@code @Bind @MyQualifier Provider<String> three = "default"} will be
+     *       {@code @MyQualfier String}
+     * </ul>
+     */
+    public Key<?> getBoundKey() {
+      return template.boundKey;
+    }
+
+    /** Returns the current value of this field. */
+    public Object getValue() {
+      try {
+        return (Object) template.getter.invokeExact(instance);
+      } catch (Throwable e) {
+        // Field getters don't throw, so this is a programming error if it occurs.
+        throw new AssertionError(e);
+      }
+    }
+
+    private boolean allowsNull() {
+      return template.allowsNull;
+    }
+  }
+
   /** Returns the object originally passed to {@link BoundFieldModule#of}). */
   public Object getInstance() {
     return instance;
@@ -381,31 +468,13 @@ public final class BoundFieldModule implements Module {
     return boundFields;
   }
 
-  private ImmutableSet<BoundFieldInfo> findBindableFields(
-      ImmutableList.Builder<Message> deferredErrors) {
-    ImmutableSet.Builder<BoundFieldInfo> fieldInfos = ImmutableSet.builder();
-    TypeLiteral<?> currentClassType = TypeLiteral.get(instance.getClass());
-    while (currentClassType.getRawType() != Object.class) {
-      for (Field field : currentClassType.getRawType().getDeclaredFields()) {
-        Optional<BoundFieldInfo> fieldInfoOpt =
-            getBoundFieldInfo(currentClassType, field, deferredErrors);
-        if (fieldInfoOpt.isPresent()) {
-          fieldInfos.add(fieldInfoOpt.get());
-        }
-      }
-      currentClassType =
-          currentClassType.getSupertype(currentClassType.getRawType().getSuperclass());
-    }
-    return fieldInfos.build();
-  }
-
   /**
-   * Retrieve a {@link BoundFieldInfo}.
+   * Retrieve a {@link FieldTemplate}.
    *
-   * <p>This returns a {@link BoundFieldInfo} if the field has a {@link Bind} annotation. Otherwise
+   * <p>This returns a {@link FieldTemplate} if the field has a {@link Bind} annotation. Otherwise
    * it returns {@link Optional#absent()}.
    */
-  private Optional<BoundFieldInfo> getBoundFieldInfo(
+  private static Optional<FieldTemplate> getFieldTemplate(
       TypeLiteral<?> containingClassType,
       Field field,
       ImmutableList.Builder<Message> deferredErrors) {
@@ -420,8 +489,7 @@ public final class BoundFieldModule implements Module {
     }
     try {
       return Optional.of(
-          new BoundFieldInfo(
-              instance, field, bindAnnotation, containingClassType.getFieldType(field)));
+          new FieldTemplate(field, bindAnnotation, containingClassType.getFieldType(field)));
     } catch (ConfigurationException e) { // thrown from Key.get, MoreTypes.canonicalizeForKey
       deferredErrors.addAll(e.getErrorMessages());
       return Optional.absent();
@@ -461,7 +529,7 @@ public final class BoundFieldModule implements Module {
 
   private static void bindField(Binder binder, final BoundFieldInfo fieldInfo) {
     LinkedBindingBuilder<?> linkedBinder =
-        binder.withSource(fieldInfo.field).bind(fieldInfo.boundKey);
+        binder.withSource(fieldInfo.getField()).bind(fieldInfo.getBoundKey());
 
     // It's unfortunate that Field.get() just returns Object rather than the actual type (although
     // that would be impossible) because as a result calling binder.toInstance or binder.toProvider
@@ -472,8 +540,8 @@ public final class BoundFieldModule implements Module {
     @SuppressWarnings("unchecked")
     AnnotatedBindingBuilder<Object> binderUnsafe = (AnnotatedBindingBuilder<Object>) linkedBinder;
 
-    if (isTransparentProvider(fieldInfo.fieldType.getRawType())) {
-      if (fieldInfo.bindAnnotation.lazy()) {
+    if (isTransparentProvider(fieldInfo.getFieldType().getRawType())) {
+      if (fieldInfo.getBindAnnotation().lazy()) {
         binderUnsafe.toProvider(
             new Provider<Object>() {
               @Override
@@ -487,7 +555,7 @@ public final class BoundFieldModule implements Module {
         Object val = getFieldValue(fieldInfo);
         binderUnsafe.toProvider((jakarta.inject.Provider<?>) val);
       }
-    } else if (fieldInfo.bindAnnotation.lazy()) {
+    } else if (fieldInfo.getBindAnnotation().lazy()) {
       binderUnsafe.toProvider(
           new Provider<Object>() {
             @Override
@@ -514,16 +582,16 @@ public final class BoundFieldModule implements Module {
   private static Object getFieldValue(final BoundFieldInfo fieldInfo) {
     Object fieldValue = fieldInfo.getValue();
     if (fieldValue == null && !fieldInfo.allowsNull()) {
-      if (isTransparentProvider(fieldInfo.fieldType.getRawType())) {
+      if (isTransparentProvider(fieldInfo.getFieldType().getRawType())) {
         throw new NullBoundFieldValueException(
             new Message(
-                fieldInfo.field,
+                fieldInfo.getField(),
                 "Binding to null is not allowed. Use Providers.of(null) if this is your intended "
                     + "behavior."));
       } else {
         throw new NullBoundFieldValueException(
             new Message(
-                fieldInfo.field,
+                fieldInfo.getField(),
                 "Binding to null values is only allowed for fields that are annotated @Nullable."));
       }
     }
@@ -104,6 +104,17 @@ public class BoundFieldModuleTest extends TestCase {
     assertEquals(instance.anInt, injector.getInstance(Integer.class));
   }
 
+  public void testInstancesOfTheSameClassBindTheirOwnValues() {
+    BoundFieldModule first = BoundFieldModule.of(new FieldBindableClass(1));
+    BoundFieldModule second = BoundFieldModule.of(new FieldBindableClass(2));
+
+    assertEquals(
+        Iterables.getOnlyElement(first.getBoundFields()).getField(),
+        Iterables.getOnlyElement(second.getBoundFields()).getField());
+    assertEquals(1, (int) Guice.createInjector(first).getInstance(Integer.class));
+    assertEquals(2, (int) Guice.createInjector(second).getInstance(Integer.class));
+  }
+
   public void testBindingTwo() {
     final Integer testValue = 1024;
     final String testString = "Hello World!";
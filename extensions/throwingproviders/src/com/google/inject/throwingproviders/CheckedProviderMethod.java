@@ -29,8 +29,12 @@ import com.google.inject.spi.Dependency;
 import com.google.inject.spi.HasDependencies;
 import com.google.inject.throwingproviders.ThrowingProviderBinder.SecondaryBinder;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
@@ -55,6 +59,9 @@ class CheckedProviderMethod<T> implements CheckedProvider<T>, HasDependencies {
   private final List<TypeLiteral<?>> exceptionTypes;
   private final boolean scopeExceptions;
 
+  /** Invokes the method with spread parameters, or null if it must be invoked reflectively. */
+  private final MethodHandle handle;
+
   CheckedProviderMethod(
       Key<T> key,
       Method method,
@@ -77,6 +84,24 @@ class CheckedProviderMethod<T> implements CheckedProvider<T>, HasDependencies {
     this.scopeExceptions = scopeExceptions;
 
     method.setAccessible(true);
+    this.handle = makeHandle(method, instance);
+  }
+
+  /** Returns a handle of type {@code (Object[])Object} that invokes the method. */
+  private static MethodHandle makeHandle(Method method, Object instance) {
+    MethodHandle handle;
+    try {
+      handle = MethodHandles.lookup().unreflect(method);
+    } catch (IllegalAccessException e) {
+      // fall back to reflection, which has already been made accessible
+      return null;
+    }
+    if (!Modifier.isStatic(method.getModifiers())) {
+      handle = handle.bindTo(instance);
+    }
+    return handle
+        .asSpreader(Object[].class, method.getParameterCount())
+        .asType(MethodType.methodType(Object.class, Object[].class));
   }
 
   void configure(Binder binder) {
@@ -110,6 +135,19 @@ class CheckedProviderMethod<T> implements CheckedProvider<T>, HasDependencies {
     Object[] parameters = new Object[parameterProviders.size()];
     Arrays.setAll(parameters, i -> parameterProviders.get(i).get());
 
+    if (handle != null) {
+      try {
+        // We know this cast is safe becase T is the method's return type.
+        @SuppressWarnings("unchecked")
+        T result = (T) (Object) handle.invokeExact(parameters);
+        return result;
+      } catch (Exception | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new IllegalStateException(t);
+      }
+    }
+
     try {
       // We know this cast is safe becase T is the method's return type.
       @SuppressWarnings({"unchecked", "UnnecessaryLocalVariable"})
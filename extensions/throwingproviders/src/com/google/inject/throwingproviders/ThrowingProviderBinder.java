@@ -36,6 +36,10 @@ import com.google.inject.spi.ProviderWithDependencies;
 import com.google.inject.util.Types;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
@@ -92,6 +96,9 @@ public class ThrowingProviderBinder {
   private static final TypeLiteral<CheckedProviderMethod<?>> CHECKED_PROVIDER_METHOD_TYPE =
       new TypeLiteral<CheckedProviderMethod<?>>() {};
 
+  /** True if {@link MethodHandleProxies} defines hidden classes instead of using {@link Proxy}. */
+  private static final boolean HIDDEN_CLASS_HANDLE_PROXIES = Runtime.version().feature() >= 22;
+
   private final Binder binder;
 
   private ThrowingProviderBinder(Binder binder) {
@@ -293,37 +300,7 @@ public class ThrowingProviderBinder {
             .toProvider(
                 new ProviderWithDependencies<P>() {
                   private final P instance =
-                      interfaceType.cast(
-                          Proxy.newProxyInstance(
-                              interfaceType.getClassLoader(),
-                              new Class<?>[] {interfaceType},
-                              new InvocationHandler() {
-                                @Override
-                                public Object invoke(Object proxy, Method method, Object[] args)
-                                    throws Throwable {
-                                  // Allow methods like .equals(..), .hashcode(..), .toString(..) to work.
-                                  if (method.getDeclaringClass() == Object.class) {
-                                    return method.invoke(this, args);
-                                  }
-
-                                  if (scopeExceptions) {
-                                    return resultProvider.get().getOrThrow();
-                                  } else {
-                                    Result result;
-                                    try {
-                                      result = resultProvider.get();
-                                    } catch (ProvisionException pe) {
-                                      Throwable cause = pe.getCause();
-                                      if (cause instanceof ResultException) {
-                                        throw ((ResultException) cause).getCause();
-                                      } else {
-                                        throw pe;
-                                      }
-                                    }
-                                    return result.getOrThrow();
-                                  }
-                                }
-                              }));
+                      createProxy(new ResultDispatcher(resultProvider, scopeExceptions));
 
                   @Override
                   public P get() {
@@ -342,6 +319,26 @@ public class ThrowingProviderBinder {
       return binder.bind(resultKey).toProvider(createResultProvider(targetKey, targetProvider));
     }
 
+    /**
+     * Returns an instance of the interface that gets results from the dispatcher. From JDK 22,
+     * {@link MethodHandleProxies} implements the interface with a hidden class that calls the
+     * dispatcher directly, if the interface allows it. Before that it's backed by a reflective
+     * {@link Proxy} itself, so we use ours.
+     */
+    private P createProxy(ResultDispatcher dispatcher) {
+      if (HIDDEN_CLASS_HANDLE_PROXIES) {
+        try {
+          return MethodHandleProxies.asInterfaceInstance(
+              interfaceType, ResultDispatcher.GET_HANDLE.bindTo(dispatcher));
+        } catch (IllegalArgumentException | SecurityException e) {
+          // the interface isn't public, or its get method is inherited more than once
+        }
+      }
+      return interfaceType.cast(
+          Proxy.newProxyInstance(
+              interfaceType.getClassLoader(), new Class<?>[] {interfaceType}, dispatcher));
+    }
+
     private ProviderWithDependencies<Result> createResultProvider(
         final Key<? extends CheckedProvider<?>> targetKey,
         final Provider<? extends CheckedProvider<?>> targetProvider) {
@@ -463,6 +460,58 @@ public class ThrowingProviderBinder {
     }
   }
 
+  /** Gets the result of the checked provider, rethrowing the exceptions it scoped. */
+  private static class ResultDispatcher implements InvocationHandler {
+    static final MethodHandle GET_HANDLE;
+
+    static {
+      try {
+        GET_HANDLE =
+            MethodHandles.lookup()
+                .findVirtual(
+                    ResultDispatcher.class, "get", MethodType.methodType(Object.class));
+      } catch (ReflectiveOperationException e) {
+        throw new LinkageError("missing ResultDispatcher.get", e);
+      }
+    }
+
+    private final Provider<Result> resultProvider;
+    private final boolean scopeExceptions;
+
+    ResultDispatcher(Provider<Result> resultProvider, boolean scopeExceptions) {
+      this.resultProvider = resultProvider;
+      this.scopeExceptions = scopeExceptions;
+    }
+
+    Object get() throws Throwable {
+      if (scopeExceptions) {
+        return resultProvider.get().getOrThrow();
+      } else {
+        Result result;
+        try {
+          result = resultProvider.get();
+        } catch (ProvisionException pe) {
+          Throwable cause = pe.getCause();
+          if (cause instanceof ResultException) {
+            throw ((ResultException) cause).getCause();
+          } else {
+            throw pe;
+          }
+        }
+        return result.getOrThrow();
+      }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      // Allow methods like .equals(..), .hashcode(..), .toString(..) to work.
+      if (method.getDeclaringClass() == Object.class) {
+        return method.invoke(this, args);
+      }
+      return get();
+    }
+  }
+
   /**
    * RuntimeException class to wrap exceptions from the checked provider. The regular guice provider
    * can throw it and the checked provider proxy extracts the underlying exception and rethrows it.
@@ -54,6 +54,12 @@ public class CheckedProviderMethodsModuleTest extends TestCase {
     T get() throws RemoteException, BindException;
   }
 
+  /** Public, so that on JDK 22+ the binding can be implemented without a reflective proxy. */
+  public interface PublicRpcProvider<T> extends CheckedProvider<T> {
+    @Override
+    T get() throws RemoteException;
+  }
+
   @Retention(RetentionPolicy.RUNTIME)
   @BindingAnnotation
   @interface TestAnnotation {}
@@ -177,6 +183,45 @@ public class CheckedProviderMethodsModuleTest extends TestCase {
     assertEquals("apple", provider.get());
   }
 
+  public void testPublicInterface() throws RemoteException {
+    Injector injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                install(ThrowingProviderBinder.forModule(this));
+              }
+
+              @CheckedProvides(PublicRpcProvider.class)
+              String provideString(Double input) {
+                return "value:" + input;
+              }
+
+              @CheckedProvides(PublicRpcProvider.class)
+              @TestAnnotation
+              String provideFailure() throws RemoteException {
+                throw new RemoteException("failure");
+              }
+
+              @Provides
+              double getSomeDouble() {
+                return 2.0d;
+              }
+            });
+    PublicRpcProvider<String> provider =
+        injector.getInstance(new Key<PublicRpcProvider<String>>() {});
+    assertEquals("value:2.0", provider.get());
+
+    PublicRpcProvider<String> failing =
+        injector.getInstance(new Key<PublicRpcProvider<String>>(TestAnnotation.class) {});
+    try {
+      failing.get();
+      fail();
+    } catch (RemoteException expected) {
+      assertEquals("failure", expected.getMessage());
+    }
+  }
+
   private static class Pair<A, B> {
     A first;
     B second;